@@ -1,11 +1,16 @@
 package com.anteater.activityservice;
 
+import com.anteater.common.kafka.KafkaSendMetrics;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableDiscoveryClient
+@Import(KafkaSendMetrics.class)
+@EnableScheduling
 public class ActivityServiceApplication {
 
 	public static void main(String[] args) {
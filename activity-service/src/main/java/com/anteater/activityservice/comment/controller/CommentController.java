@@ -6,6 +6,7 @@ import com.anteater.activityservice.comment.dto.CommentResponseDTO;
 import com.anteater.activityservice.comment.dto.CommentUpdateRequest;
 import com.anteater.activityservice.comment.entity.Comment;
 import com.anteater.activityservice.comment.service.CommentService;
+import com.anteater.common.pagination.CursorPage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -51,4 +52,19 @@ public class CommentController {
         Page<CommentResponseDTO> commentDTOs = comments.map(CommentResponseDTO::fromEntity);
         return ResponseEntity.ok(commentDTOs);
     }
+
+    // 무한 스크롤용 커서 기반 조회 (COUNT 쿼리, OFFSET 스캔 없음)
+    @GetMapping("/post/{postId}/scroll")
+    public ResponseEntity<?> scrollCommentsForPost(
+            @PathVariable Long postId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            CursorPage<Comment> comments =
+                    commentService.getCommentsForPost(postId, cursor, CursorPage.normalizeSize(size));
+            return ResponseEntity.ok(comments.map(CommentResponseDTO::fromEntity));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
 }
\ No newline at end of file
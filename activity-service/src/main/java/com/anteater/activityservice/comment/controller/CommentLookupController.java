@@ -0,0 +1,29 @@
+package com.anteater.activityservice.comment.controller;
+
+import com.anteater.activityservice.comment.dto.CommentResponseDTO;
+import com.anteater.activityservice.comment.service.CommentService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+// 서비스 간 내부 API (게이트웨이에 라우팅하지 않음): 뉴스피드 조회 시 댓글 본문을 ID 목록으로 한 번에 조회
+@RestController
+@RequestMapping("/internal/activity/comments")
+public class CommentLookupController {
+
+    private static final int MAX_IDS = 1000;
+
+    @Autowired
+    private CommentService commentService;
+
+    @PostMapping("/lookup")
+    public ResponseEntity<?> lookup(@RequestBody List<Long> commentIds) {
+        if (commentIds.size() > MAX_IDS) {
+            return ResponseEntity.badRequest().body("Too many ids: " + commentIds.size());
+        }
+        return ResponseEntity.ok(commentService.getComments(commentIds).stream()
+                .map(CommentResponseDTO::fromEntity).toList());
+    }
+}
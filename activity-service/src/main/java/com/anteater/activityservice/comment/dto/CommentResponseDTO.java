@@ -1,6 +1,8 @@
 package com.anteater.activityservice.comment.dto;
 
 import com.anteater.activityservice.comment.entity.Comment;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import lombok.Data;
 import lombok.Getter;
 import lombok.Setter;
@@ -9,8 +11,12 @@ import java.time.LocalDateTime;
 
 @Data
 public class CommentResponseDTO {
+    // Snowflake id 는 2^53 을 넘어 JavaScript 에서 반올림되므로 JSON 에는 문자열로 싣는다
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long id;
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long postId;
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long authorId;
     private String content;
     private LocalDateTime createdAt;
@@ -1,6 +1,7 @@
 package com.anteater.activityservice.comment.entity;
 
 
+import com.anteater.common.id.SnowflakeId;
 import jakarta.persistence.*;
 
 import java.time.LocalDateTime;
@@ -12,7 +13,7 @@ import java.time.LocalDateTime;
 })
 public class Comment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     @Column(nullable = false)
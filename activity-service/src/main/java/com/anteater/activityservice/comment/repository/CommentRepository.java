@@ -4,11 +4,26 @@ import com.anteater.activityservice.comment.entity.Comment;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     Page<Comment> findByPostId(Long postId, Pageable pageable);
+
+    // keyset 페이지네이션: (postId, createdAt DESC) 인덱스 순서(동률은 id ASC)로 seek
+    @Query("SELECT c FROM Comment c WHERE c.postId = :postId ORDER BY c.createdAt DESC, c.id ASC")
+    List<Comment> findLatestByPostId(@Param("postId") Long postId, Pageable pageable);
+
+    @Query("SELECT c FROM Comment c WHERE c.postId = :postId " +
+            "AND (c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id > :id)) " +
+            "ORDER BY c.createdAt DESC, c.id ASC")
+    List<Comment> findByPostIdAfterCursor(@Param("postId") Long postId,
+                                          @Param("createdAt") LocalDateTime createdAt,
+                                          @Param("id") Long id,
+                                          Pageable pageable);
 }
\ No newline at end of file
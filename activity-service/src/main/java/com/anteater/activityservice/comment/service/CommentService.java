@@ -3,12 +3,20 @@ package com.anteater.activityservice.comment.service;
 import com.anteater.activityservice.comment.entity.Comment;
 import com.anteater.activityservice.comment.repository.CommentRepository;
 import com.anteater.activityservice.common.kafka.producer.CommentEventProducer;
+import com.anteater.activityservice.post.repository.PostStatsRepository;
+import com.anteater.common.pagination.CursorPage;
+import com.anteater.common.pagination.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
 
 @Service
 public class CommentService {
@@ -19,10 +27,14 @@ public class CommentService {
     @Autowired
     private CommentEventProducer commentEventProducer;
 
+    @Autowired
+    private PostStatsRepository postStatsRepository;
+
     @Transactional
     public Comment createComment(Long postId, Long authorId, String content) {
         Comment comment = Comment.create(postId, authorId, content);
         Comment savedComment = commentRepository.save(comment);
+        postStatsRepository.addComments(postId, 1, LocalDateTime.now());
         commentEventProducer.sendCommentCreatedEvent(savedComment);
         return savedComment;
     }
@@ -33,6 +45,12 @@ public class CommentService {
                 .orElseThrow(() -> new RuntimeException("Comment not found"));
     }
 
+    // 뉴스피드 조회 시 본문을 한 번에 채우기 위한 bulk 조회 (없는 ID 는 결과에서 빠진다)
+    @Transactional(readOnly = true)
+    public List<Comment> getComments(Collection<Long> commentIds) {
+        return commentRepository.findAllById(commentIds);
+    }
+
     @Transactional
     public Comment updateComment(Long commentId, String newContent) {
         Comment comment = getComment(commentId);
@@ -46,11 +64,22 @@ public class CommentService {
     public void deleteComment(Long commentId) {
         Comment comment = getComment(commentId);
         commentRepository.deleteById(commentId);
-        commentEventProducer.sendCommentDeletedEvent(commentId, comment.getAuthorId());
+        postStatsRepository.addComments(comment.getPostId(), -1, LocalDateTime.now());
+        commentEventProducer.sendCommentDeletedEvent(comment);
     }
 
     @Transactional(readOnly = true)
     public Page<Comment> getCommentsForPost(Long postId, Pageable pageable) {
         return commentRepository.findByPostId(postId, pageable);
     }
+
+    @Transactional(readOnly = true)
+    public CursorPage<Comment> getCommentsForPost(Long postId, String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<Comment> comments = after == null
+                ? commentRepository.findLatestByPostId(postId, limit)
+                : commentRepository.findByPostIdAfterCursor(postId, after.createdAt(), after.id(), limit);
+        return CursorPage.of(comments, size, comment -> new KeysetCursor(comment.getCreatedAt(), comment.getId()));
+    }
 }
\ No newline at end of file
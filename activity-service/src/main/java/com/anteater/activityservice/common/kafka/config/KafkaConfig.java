@@ -1,6 +1,6 @@
 package com.anteater.activityservice.common.kafka.config;
 
-import com.fasterxml.jackson.databind.JsonSerializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 
 import org.apache.kafka.clients.producer.ProducerConfig;
@@ -17,20 +17,45 @@ import java.util.Map;
 @Configuration
 public class KafkaConfig {
 
-    @Value("${kafka.bootstrap-servers}")
+    @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
+    // 처리량 위주 설정: 묶음을 채울 시간(linger)과 크기, 압축, 재시도 시 중복/순서 보장을 위한 idempotence
+    @Value("${activity.kafka.producer.linger-ms:20}")
+    private int lingerMs;
+
+    @Value("${activity.kafka.producer.batch-size:131072}")
+    private int batchSize;
+
+    @Value("${activity.kafka.producer.compression-type:lz4}")
+    private String compressionType;
+
+    @Value("${activity.kafka.producer.buffer-memory:67108864}")
+    private long bufferMemory;
+
+    @Value("${activity.kafka.producer.max-in-flight:5}")
+    private int maxInFlight;
+
     @Bean
-    public ProducerFactory<String, Object> producerFactory() {
+    public ProducerFactory<String, byte[]> producerFactory() {
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        // outbox 에 이미 인코딩해 둔 payload 를 그대로 전송
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        configProps.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        configProps.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        configProps.put(ProducerConfig.BUFFER_MEMORY_CONFIG, bufferMemory);
+        // idempotent producer 는 acks=all, in-flight 5 이하에서 재시도해도 파티션 내 순서와 단일 기록을 보장
+        configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        configProps.put(ProducerConfig.ACKS_CONFIG, "all");
+        configProps.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, Math.min(maxInFlight, 5));
         return new DefaultKafkaProducerFactory<>(configProps);
     }
 
     @Bean
-    public KafkaTemplate<String, Object> kafkaTemplate() {
+    public KafkaTemplate<String, byte[]> kafkaTemplate() {
         return new KafkaTemplate<>(producerFactory());
     }
 }
\ No newline at end of file
@@ -1,54 +1,35 @@
 package com.anteater.activityservice.common.kafka.producer;
 
 import com.anteater.activityservice.comment.entity.Comment;
+import com.anteater.activityservice.common.outbox.OutboxWriter;
+import com.anteater.common.id.SnowflakeIdGenerator;
+import com.anteater.event.ChangeType;
+import com.anteater.event.CommentEvent;
+import com.anteater.event.Topics;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
 @Component
 public class CommentEventProducer {
 
-    private static final String TOPIC = "comment-events";
-
     @Autowired
-    private KafkaTemplate<String, Object> kafkaTemplate;
+    private OutboxWriter outboxWriter;
 
     public void sendCommentCreatedEvent(Comment comment) {
-        CommentEvent event = new CommentEvent("CREATED", comment);
-        kafkaTemplate.send(TOPIC, String.valueOf(comment.getAuthorId()), event);
+        send(ChangeType.CREATED, comment, comment.getContent());
     }
 
     public void sendCommentUpdatedEvent(Comment comment) {
-        CommentEvent event = new CommentEvent("UPDATED", comment);
-        kafkaTemplate.send(TOPIC, String.valueOf(comment.getAuthorId()), event);
+        send(ChangeType.UPDATED, comment, comment.getContent());
     }
 
-    public void sendCommentDeletedEvent(Long commentId, Long authorId) {
-        CommentEvent event = new CommentEvent("DELETED", commentId, authorId);
-        kafkaTemplate.send(TOPIC, String.valueOf(authorId), event);
+    public void sendCommentDeletedEvent(Comment comment) {
+        send(ChangeType.DELETED, comment, null);
     }
 
-    private static class CommentEvent {
-        private String eventType;
-        private Long commentId;
-        private Long postId;
-        private Long authorId;
-        private String content;
-
-        public CommentEvent(String eventType, Comment comment) {
-            this.eventType = eventType;
-            this.commentId = comment.getId();
-            this.postId = comment.getPostId();
-            this.authorId = comment.getAuthorId();
-            this.content = comment.getContent();
-        }
-
-        public CommentEvent(String eventType, Long commentId, Long authorId) {
-            this.eventType = eventType;
-            this.commentId = commentId;
-            this.authorId = authorId;
-        }
-
-        // Getters and setters
+    private void send(ChangeType eventType, Comment comment, String content) {
+        CommentEvent event = new CommentEvent(SnowflakeIdGenerator.getInstance().nextId(), eventType,
+                comment.getId(), comment.getPostId(), comment.getAuthorId(), content);
+        outboxWriter.append(Topics.COMMENT_EVENTS, String.valueOf(comment.getAuthorId()), event);
     }
-}
\ No newline at end of file
+}
@@ -1,41 +1,32 @@
 package com.anteater.activityservice.common.kafka.producer;
 
 import com.anteater.activityservice.likes.entity.Like;
+import com.anteater.activityservice.common.outbox.OutboxWriter;
+import com.anteater.common.id.SnowflakeIdGenerator;
+import com.anteater.event.ChangeType;
+import com.anteater.event.LikeEvent;
+import com.anteater.event.Topics;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
 @Component
 public class LikeEventProducer {
 
-    private static final String TOPIC = "like-events";
-
     @Autowired
-    private KafkaTemplate<String, Object> kafkaTemplate;
+    private OutboxWriter outboxWriter;
 
-    public void sendLikeCreatedEvent(Long userId, Long targetId, Like.TargetType targetType) {
-        LikeEvent event = new LikeEvent("CREATED", userId, targetId, targetType);
-        kafkaTemplate.send(TOPIC, userId.toString(), event);
+    public void sendLikeCreatedEvent(Long userId, Long targetId, Like.TargetType targetType, Long postId) {
+        send(ChangeType.CREATED, userId, targetId, targetType, postId);
     }
 
-    public void sendLikeDeletedEvent(Long userId, Long targetId, Like.TargetType targetType) {
-        LikeEvent event = new LikeEvent("DELETED", userId, targetId, targetType);
-        kafkaTemplate.send(TOPIC, userId.toString(), event);
+    public void sendLikeDeletedEvent(Long userId, Long targetId, Like.TargetType targetType, Long postId) {
+        send(ChangeType.DELETED, userId, targetId, targetType, postId);
     }
 
-    private static class LikeEvent {
-        private String eventType;
-        private Long userId;
-        private Long targetId;
-        private Like.TargetType targetType;
-
-        public LikeEvent(String eventType, Long userId, Long targetId, Like.TargetType targetType) {
-            this.eventType = eventType;
-            this.userId = userId;
-            this.targetId = targetId;
-            this.targetType = targetType;
-        }
-
-        // Getters and setters
+    // postId 를 알 수 없으면(삭제된 댓글의 좋아요 취소) 0 으로 보낸다
+    private void send(ChangeType eventType, Long userId, Long targetId, Like.TargetType targetType, Long postId) {
+        LikeEvent event = new LikeEvent(SnowflakeIdGenerator.getInstance().nextId(), eventType, userId, targetId,
+                LikeEvent.TargetType.valueOf(targetType.name()), postId == null ? 0 : postId);
+        outboxWriter.append(Topics.LIKE_EVENTS, userId.toString(), event);
     }
-}
\ No newline at end of file
+}
@@ -1,54 +1,38 @@
 package com.anteater.activityservice.common.kafka.producer;
 
 import com.anteater.activityservice.post.entity.Post;
+import com.anteater.activityservice.common.outbox.OutboxWriter;
+import com.anteater.common.id.SnowflakeIdGenerator;
+import com.anteater.event.ChangeType;
+import com.anteater.event.PostEvent;
+import com.anteater.event.Topics;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
+// 서비스 트랜잭션 안에서 outbox 에 기록하고, 실제 발행은 OutboxRelay 가 담당
 @Component
 public class PostEventProducer {
 
-    private static final String TOPIC = "post-events";
-
     @Autowired
-    private KafkaTemplate<String, Object> kafkaTemplate;
+    private OutboxWriter outboxWriter;
 
     public void sendPostCreatedEvent(Post post) {
-        PostEvent event = new PostEvent("CREATED", post);
-        kafkaTemplate.send(TOPIC, post.getAuthorId().toString(), event);
+        send(ChangeType.CREATED, post);
     }
 
     public void sendPostUpdatedEvent(Post post) {
-        PostEvent event = new PostEvent("UPDATED", post);
-        kafkaTemplate.send(TOPIC, post.getAuthorId().toString(), event);
+        send(ChangeType.UPDATED, post);
     }
 
     public void sendPostDeletedEvent(Long postId, Long authorId) {
-        PostEvent event = new PostEvent("DELETED", postId, authorId);
-        kafkaTemplate.send(TOPIC, authorId.toString(), event);
+        PostEvent event = new PostEvent(SnowflakeIdGenerator.getInstance().nextId(), ChangeType.DELETED, postId, authorId,
+                null, null);
+        outboxWriter.append(Topics.POST_EVENTS, authorId.toString(), event);
     }
 
-    private static class PostEvent {
-        private String eventType;
-        private Long postId;
-        private Long authorId;
-        private String stockIsin;
-        private String content;
-
-        public PostEvent(String eventType, Post post) {
-            this.eventType = eventType;
-            this.postId = post.getId();
-            this.authorId = post.getAuthorId();
-            this.stockIsin = post.getStockIsin();
-            this.content = post.getContent();
-        }
-
-        public PostEvent(String eventType, Long postId, Long authorId) {
-            this.eventType = eventType;
-            this.postId = postId;
-            this.authorId = authorId;
-        }
-
-        // Getters and setters
+    private void send(ChangeType eventType, Post post) {
+        PostEvent event = new PostEvent(SnowflakeIdGenerator.getInstance().nextId(), eventType, post.getId(),
+                post.getAuthorId(), post.getStockIsin(), post.getContent());
+        outboxWriter.append(Topics.POST_EVENTS, post.getAuthorId().toString(), event);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,54 @@
+package com.anteater.activityservice.common.outbox;
+
+import com.anteater.common.id.SnowflakeId;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 도메인 변경과 같은 트랜잭션에서 기록되는 발행 대기 이벤트.
+ * id 는 Snowflake 이므로 id 순서가 곧 기록 순서이며, relay 가 이 순서대로 발행한다.
+ */
+@Entity
+@Table(name = "outbox_events", indexes = {
+        @Index(name = "idx_outbox_events_sent_at_id", columnList = "sentAt, id")
+})
+public class OutboxEvent {
+    @Id
+    @SnowflakeId
+    private Long id;
+
+    @Column(nullable = false)
+    private String topic;
+
+    @Column(nullable = false)
+    private String messageKey;
+
+    // EventCodecs 로 인코딩한 이벤트. relay 는 그대로 전송한다
+    @Lob
+    @Column(nullable = false)
+    private byte[] payload;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    // 발행이 확인된 시각. null 이면 아직 발행 대기 중
+    private LocalDateTime sentAt;
+
+    public static OutboxEvent create(String topic, String messageKey, byte[] payload) {
+        OutboxEvent event = new OutboxEvent();
+        event.topic = topic;
+        event.messageKey = messageKey;
+        event.payload = payload;
+        event.createdAt = LocalDateTime.now();
+        return event;
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public String getTopic() { return topic; }
+    public String getMessageKey() { return messageKey; }
+    public byte[] getPayload() { return payload; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public LocalDateTime getSentAt() { return sentAt; }
+}
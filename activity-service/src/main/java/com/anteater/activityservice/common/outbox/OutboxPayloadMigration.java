@@ -0,0 +1,38 @@
+package com.anteater.activityservice.common.outbox;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * outbox_events.payload 를 JSON text 에서 인코딩된 이벤트를 담는 blob 으로 바꾼다.
+ *
+ * ddl-auto=update 는 기존 컬럼의 타입을 바꾸지 않으므로 요청을 받기 전에 한 번 확인한다.
+ * 전환 전에 쌓여 있던 JSON 행은 바이트 그대로 남아 relay 가 그대로 발행하고, 컨슈머의 EventDeserializer 가
+ * 봉투가 없는 레코드를 JSON 으로 읽는다. 여러 인스턴스가 동시에 시작해도 이미 blob 이면 아무것도 하지 않는다.
+ */
+@Slf4j
+@Component
+public class OutboxPayloadMigration {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OutboxPayloadMigration(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void migrate() {
+        List<String> types = jdbcTemplate.queryForList("SELECT data_type FROM information_schema.columns " +
+                        "WHERE table_schema = DATABASE() AND table_name = 'outbox_events' AND column_name = 'payload'",
+                String.class);
+        if (types.isEmpty() || types.get(0).toLowerCase().endsWith("blob")) {
+            return;
+        }
+        log.info("Converting outbox_events.payload from {} to longblob", types.get(0));
+        jdbcTemplate.execute("ALTER TABLE outbox_events MODIFY payload LONGBLOB NOT NULL");
+    }
+}
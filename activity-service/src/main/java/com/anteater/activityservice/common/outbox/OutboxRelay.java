@@ -0,0 +1,146 @@
+package com.anteater.activityservice.common.outbox;
+
+import com.anteater.activityservice.common.redis.RedisLock;
+import com.anteater.common.kafka.KafkaSendMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * outbox 에 쌓인 이벤트를 백그라운드에서 묶음 단위로 발행한다.
+ *
+ * 같은 키의 이벤트 순서를 지키려면 발행하는 relay 가 하나여야 하므로, Redis 잠금을 잡은 인스턴스만 발행한다.
+ * 잠금을 잡으면 미발행 행을 id 순으로 읽어 모두 send 하고 broker 확인을 기다린 뒤 확인된 행을 짧은 트랜잭션으로
+ * 기록하되, 같은 토픽/키에서 처음 실패한 행 이후는 확인되었더라도 발행 완료로 표시하지 않아 다음 주기에 실패한
+ * 행부터 순서대로 다시 발행한다. 잠금이 만료되기 전에 묶음 발행을 멈추며, 그래도 만료 뒤 늦게 도착한 이전 relay 의
+ * 발행은 이미 발행된 이벤트의 중복일 뿐이다. 최소 한 번 전달되며, 중복은 컨슈머가 eventId 로 걸러낸다.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private static final String RELAY_LOCK_KEY = "outbox:relay:lock";
+
+    private final OutboxRepository outboxRepository;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final KafkaSendMetrics kafkaSendMetrics;
+    private final TransactionTemplate transactionTemplate;
+    private final StringRedisTemplate redisTemplate;
+    private final int batchSize;
+    private final Duration sendTimeout;
+    private final Duration lockTtl;
+    private final Duration retention;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    public OutboxRelay(OutboxRepository outboxRepository,
+                       KafkaTemplate<String, byte[]> kafkaTemplate,
+                       KafkaSendMetrics kafkaSendMetrics,
+                       PlatformTransactionManager transactionManager,
+                       StringRedisTemplate redisTemplate,
+                       @Value("${activity.outbox.batch-size:500}") int batchSize,
+                       @Value("${activity.outbox.send-timeout:10s}") Duration sendTimeout,
+                       @Value("${activity.outbox.lock-ttl:60s}") Duration lockTtl,
+                       @Value("${activity.outbox.retention:1d}") Duration retention) {
+        this.outboxRepository = outboxRepository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.kafkaSendMetrics = kafkaSendMetrics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.redisTemplate = redisTemplate;
+        this.batchSize = batchSize;
+        this.sendTimeout = sendTimeout;
+        this.lockTtl = lockTtl;
+        this.retention = retention;
+    }
+
+    // 가득 찬 묶음을 모두 보냈으면 쉬지 않고 다음 묶음을 이어서 발행. 한 묶음은 최대 send-timeout 만큼 걸리므로
+    // 그만큼 남기고 잠금이 만료되기 전에 멈춘다
+    @Scheduled(fixedDelayString = "${activity.outbox.poll-interval:200}")
+    public void relay() {
+        if (!RedisLock.acquire(redisTemplate, RELAY_LOCK_KEY, instanceId, lockTtl)) {
+            return;
+        }
+        try {
+            long stopAt = System.nanoTime() + lockTtl.minus(sendTimeout.multipliedBy(2)).toNanos();
+            int published;
+            do {
+                published = publishBatch();
+            } while (published == batchSize && System.nanoTime() < stopAt);
+        } finally {
+            RedisLock.release(redisTemplate, RELAY_LOCK_KEY, instanceId);
+        }
+    }
+
+    private int publishBatch() {
+        List<OutboxEvent> events = outboxRepository.findUnsent(batchSize);
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        List<CompletableFuture<?>> futures = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            futures.add(kafkaSendMetrics.track(event.getTopic(),
+                    () -> kafkaTemplate.send(event.getTopic(), event.getMessageKey(), event.getPayload())));
+        }
+        kafkaTemplate.flush();
+
+        List<Long> sentIds = new ArrayList<>(events.size());
+        List<Long> unsentIds = new ArrayList<>();
+        Set<TopicKey> blocked = new HashSet<>();
+        long deadline = System.nanoTime() + sendTimeout.toNanos();
+        boolean interrupted = false;
+        for (int i = 0; i < events.size(); i++) {
+            OutboxEvent event = events.get(i);
+            TopicKey key = new TopicKey(event.getTopic(), event.getMessageKey());
+            if (interrupted || blocked.contains(key)) {
+                unsentIds.add(event.getId());
+                continue;
+            }
+            try {
+                futures.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                sentIds.add(event.getId());
+            } catch (ExecutionException | TimeoutException e) {
+                log.warn("Failed to publish outbox event {} to {}", event.getId(), event.getTopic(), e);
+                blocked.add(key);
+                unsentIds.add(event.getId());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                interrupted = true;
+                unsentIds.add(event.getId());
+            }
+        }
+
+        if (!sentIds.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> outboxRepository.markSent(sentIds, LocalDateTime.now()));
+        }
+        return unsentIds.isEmpty() ? events.size() : 0;
+    }
+
+    @Scheduled(fixedDelayString = "${activity.outbox.purge-interval:3600000}")
+    public void purge() {
+        Integer deleted = transactionTemplate.execute(status ->
+                outboxRepository.deleteSentBefore(LocalDateTime.now().minus(retention)));
+        if (deleted != null && deleted > 0) {
+            log.info("Purged {} sent outbox events", deleted);
+        }
+    }
+
+    private record TopicKey(String topic, String messageKey) {
+    }
+}
@@ -0,0 +1,27 @@
+package com.anteater.activityservice.common.outbox;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // relay 는 잠금을 잡은 인스턴스 하나만 실행하므로 행을 잠그지 않고 id 순으로 읽는다 (sentAt, id 인덱스)
+    @Query(value = "SELECT * FROM outbox_events WHERE sent_at IS NULL ORDER BY id LIMIT :limit", nativeQuery = true)
+    List<OutboxEvent> findUnsent(@Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.sentAt = :sentAt WHERE e.id IN :ids")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("sentAt") LocalDateTime sentAt);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.sentAt < :sentBefore")
+    int deleteSentBefore(@Param("sentBefore") LocalDateTime sentBefore);
+}
@@ -0,0 +1,25 @@
+package com.anteater.activityservice.common.outbox;
+
+import com.anteater.event.codec.EventCodecs;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 이벤트를 Kafka 로 직접 보내지 않고, 바이너리로 인코딩해 outbox 테이블에 기록한다.
+ * 호출한 서비스의 트랜잭션에 참여하므로 롤백되면 이벤트도 함께 사라지고, 커밋되면 {@link OutboxRelay} 가 반드시 발행한다.
+ */
+@Component
+public class OutboxWriter {
+
+    private final OutboxRepository outboxRepository;
+
+    public OutboxWriter(OutboxRepository outboxRepository) {
+        this.outboxRepository = outboxRepository;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(String topic, String key, Object event) {
+        outboxRepository.save(OutboxEvent.create(topic, key, EventCodecs.encode(event)));
+    }
+}
@@ -0,0 +1,33 @@
+package com.anteater.activityservice.common.redis;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 인스턴스 중 하나만 작업하도록 거는 Redis 잠금. 값은 잠근 인스턴스 ID 이고, TTL 이 지나 다른 인스턴스가
+ * 다시 건 잠금은 풀지 않는다.
+ */
+public final class RedisLock {
+
+    private static final RedisScript<Long> UNLOCK_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private RedisLock() {
+    }
+
+    public static boolean acquire(StringRedisTemplate redisTemplate, String key, String owner, Duration ttl) {
+        return Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(key, owner, ttl));
+    }
+
+    public static void release(StringRedisTemplate redisTemplate, String key, String owner) {
+        redisTemplate.execute(UNLOCK_SCRIPT, List.of(key), owner);
+    }
+}
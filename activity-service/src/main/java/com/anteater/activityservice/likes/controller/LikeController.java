@@ -1,6 +1,7 @@
 package com.anteater.activityservice.likes.controller;
 
 import com.anteater.activityservice.likes.dto.LikeCountResponse;
+import com.anteater.activityservice.likes.dto.LikeSummaryResponse;
 import com.anteater.activityservice.likes.dto.UserLikeStatusResponse;
 import com.anteater.activityservice.likes.entity.Like;
 import com.anteater.activityservice.likes.service.LikeService;
@@ -8,10 +9,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/activity/likes")
 public class LikeController {
 
+    private static final int MAX_BATCH_IDS = 100;
+
     @Autowired
     private LikeService likeService;
 
@@ -53,4 +58,18 @@ public class LikeController {
         boolean hasLiked = likeService.hasUserLikedTarget(userId, targetId, type);
         return ResponseEntity.ok(new UserLikeStatusResponse(hasLiked));
     }
-}
\ No newline at end of file
+
+    // 한 페이지의 게시글/댓글 좋아요 수와 (userId 가 있으면) 좋아요 여부를 한 번에 조회
+    @GetMapping("/{targetType}/summary")
+    public ResponseEntity<?> getLikeSummaries(
+            @PathVariable String targetType,
+            @RequestParam List<Long> targetIds,
+            @RequestParam(required = false) Long userId) {
+        if (targetIds.size() > MAX_BATCH_IDS) {
+            return ResponseEntity.badRequest().body("Too many ids: " + targetIds.size());
+        }
+        Like.TargetType type = Like.TargetType.valueOf(targetType.toUpperCase());
+        List<LikeSummaryResponse> summaries = likeService.getLikeSummaries(type, targetIds, userId);
+        return ResponseEntity.ok(summaries);
+    }
+}
@@ -0,0 +1,21 @@
+package com.anteater.activityservice.likes.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import lombok.Data;
+
+@Data
+public class LikeSummaryResponse {
+    // Snowflake id 는 2^53 을 넘어 JavaScript 에서 반올림되므로 JSON 에는 문자열로 싣는다
+    @JsonSerialize(using = ToStringSerializer.class)
+    private Long targetId;
+    private long count;
+    // 요청에 userId 가 없으면 null
+    private Boolean hasLiked;
+
+    public LikeSummaryResponse(Long targetId, long count, Boolean hasLiked) {
+        this.targetId = targetId;
+        this.count = count;
+        this.hasLiked = hasLiked;
+    }
+}
@@ -1,5 +1,6 @@
 package com.anteater.activityservice.likes.entity;
 
+import com.anteater.common.id.SnowflakeId;
 import jakarta.persistence.*;
 import org.hibernate.tool.schema.TargetType;
 
@@ -10,10 +11,14 @@ import java.time.LocalDateTime;
 @Table(name = "likes", indexes = {
         @Index(name = "idx_likes_user_id_created_at", columnList = "userId, createdAt DESC"),
         @Index(name = "idx_likes_target_id_type_created_at", columnList = "targetId, targetType, createdAt DESC")
+}, uniqueConstraints = {
+        // 같은 사용자의 같은 대상 좋아요는 하나. 적재는 INSERT IGNORE 로 중복을 건너뛴다
+        // 기존 테이블에는 LikeUniqueKeyMigration 이 중복을 지우고 건다
+        @UniqueConstraint(name = "uk_likes_user_id_target_id_type", columnNames = {"user_id", "target_id", "target_type"})
 })
 public class Like {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     @Column(nullable = false)
@@ -0,0 +1,68 @@
+package com.anteater.activityservice.likes.entity;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * 대상별 좋아요 수 (likes 의 비정규화 집계).
+ *
+ * Redis 에 쌓인 증감분을 LikeCounter 가 주기적으로 더하고, 변화가 멈춘 행은 likes 와 대조해 보정한다.
+ * updatedAt 은 마지막으로 증감분이 반영된 시각, reconciledAt 은 마지막 대조 시각이다.
+ */
+@Entity
+@Table(name = "like_counts", indexes = {
+        @Index(name = "idx_like_counts_updated_at", columnList = "updatedAt")
+})
+@IdClass(LikeCount.Key.class)
+public class LikeCount {
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private Like.TargetType targetType;
+
+    @Id
+    private Long targetId;
+
+    @Column(nullable = false)
+    private long likeCount;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    private LocalDateTime reconciledAt;
+
+    public static class Key implements Serializable {
+        private Like.TargetType targetType;
+        private Long targetId;
+
+        public Key() {
+        }
+
+        public Key(Like.TargetType targetType, Long targetId) {
+            this.targetType = targetType;
+            this.targetId = targetId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return targetType == key.targetType && Objects.equals(targetId, key.targetId);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(targetType, targetId);
+        }
+    }
+
+    // Getters
+    public Like.TargetType getTargetType() { return targetType; }
+    public Long getTargetId() { return targetId; }
+    public long getLikeCount() { return likeCount; }
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public LocalDateTime getReconciledAt() { return reconciledAt; }
+}
@@ -0,0 +1,12 @@
+package com.anteater.activityservice.likes.repository;
+
+import com.anteater.activityservice.likes.entity.Like;
+
+import java.util.List;
+
+// 좋아요를 JDBC batch 로 한 번에 적재하기 위한 커스텀 레포지토리
+public interface LikeBatchRepository {
+
+    // (userId, targetId, targetType) 가 이미 있으면 건너뛴다. 입력 순서대로 새로 들어갔는지 여부를 돌려준다
+    List<Boolean> insertIgnoreAll(List<Like> likes);
+}
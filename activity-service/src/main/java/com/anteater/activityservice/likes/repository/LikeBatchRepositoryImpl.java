@@ -0,0 +1,48 @@
+package com.anteater.activityservice.likes.repository;
+
+import com.anteater.activityservice.likes.entity.Like;
+import com.anteater.common.id.SnowflakeIdGenerator;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class LikeBatchRepositoryImpl implements LikeBatchRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT IGNORE INTO likes (id, user_id, target_id, target_type, created_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LikeBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // rewriteBatchedStatements=true 설정 시 드라이버가 multi-row INSERT IGNORE 한 문장으로 재작성.
+    // 재작성된 문장은 행별 결과를 주지 않으므로, 새로 만든 id 가 실제로 들어갔는지 한 번 더 조회한다
+    @Override
+    public List<Boolean> insertIgnoreAll(List<Like> likes) {
+        if (likes.isEmpty()) {
+            return List.of();
+        }
+        SnowflakeIdGenerator idGenerator = SnowflakeIdGenerator.getInstance();
+        List<Long> ids = new ArrayList<>(likes.size());
+        List<Object[]> rows = new ArrayList<>(likes.size());
+        for (Like like : likes) {
+            long id = idGenerator.nextId();
+            ids.add(id);
+            rows.add(new Object[]{id, like.getUserId(), like.getTargetId(), like.getTargetType().name(),
+                    Timestamp.valueOf(like.getCreatedAt())});
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+
+        Set<Long> inserted = new HashSet<>(new NamedParameterJdbcTemplate(jdbcTemplate).queryForList(
+                "SELECT id FROM likes WHERE id IN (:ids)", Map.of("ids", ids), Long.class));
+        return ids.stream().map(inserted::contains).toList();
+    }
+}
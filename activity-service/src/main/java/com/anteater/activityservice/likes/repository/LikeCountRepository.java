@@ -0,0 +1,52 @@
+package com.anteater.activityservice.likes.repository;
+
+import com.anteater.activityservice.likes.entity.Like;
+import com.anteater.activityservice.likes.entity.LikeCount;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface LikeCountRepository extends JpaRepository<LikeCount, LikeCount.Key> {
+
+    // 행이 없으면 증감분으로 시작한다 (카운터 도입 전 대상은 LikeCounter 가 insertIfAbsent 로 먼저 만든다)
+    @Modifying
+    @Query(value = "INSERT INTO like_counts (target_type, target_id, like_count, updated_at) " +
+            "VALUES (:targetType, :targetId, :delta, :now) " +
+            "ON DUPLICATE KEY UPDATE like_count = like_count + VALUES(like_count), updated_at = VALUES(updated_at)",
+            nativeQuery = true)
+    int addDelta(@Param("targetType") String targetType,
+                 @Param("targetId") Long targetId,
+                 @Param("delta") long delta,
+                 @Param("now") LocalDateTime now);
+
+    // 이미 행이 있으면 그대로 둔다. 대조한 적 없는 행이므로 이후 reconcile 이 likes 와 다시 맞춘다
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO like_counts (target_type, target_id, like_count, updated_at) " +
+            "VALUES (:targetType, :targetId, :likeCount, :now)",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("targetType") String targetType,
+                       @Param("targetId") Long targetId,
+                       @Param("likeCount") long likeCount,
+                       @Param("now") LocalDateTime now);
+
+    // 한 번도 대조하지 않은 행(카운터 도입 전부터 좋아요가 있던 대상 포함)과,
+    // quietSince 이후로 증감분이 없었고 마지막 반영 뒤로 아직 대조하지 않은 행
+    @Query("SELECT c FROM LikeCount c WHERE c.reconciledAt IS NULL " +
+            "OR (c.reconciledAt < c.updatedAt AND c.updatedAt < :quietSince) ORDER BY c.updatedAt")
+    List<LikeCount> findUnreconciled(@Param("quietSince") LocalDateTime quietSince, Pageable pageable);
+
+    // 대조하는 사이에 증감분이 반영되었으면(updatedAt 이 바뀜) 건너뛴다
+    @Modifying
+    @Query("UPDATE LikeCount c SET c.likeCount = :likeCount, c.reconciledAt = :now " +
+            "WHERE c.targetType = :targetType AND c.targetId = :targetId AND c.updatedAt = :updatedAt")
+    int reconcile(@Param("targetType") Like.TargetType targetType,
+                  @Param("targetId") Long targetId,
+                  @Param("likeCount") long likeCount,
+                  @Param("updatedAt") LocalDateTime updatedAt,
+                  @Param("now") LocalDateTime now);
+}
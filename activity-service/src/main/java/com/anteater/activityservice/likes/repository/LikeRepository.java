@@ -1,13 +1,43 @@
 package com.anteater.activityservice.likes.repository;
 
 import com.anteater.activityservice.likes.entity.Like;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-public interface LikeRepository extends JpaRepository<Like, Long> {
+public interface LikeRepository extends JpaRepository<Like, Long>, LikeBatchRepository {
     Optional<Like> findByUserIdAndTargetIdAndTargetType(Long userId, Long targetId, Like.TargetType targetType);
     long countByTargetIdAndTargetType(Long targetId, Like.TargetType targetType);
     boolean existsByUserIdAndTargetIdAndTargetType(Long userId, Long targetId, Like.TargetType targetType);
-}
\ No newline at end of file
+
+    // 조회 없이 한 문장으로 지우고, 지운 행 수로 좋아요가 있었는지 판단한다
+    @Modifying
+    @Query("DELETE FROM Like l WHERE l.userId = :userId AND l.targetId = :targetId AND l.targetType = :targetType")
+    int deleteByUserIdAndTargetIdAndTargetType(@Param("userId") Long userId,
+                                               @Param("targetId") Long targetId,
+                                               @Param("targetType") Like.TargetType targetType);
+
+    // 여러 대상 중 사용자가 좋아요한 대상 ((userId, targetId, targetType) unique 키, IN 조회 한 번)
+    @Query("SELECT l.targetId FROM Like l WHERE l.userId = :userId AND l.targetType = :targetType " +
+            "AND l.targetId IN :targetIds")
+    List<Long> findLikedTargetIds(@Param("userId") Long userId,
+                                  @Param("targetType") Like.TargetType targetType,
+                                  @Param("targetIds") Collection<Long> targetIds);
+
+    // 좋아요 필터 재구성: id 순으로 끝까지 읽는다
+    @Query("SELECT l FROM Like l WHERE l.id > :afterId ORDER BY l.id")
+    List<Like> findAfterId(@Param("afterId") Long afterId, Pageable pageable);
+
+    // [targetId, count] (카운터 도입 전 대상의 좋아요 수를 한 번에 셀 때만 사용)
+    @Query("SELECT l.targetId, COUNT(l) FROM Like l WHERE l.targetType = :targetType AND l.targetId IN :targetIds " +
+            "GROUP BY l.targetId")
+    List<Object[]> countByTargetIds(@Param("targetType") Like.TargetType targetType,
+                                    @Param("targetIds") Collection<Long> targetIds);
+}
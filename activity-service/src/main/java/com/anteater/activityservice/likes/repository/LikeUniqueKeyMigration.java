@@ -0,0 +1,78 @@
+package com.anteater.activityservice.likes.repository;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * likes 에 uk_likes_user_id_target_id_type 을 건다.
+ *
+ * ddl-auto=update 는 중복 행이 있으면 키 추가에 실패하고 로그만 남기므로, 요청을 받기 전에 키를 확인해
+ * 없으면 중복을 지우고(가장 먼저 만든 행을 남김) 키를 추가한다. 지운 대상의 like_counts 는 다음 reconcile 이
+ * 다시 세도록 대조 시각을 비운다. 키를 걸지 못하면 INSERT IGNORE 가 중복을 막지 못하므로 시작을 멈춘다.
+ */
+@Slf4j
+@Component
+public class LikeUniqueKeyMigration {
+
+    private static final String KEY_NAME = "uk_likes_user_id_target_id_type";
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LikeUniqueKeyMigration(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void migrate() {
+        if (!tableExists() || keyExists()) {
+            return;  // 새 테이블은 Hibernate 가 키와 함께 만든다
+        }
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            try {
+                removeDuplicates();
+                jdbcTemplate.execute("ALTER TABLE likes ADD CONSTRAINT " + KEY_NAME +
+                        " UNIQUE (user_id, target_id, target_type)");
+                log.info("Added {} to likes", KEY_NAME);
+                return;
+            } catch (DataAccessException e) {
+                // 다른 인스턴스가 먼저 걸었거나, 그 사이 아직 키 없이 도는 인스턴스가 중복을 넣었다
+                if (keyExists()) {
+                    return;
+                }
+                log.warn("Failed to add {} (attempt {}/{})", KEY_NAME, attempt, MAX_ATTEMPTS, e);
+            }
+        }
+        throw new IllegalStateException("likes is missing " + KEY_NAME + " and it could not be added");
+    }
+
+    private void removeDuplicates() {
+        jdbcTemplate.update("UPDATE like_counts c JOIN (SELECT DISTINCT target_type, target_id FROM likes " +
+                "GROUP BY user_id, target_id, target_type HAVING COUNT(*) > 1) d " +
+                "ON c.target_type = d.target_type AND c.target_id = d.target_id SET c.reconciled_at = NULL");
+        int removed = jdbcTemplate.update("DELETE l FROM likes l JOIN likes k " +
+                "ON l.user_id = k.user_id AND l.target_id = k.target_id AND l.target_type = k.target_type " +
+                "AND l.id > k.id");
+        if (removed > 0) {
+            log.warn("Removed {} duplicate likes before adding {}", removed, KEY_NAME);
+        }
+    }
+
+    private boolean tableExists() {
+        return count("SELECT COUNT(*) FROM information_schema.tables " +
+                "WHERE table_schema = DATABASE() AND table_name = 'likes'") > 0;
+    }
+
+    private boolean keyExists() {
+        return count("SELECT COUNT(*) FROM information_schema.statistics " +
+                "WHERE table_schema = DATABASE() AND table_name = 'likes' AND index_name = '" + KEY_NAME + "'") > 0;
+    }
+
+    private int count(String sql) {
+        Integer count = jdbcTemplate.queryForObject(sql, Integer.class);
+        return count == null ? 0 : count;
+    }
+}
@@ -0,0 +1,367 @@
+package com.anteater.activityservice.likes.service;
+
+import com.anteater.activityservice.common.redis.RedisLock;
+import com.anteater.activityservice.likes.entity.Like;
+import com.anteater.activityservice.likes.entity.LikeCount;
+import com.anteater.activityservice.likes.repository.LikeCountRepository;
+import com.anteater.activityservice.likes.repository.LikeRepository;
+import com.anteater.activityservice.post.repository.PostStatsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * 대상별 좋아요 수 (write-behind).
+ *
+ * <pre>
+ * like:count:{type}:{id}   STRING  조회용 현재 값 (TTL). 키가 있을 때만 증감한다
+ * like:deltas              HASH    field = {type}:{id}, 아직 like_counts 에 반영하지 않은 증감분
+ * like:deltas:flushing     HASH    반영 중인 증감분 (반영이 끝나면 삭제, 실패하면 다음 주기에 다시 반영)
+ * like:deltas:generation   STRING  반영을 끝낼 때마다 1 증가
+ * </pre>
+ *
+ * 좋아요/취소가 커밋되면 두 키를 함께 증감하고, {@link #flush} 가 증감분을 like_counts 에 더한다 (게시글이면 post_stats 에도).
+ * 행이 없는 대상(카운터 도입 전부터 좋아요가 있던 대상)은 더하기 전에 likes 수에서 미반영 증감분을 뺀 값으로 행을 만든다.
+ * 조회는 Redis GET 한 번, 없으면 like_counts 행 + 미반영 증감분으로 채우므로 좋아요 수와 무관하게 일정하다.
+ * 채우기는 증감분 읽기와 SET 을 한 스크립트에서 해 그 사이의 증감을 놓치지 않고, 반영이 진행 중이거나 행을 읽은 뒤
+ * 반영이 끝났으면(행과 증감분이 겹치거나 빠질 수 있음) 계산한 값을 돌려주기만 하고 캐시하지 않는다.
+ * Redis 장애나 중복 반영으로 생긴 차이는 {@link #reconcile} 이 likes 와 대조해 바로잡는다. 한 번 대조한 대상은
+ * 증감분이 멈춘 뒤에만 다시 대조하므로, 조회 경로가 아닌 이 작업만 likes 를 센다.
+ */
+@Slf4j
+@Component
+public class LikeCounter {
+
+    private static final String COUNT_KEY_PREFIX = "like:count:";
+    private static final String DELTAS_KEY = "like:deltas";
+    private static final String FLUSHING_KEY = "like:deltas:flushing";
+    private static final String FLUSH_LOCK_KEY = "like:deltas:lock";
+    private static final String GENERATION_KEY = "like:deltas:generation";
+
+    private static final RedisScript<Long> INCREMENT_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('HINCRBY', KEYS[2], ARGV[1], ARGV[2])
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+                return redis.call('INCRBY', KEYS[1], ARGV[2])
+            end
+            return 0
+            """, Long.class);
+
+    /*
+     * KEYS = 대상별 count 키..., deltas, flushing, generation
+     * ARGV = 행을 읽기 전의 generation, TTL(ms), 대상별 (field, 저장된 값, 증감분을 더할지 1/0)...
+     */
+    private static final RedisScript<List> FILL_SCRIPT = new DefaultRedisScript<>("""
+            local n = #KEYS - 3
+            local cacheable = redis.call('EXISTS', KEYS[n + 2]) == 0
+                and (redis.call('GET', KEYS[n + 3]) or '0') == ARGV[1]
+            local counts = {}
+            for i = 1, n do
+                local cached = redis.call('GET', KEYS[i])
+                if cached then
+                    counts[i] = tonumber(cached)
+                else
+                    local field = ARGV[3 * i]
+                    local count = tonumber(ARGV[3 * i + 1])
+                    if ARGV[3 * i + 2] == '1' then
+                        count = count + tonumber(redis.call('HGET', KEYS[n + 1], field) or '0')
+                            + tonumber(redis.call('HGET', KEYS[n + 2], field) or '0')
+                    end
+                    if cacheable then
+                        redis.call('SET', KEYS[i], count, 'PX', ARGV[2])
+                    end
+                    counts[i] = count
+                end
+            end
+            return counts
+            """, List.class);
+
+    private static final RedisScript<Long> FLUSHED_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('DEL', KEYS[1])
+            return redis.call('INCR', KEYS[2])
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final LikeCountRepository likeCountRepository;
+    private final LikeRepository likeRepository;
+    private final PostStatsRepository postStatsRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final Duration lockTtl;
+    private final Duration quietPeriod;
+    private final int reconcileBatchSize;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    public LikeCounter(StringRedisTemplate redisTemplate,
+                       LikeCountRepository likeCountRepository,
+                       LikeRepository likeRepository,
+                       PostStatsRepository postStatsRepository,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${activity.like-count.ttl:1d}") Duration ttl,
+                       @Value("${activity.like-count.lock-ttl:30s}") Duration lockTtl,
+                       @Value("${activity.like-count.quiet-period:1m}") Duration quietPeriod,
+                       @Value("${activity.like-count.reconcile-batch-size:500}") int reconcileBatchSize) {
+        this.redisTemplate = redisTemplate;
+        this.likeCountRepository = likeCountRepository;
+        this.likeRepository = likeRepository;
+        this.postStatsRepository = postStatsRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = ttl;
+        this.lockTtl = lockTtl;
+        this.quietPeriod = quietPeriod;
+        this.reconcileBatchSize = reconcileBatchSize;
+    }
+
+    // 좋아요 트랜잭션 안에서 호출하면 커밋된 뒤에 반영한다 (롤백되면 반영하지 않음)
+    public void increment(Like.TargetType targetType, Long targetId, long delta) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(targetType, targetId, delta);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(targetType, targetId, delta);
+            }
+        });
+    }
+
+    public long get(Like.TargetType targetType, Long targetId) {
+        return getAll(targetType, List.of(targetId)).get(targetId);
+    }
+
+    // 여러 대상을 MGET 한 번으로 읽고, 없는 것만 모아 like_counts 에서 한 번에 채운다
+    public Map<Long, Long> getAll(Like.TargetType targetType, Collection<Long> targetIds) {
+        List<Long> ids = List.copyOf(new LinkedHashSet<>(targetIds));
+        Map<Long, Long> counts = new HashMap<>();
+        if (ids.isEmpty()) {
+            return counts;
+        }
+        try {
+            List<String> cached = redisTemplate.opsForValue()
+                    .multiGet(ids.stream().map(id -> countKey(targetType, id)).toList());
+            List<Long> missing = new ArrayList<>();
+            for (int i = 0; i < ids.size(); i++) {
+                String value = cached == null ? null : cached.get(i);
+                if (value != null) {
+                    counts.put(ids.get(i), Long.parseLong(value));
+                } else {
+                    missing.add(ids.get(i));
+                }
+            }
+            if (!missing.isEmpty()) {
+                counts.putAll(fill(targetType, missing));
+            }
+            return counts;
+        } catch (DataAccessException e) {
+            log.warn("Like counter unavailable, reading {} {} counts from MySQL", ids.size(), targetType, e);
+            Map<Long, Long> stored = storedCounts(targetType, ids);
+            List<Long> uncounted = ids.stream().filter(id -> !stored.containsKey(id)).toList();
+            stored.putAll(countLikes(targetType, uncounted));
+            return stored;
+        }
+    }
+
+    // 쌓인 증감분을 like_counts 에 더한다. 인스턴스 중 하나만 실행
+    @Scheduled(fixedDelayString = "${activity.like-count.flush-interval:5000}")
+    public void flush() {
+        if (!RedisLock.acquire(redisTemplate, FLUSH_LOCK_KEY, instanceId, lockTtl)) {
+            return;
+        }
+        try {
+            // 이전 반영이 도중에 실패했으면 그것부터 반영
+            if (!Boolean.TRUE.equals(redisTemplate.hasKey(FLUSHING_KEY))) {
+                if (!Boolean.TRUE.equals(redisTemplate.hasKey(DELTAS_KEY))) {
+                    return;
+                }
+                redisTemplate.renameIfAbsent(DELTAS_KEY, FLUSHING_KEY);
+            }
+            Map<String, Long> deltas = new TreeMap<>();
+            redisTemplate.<String, String>opsForHash().entries(FLUSHING_KEY)
+                    .forEach((field, delta) -> deltas.put(field, Long.parseLong(delta)));
+            LocalDateTime now = LocalDateTime.now();
+            transactionTemplate.executeWithoutResult(status -> {
+                seedMissing(deltas, field -> pending(DELTAS_KEY, field), now);
+                deltas.forEach((field, delta) -> {
+                    if (delta != 0) {
+                        addDelta(typeOf(field), idOf(field), delta, now);
+                    }
+                });
+            });
+            // 여기서 실패하면 다음 주기에 한 번 더 더해지고, 그 차이는 reconcile 이 바로잡는다
+            redisTemplate.execute(FLUSHED_SCRIPT, List.of(FLUSHING_KEY, GENERATION_KEY));
+            log.debug("Flushed like count deltas for {} targets", deltas.size());
+        } catch (DataAccessException e) {
+            log.warn("Failed to flush like count deltas, retrying in next interval", e);
+        } finally {
+            RedisLock.release(redisTemplate, FLUSH_LOCK_KEY, instanceId);
+        }
+    }
+
+    // 대조할 대상의 likes 를 세어 차이를 바로잡고, 캐시된 값을 지워 다시 채우게 한다 (값이 맞아도 캐시는 어긋났을 수 있음)
+    @Scheduled(fixedDelayString = "${activity.like-count.reconcile-interval:60000}")
+    public void reconcile() {
+        LocalDateTime now = LocalDateTime.now();
+        List<LikeCount> rows = likeCountRepository.findUnreconciled(now.minus(quietPeriod),
+                PageRequest.of(0, reconcileBatchSize));
+        int corrected = 0;
+        for (LikeCount row : rows) {
+            // likes 에는 이미 있지만 아직 반영하지 않은 증감분은 빼고 맞춘다
+            String field = field(row.getTargetType(), row.getTargetId());
+            long expected = likeRepository.countByTargetIdAndTargetType(row.getTargetId(), row.getTargetType())
+                    - pending(DELTAS_KEY, field) - pending(FLUSHING_KEY, field);
+            Integer updated = transactionTemplate.execute(status -> {
+                int reconciled = likeCountRepository.reconcile(
+                        row.getTargetType(), row.getTargetId(), expected, row.getUpdatedAt(), now);
+                if (reconciled > 0 && row.getTargetType() == Like.TargetType.POST) {
+                    postStatsRepository.setLikeCount(row.getTargetId(), expected, now);
+                }
+                return reconciled;
+            });
+            if (updated != null && updated > 0) {
+                if (expected != row.getLikeCount()) {
+                    corrected++;
+                }
+                redisTemplate.delete(countKey(row.getTargetType(), row.getTargetId()));
+            }
+        }
+        if (corrected > 0) {
+            log.info("Corrected like count drift for {} of {} targets", corrected, rows.size());
+        }
+    }
+
+    private void apply(Like.TargetType targetType, Long targetId, long delta) {
+        try {
+            redisTemplate.execute(INCREMENT_SCRIPT,
+                    List.of(countKey(targetType, targetId), DELTAS_KEY), field(targetType, targetId), Long.toString(delta));
+        } catch (DataAccessException e) {
+            // Redis 를 쓸 수 없으면 바로 like_counts 에 반영 (캐시된 값은 TTL 이 지나면 맞춰진다)
+            log.warn("Like counter unavailable, writing delta for {}:{} to MySQL", targetType, targetId, e);
+            LocalDateTime now = LocalDateTime.now();
+            transactionTemplate.executeWithoutResult(status -> {
+                // Redis 에 남은 증감분은 읽을 수 없으므로 빼지 않는다. 어긋난 만큼은 reconcile 이 바로잡는다
+                seedMissing(Map.of(field(targetType, targetId), delta), field -> 0L, now);
+                addDelta(targetType, targetId, delta, now);
+            });
+        }
+    }
+
+    // 행이 없는 대상은 증감분만으로 시작하면 기존 좋아요가 빠지므로, reconcile 과 같이 likes 수에서 아직 반영하지 않은
+    // 증감분(이번에 더할 것 포함)을 빼서 먼저 만든다. 그 뒤 더하는 증감분이 likes 에 이미 있는 좋아요를 다시 채운다
+    private void seedMissing(Map<String, Long> deltas, Function<String, Long> pendingOf, LocalDateTime now) {
+        Map<Like.TargetType, List<Long>> byType = new EnumMap<>(Like.TargetType.class);
+        deltas.forEach((field, delta) -> {
+            if (delta != 0) {
+                byType.computeIfAbsent(typeOf(field), type -> new ArrayList<>()).add(idOf(field));
+            }
+        });
+        byType.forEach((targetType, ids) -> {
+            Map<Long, Long> stored = storedCounts(targetType, ids);
+            List<Long> missing = ids.stream().filter(id -> !stored.containsKey(id)).toList();
+            countLikes(targetType, missing).forEach((id, count) -> {
+                String field = field(targetType, id);
+                long seed = count - deltas.get(field) - pendingOf.apply(field);
+                likeCountRepository.insertIfAbsent(targetType.name(), id, seed, now);
+            });
+        });
+    }
+
+    // 게시글 좋아요는 post_stats 에도 같은 트랜잭션에서 더한다
+    private void addDelta(Like.TargetType targetType, Long targetId, long delta, LocalDateTime now) {
+        likeCountRepository.addDelta(targetType.name(), targetId, delta, now);
+        if (targetType == Like.TargetType.POST) {
+            postStatsRepository.addLikes(targetId, delta, now);
+        }
+    }
+
+    // like_counts 행 + 아직 반영하지 않은 증감분. 행이 없으면(카운터 도입 전 대상) likes 에서 센다 (증감분이 이미 포함됨)
+    private Map<Long, Long> fill(Like.TargetType targetType, List<Long> targetIds) {
+        String generation = redisTemplate.opsForValue().get(GENERATION_KEY);
+        Map<Long, Long> stored = storedCounts(targetType, targetIds);
+        Map<Long, Long> counted = countLikes(targetType,
+                targetIds.stream().filter(id -> !stored.containsKey(id)).toList());
+
+        List<String> keys = new ArrayList<>();
+        List<String> args = new ArrayList<>(List.of(generation == null ? "0" : generation, Long.toString(ttl.toMillis())));
+        for (Long id : targetIds) {
+            keys.add(countKey(targetType, id));
+            args.add(field(targetType, id));
+            args.add(Long.toString(stored.containsKey(id) ? stored.get(id) : counted.get(id)));
+            args.add(stored.containsKey(id) ? "1" : "0");
+        }
+        keys.addAll(List.of(DELTAS_KEY, FLUSHING_KEY, GENERATION_KEY));
+        List<?> filled = redisTemplate.execute(FILL_SCRIPT, keys, args.toArray());
+
+        Map<Long, Long> counts = new HashMap<>();
+        for (int i = 0; i < targetIds.size(); i++) {
+            counts.put(targetIds.get(i), ((Number) filled.get(i)).longValue());
+        }
+        return counts;
+    }
+
+    private Map<Long, Long> storedCounts(Like.TargetType targetType, List<Long> targetIds) {
+        Map<Long, Long> counts = new HashMap<>();
+        likeCountRepository.findAllById(targetIds.stream().map(id -> new LikeCount.Key(targetType, id)).toList())
+                .forEach(row -> counts.put(row.getTargetId(), row.getLikeCount()));
+        return counts;
+    }
+
+    // 카운터 도입 전 대상. 좋아요가 없는 대상은 0
+    private Map<Long, Long> countLikes(Like.TargetType targetType, List<Long> targetIds) {
+        Map<Long, Long> counts = new HashMap<>();
+        if (targetIds.isEmpty()) {
+            return counts;
+        }
+        targetIds.forEach(id -> counts.put(id, 0L));
+        for (Object[] row : likeRepository.countByTargetIds(targetType, targetIds)) {
+            counts.put((Long) row[0], (Long) row[1]);
+        }
+        return counts;
+    }
+
+    private long pending(String key, String field) {
+        return parse(redisTemplate.opsForHash().get(key, field));
+    }
+
+    private static long parse(Object delta) {
+        return delta == null ? 0 : Long.parseLong(delta.toString());
+    }
+
+    private static String countKey(Like.TargetType targetType, Long targetId) {
+        return COUNT_KEY_PREFIX + field(targetType, targetId);
+    }
+
+    private static String field(Like.TargetType targetType, Long targetId) {
+        return targetType.name() + ":" + targetId;
+    }
+
+    private static Like.TargetType typeOf(String field) {
+        return Like.TargetType.valueOf(field.substring(0, field.indexOf(':')));
+    }
+
+    private static Long idOf(String field) {
+        return Long.parseLong(field.substring(field.indexOf(':') + 1));
+    }
+}
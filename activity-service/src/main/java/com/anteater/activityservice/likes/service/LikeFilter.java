@@ -0,0 +1,418 @@
+package com.anteater.activityservice.likes.service;
+
+import com.anteater.activityservice.common.redis.RedisLock;
+import com.anteater.activityservice.likes.entity.Like;
+import com.anteater.activityservice.likes.repository.LikeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * "사용자가 이 대상을 좋아요했는가" 에 대한 Bloom filter. 아니라고 답하면 likes 를 조회하지 않는다.
+ *
+ * <pre>
+ * like:bloom:{bits}x{hashes}:current              STRING  조회에 쓰는 세대 (재구성 시작 시각)
+ * like:bloom:{bits}x{hashes}:building             STRING  재구성 중인 세대 (TTL)
+ * like:bloom:{bits}x{hashes}:{generation}:{shard} BITMAP  사용자 shard 별 필터 (사용자 hash % shards)
+ * </pre>
+ *
+ * 한 사용자의 좋아요는 한 shard 에 모이므로 한 페이지의 여부 조회도 스크립트 한 번이다. 좋아요는 적재하기 전에
+ * 조회 중인 세대와 재구성 중인 세대 모두에 기록하므로, 필터가 있는 좋아요를 없다고 답하지 않는다. 기록에 실패하면
+ * 두 세대를 지워 모든 인스턴스가 likes 에서 조회하게 하고, 지우지도 못하면 적재를 실패시킨다.
+ * Bloom filter 는 지울 수 없어 취소된 좋아요는 "있을 수도 있음" 으로 남고(likes 조회로 확인), 세대가 max-age 보다
+ * 오래되면 likes 에서 새 세대를 만들어 교체한다. 세대가 없거나 Redis 를 쓸 수 없으면 모두 likes 에서 조회한다.
+ *
+ * <pre>
+ * like.filter.size                  Gauge   필터 전체 bit 수
+ * like.filter.fill.ratio            Gauge   켜진 bit 비율 (stats-interval 마다 측정)
+ * like.filter.elements              Gauge   켜진 bit 비율로 추정한 원소 수
+ * like.filter.false.positive.rate   Gauge   켜진 bit 비율로 추정한 오탐률
+ * like.filter.checks                Counter result(negative|positive|unavailable)  대상별 판정 수
+ * like.filter.false.positives       Counter "있을 수도 있음" 이었지만 likes 에 없던 수 (관측 오탐)
+ * like.filter.rebuild               Timer   재구성 시간
+ * </pre>
+ *
+ * bit 수와 hash 수는 키 이름에 들어가므로, 설정을 바꾸면 새 필터를 만들고 그동안은 likes 에서 조회한다.
+ * 모든 인스턴스가 같은 설정을 써야 한다.
+ */
+@Slf4j
+@Component
+public class LikeFilter {
+
+    // 세대가 없으면 {-1}, 있으면 대상별 1(있을 수도 있음)/0(없음)
+    private static final RedisScript<List> CHECK_SCRIPT = new DefaultRedisScript<>("""
+            local generation = redis.call('GET', KEYS[1])
+            if not generation then
+                return {-1}
+            end
+            local key = ARGV[1] .. generation .. ':' .. ARGV[2]
+            local hashes = tonumber(ARGV[3])
+            local result = {}
+            for i = 4, #ARGV, hashes do
+                local hit = 1
+                for j = i, i + hashes - 1 do
+                    if redis.call('GETBIT', key, ARGV[j]) == 0 then
+                        hit = 0
+                        break
+                    end
+                end
+                result[#result + 1] = hit
+            end
+            return result
+            """, List.class);
+
+    // ARGV = prefix, hashes, (shard, offset * hashes)... 를 조회 중/재구성 중 세대에 모두 기록한다
+    private static final RedisScript<Long> ADD_SCRIPT = new DefaultRedisScript<>("""
+            local generations = {}
+            for _, pointer in ipairs(KEYS) do
+                local generation = redis.call('GET', pointer)
+                if generation and generation ~= generations[1] then
+                    generations[#generations + 1] = generation
+                end
+            end
+            local hashes = tonumber(ARGV[2])
+            for _, generation in ipairs(generations) do
+                for i = 3, #ARGV, hashes + 1 do
+                    local key = ARGV[1] .. generation .. ':' .. ARGV[i]
+                    for j = i + 1, i + hashes do
+                        redis.call('SETBIT', key, ARGV[j], 1)
+                    end
+                end
+            end
+            return #generations
+            """, Long.class);
+
+    // 재구성하는 동안 building 이 지워졌으면(기록에 실패한 좋아요가 있음) 교체하지 않는다
+    private static final RedisScript<Long> PUBLISH_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[2]) ~= ARGV[1] then
+                return 0
+            end
+            redis.call('SET', KEYS[1], ARGV[1])
+            redis.call('DEL', KEYS[2])
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final LikeRepository likeRepository;
+    private final boolean enabled;
+    private final int shards;
+    private final long bitsPerShard;
+    private final int hashes;
+    private final Duration maxAge;
+    private final Duration grace;
+    private final Duration lockTtl;
+    private final int rebuildBatchSize;
+    private final String prefix;
+    private final String currentKey;
+    private final String buildingKey;
+    private final String lockKey;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final ExecutorService maintainer =
+            Executors.newSingleThreadExecutor(new CustomizableThreadFactory("like-filter-"));
+    private final AtomicBoolean maintaining = new AtomicBoolean();
+    private volatile double fillRatio;
+
+    private final Counter negatives;
+    private final Counter positives;
+    private final Counter unavailable;
+    private final Counter falsePositives;
+    private final Timer rebuildTimer;
+
+    public LikeFilter(StringRedisTemplate redisTemplate,
+                      LikeRepository likeRepository,
+                      MeterRegistry meterRegistry,
+                      @Value("${activity.like-filter.enabled:true}") boolean enabled,
+                      @Value("${activity.like-filter.shards:64}") int shards,
+                      @Value("${activity.like-filter.expected-likes:10000000}") long expectedLikes,
+                      @Value("${activity.like-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                      @Value("${activity.like-filter.max-age:1d}") Duration maxAge,
+                      @Value("${activity.like-filter.grace:30s}") Duration grace,
+                      @Value("${activity.like-filter.lock-ttl:30m}") Duration lockTtl,
+                      @Value("${activity.like-filter.rebuild-batch-size:5000}") int rebuildBatchSize) {
+        if (shards < 1 || expectedLikes < 1 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("like-filter shards and expected-likes must be >= 1, "
+                    + "false-positive-rate must be in (0, 1)");
+        }
+        // 표준 Bloom filter 크기: m = -n ln p / (ln 2)^2, k = m / n * ln 2
+        double perShard = Math.max(1, (double) expectedLikes / shards);
+        this.bitsPerShard = (long) Math.ceil(-perShard * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        if (bitsPerShard >= (1L << 32)) {
+            throw new IllegalArgumentException("like-filter shard exceeds Redis bitmap size, increase shards");
+        }
+        this.hashes = Math.max(1, (int) Math.round(bitsPerShard / perShard * Math.log(2)));
+        this.redisTemplate = redisTemplate;
+        this.likeRepository = likeRepository;
+        this.enabled = enabled;
+        this.shards = shards;
+        this.maxAge = maxAge;
+        this.grace = grace;
+        this.lockTtl = lockTtl;
+        this.rebuildBatchSize = rebuildBatchSize;
+        this.prefix = "like:bloom:" + bitsPerShard + "x" + hashes + ":";
+        this.currentKey = prefix + "current";
+        this.buildingKey = prefix + "building";
+        this.lockKey = prefix + "lock";
+
+        Gauge.builder("like.filter.size", this, filter -> (double) filter.bitsPerShard * filter.shards)
+                .baseUnit("bits")
+                .register(meterRegistry);
+        Gauge.builder("like.filter.fill.ratio", this, filter -> filter.fillRatio).register(meterRegistry);
+        Gauge.builder("like.filter.elements", this, LikeFilter::estimatedElements).register(meterRegistry);
+        Gauge.builder("like.filter.false.positive.rate", this, filter -> Math.pow(filter.fillRatio, filter.hashes))
+                .register(meterRegistry);
+        this.negatives = checks(meterRegistry, "negative");
+        this.positives = checks(meterRegistry, "positive");
+        this.unavailable = checks(meterRegistry, "unavailable");
+        this.falsePositives = Counter.builder("like.filter.false.positives").register(meterRegistry);
+        this.rebuildTimer = Timer.builder("like.filter.rebuild").register(meterRegistry);
+    }
+
+    /**
+     * 사용자가 좋아요했을 수도 있는 대상. 필터를 쓸 수 없으면 null 이고, 이때는 모든 대상을 likes 에서 조회한다.
+     */
+    public Set<Long> mightHaveLiked(Long userId, Like.TargetType targetType, Collection<Long> targetIds) {
+        List<Long> ids = List.copyOf(new LinkedHashSet<>(targetIds));
+        if (!enabled || ids.isEmpty()) {
+            return null;
+        }
+        List<String> args = new ArrayList<>(3 + ids.size() * hashes);
+        args.add(prefix);
+        args.add(Integer.toString(shardOf(userId)));
+        args.add(Integer.toString(hashes));
+        ids.forEach(id -> addOffsets(args, userId, targetType, id));
+        List<?> result;
+        try {
+            result = redisTemplate.execute(CHECK_SCRIPT, List.of(currentKey), args.toArray());
+        } catch (DataAccessException e) {
+            log.warn("Like filter unavailable, checking likes in MySQL", e);
+            result = null;
+        }
+        if (result == null || result.size() != ids.size()) {
+            unavailable.increment(ids.size());
+            return null;
+        }
+        Set<Long> candidates = new HashSet<>();
+        for (int i = 0; i < ids.size(); i++) {
+            if (((Number) result.get(i)).longValue() == 1) {
+                candidates.add(ids.get(i));
+            }
+        }
+        positives.increment(candidates.size());
+        negatives.increment(ids.size() - candidates.size());
+        return candidates;
+    }
+
+    // mightHaveLiked 가 있을 수도 있다고 한 대상 중 likes 에 없던 수
+    public void recordFalsePositives(int count) {
+        if (count > 0) {
+            falsePositives.increment(count);
+        }
+    }
+
+    // 적재하기 전에 호출한다. 기록하지 못하면 세대를 지워 새 세대가 나올 때까지 모든 인스턴스가 likes 에서 조회한다
+    public void addAll(Collection<Like> likes) {
+        if (!enabled || likes.isEmpty()) {
+            return;
+        }
+        List<String> args = new ArrayList<>(2 + likes.size() * (hashes + 1));
+        args.add(prefix);
+        args.add(Integer.toString(hashes));
+        for (Like like : likes) {
+            args.add(Integer.toString(shardOf(like.getUserId())));
+            addOffsets(args, like.getUserId(), like.getTargetType(), like.getTargetId());
+        }
+        try {
+            redisTemplate.execute(ADD_SCRIPT, List.of(currentKey, buildingKey), args.toArray());
+        } catch (DataAccessException e) {
+            log.warn("Failed to add {} likes to like filter, dropping the filter until it is rebuilt", likes.size(), e);
+            // 지우지도 못하면 예외가 그대로 나가 적재하지 않는다 (다른 인스턴스가 이 좋아요를 없다고 답하게 됨)
+            redisTemplate.delete(List.of(currentKey, buildingKey));
+        }
+    }
+
+    // 세대가 없거나 오래됐으면 다시 만들고 통계를 갱신한다. 재구성은 오래 걸리므로 스케줄러 스레드를 잡지 않는다
+    @Scheduled(fixedDelayString = "${activity.like-filter.stats-interval:60000}")
+    public void maintain() {
+        if (!enabled || !maintaining.compareAndSet(false, true)) {
+            return;
+        }
+        maintainer.execute(() -> {
+            try {
+                String current = redisTemplate.opsForValue().get(currentKey);
+                if (current == null || System.currentTimeMillis() - Long.parseLong(current) > maxAge.toMillis()) {
+                    rebuild();
+                }
+                refreshStats();
+            } catch (DataAccessException e) {
+                log.warn("Failed to maintain like filter", e);
+            } finally {
+                maintaining.set(false);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        maintainer.shutdownNow();
+    }
+
+    // 인스턴스 중 하나만 실행
+    private void rebuild() {
+        if (!RedisLock.acquire(redisTemplate, lockKey, instanceId, lockTtl)) {
+            return;
+        }
+        String generation = Long.toString(System.currentTimeMillis());
+        Timer.Sample sample = Timer.start();
+        try {
+            redisTemplate.opsForValue().set(buildingKey, generation, lockTtl);
+            // 새 세대를 알리기 전에 시작한 적재가 끝나기를 기다린 뒤 읽는다
+            Thread.sleep(grace.toMillis());
+            long count = 0;
+            Long afterId = 0L;
+            List<Like> chunk;
+            do {
+                chunk = likeRepository.findAfterId(afterId, PageRequest.of(0, rebuildBatchSize));
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                write(generation, chunk);
+                count += chunk.size();
+                afterId = chunk.get(chunk.size() - 1).getId();
+            } while (chunk.size() == rebuildBatchSize);
+            Long published = redisTemplate.execute(PUBLISH_SCRIPT, List.of(currentKey, buildingKey), generation);
+            if (published == null || published == 0) {
+                log.warn("Discarded like filter generation {}, a like could not be recorded during rebuild", generation);
+                return;
+            }
+            deleteOtherGenerations(generation);
+            log.info("Rebuilt like filter generation {} with {} likes", generation, count);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            redisTemplate.delete(buildingKey);
+        } catch (DataAccessException e) {
+            log.warn("Failed to rebuild like filter generation {}", generation, e);
+            redisTemplate.delete(buildingKey);
+        } finally {
+            sample.stop(rebuildTimer);
+            RedisLock.release(redisTemplate, lockKey, instanceId);
+        }
+    }
+
+    private void write(String generation, List<Like> likes) {
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (Like like : likes) {
+                byte[] key = shardKey(generation, shardOf(like.getUserId())).getBytes(StandardCharsets.UTF_8);
+                long[] hash = hash(like.getUserId(), like.getTargetType(), like.getTargetId());
+                for (int i = 0; i < hashes; i++) {
+                    connection.stringCommands().setBit(key, offset(hash, i), true);
+                }
+            }
+            return null;
+        });
+    }
+
+    // 교체된 세대와 중단된 재구성이 남긴 bitmap 을 지운다
+    private void deleteOtherGenerations(String generation) {
+        List<String> keys = new ArrayList<>();
+        try (Cursor<String> cursor = redisTemplate.scan(ScanOptions.scanOptions().match(prefix + "*:*").count(1000).build())) {
+            cursor.forEachRemaining(key -> {
+                if (!key.startsWith(prefix + generation + ":")) {
+                    keys.add(key);
+                }
+            });
+        }
+        if (!keys.isEmpty()) {
+            redisTemplate.unlink(keys);
+        }
+    }
+
+    private void refreshStats() {
+        String generation = redisTemplate.opsForValue().get(currentKey);
+        if (generation == null) {
+            fillRatio = 0;
+            return;
+        }
+        List<Object> counts = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (int shard = 0; shard < shards; shard++) {
+                connection.stringCommands().bitCount(shardKey(generation, shard).getBytes(StandardCharsets.UTF_8));
+            }
+            return null;
+        });
+        long set = counts.stream().mapToLong(count -> ((Number) count).longValue()).sum();
+        fillRatio = (double) set / ((double) bitsPerShard * shards);
+    }
+
+    // 켜진 bit 비율로 원소 수를 추정한다: n = -m / k * ln(1 - X / m)
+    private double estimatedElements() {
+        double bits = (double) bitsPerShard * shards;
+        return fillRatio >= 1 ? bits : -bits / hashes * Math.log(1 - fillRatio);
+    }
+
+    private void addOffsets(List<String> args, Long userId, Like.TargetType targetType, Long targetId) {
+        long[] hash = hash(userId, targetType, targetId);
+        for (int i = 0; i < hashes; i++) {
+            args.add(Long.toString(offset(hash, i)));
+        }
+    }
+
+    private String shardKey(String generation, int shard) {
+        return prefix + generation + ":" + shard;
+    }
+
+    private int shardOf(Long userId) {
+        return (int) Math.floorMod(mix(userId), (long) shards);
+    }
+
+    // double hashing: i 번째 위치 = h1 + i * h2 (mod m). 모든 인스턴스에서 같은 값이 나와야 한다
+    private long offset(long[] hash, int i) {
+        return Math.floorMod(hash[0] + i * hash[1], bitsPerShard);
+    }
+
+    private static long[] hash(Long userId, Like.TargetType targetType, Long targetId) {
+        long h1 = mix(userId * 0x9E3779B97F4A7C15L + targetId);
+        long h2 = mix(h1 ^ targetType.name().hashCode() * 0xC2B2AE3D27D4EB4FL) | 1;
+        return new long[]{h1, h2};
+    }
+
+    // MurmurHash3 fmix64
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB9FE1A85EC53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    private static Counter checks(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("like.filter.checks").tag("result", result).register(meterRegistry);
+    }
+}
@@ -1,12 +1,20 @@
 package com.anteater.activityservice.likes.service;
 
+import com.anteater.activityservice.comment.entity.Comment;
+import com.anteater.activityservice.comment.repository.CommentRepository;
 import com.anteater.activityservice.common.kafka.producer.LikeEventProducer;
+import com.anteater.activityservice.likes.dto.LikeSummaryResponse;
 import com.anteater.activityservice.likes.entity.Like;
 import com.anteater.activityservice.likes.repository.LikeRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 @Service
 public class LikeService {
 
@@ -16,31 +24,82 @@ public class LikeService {
     @Autowired
     private LikeEventProducer likeEventProducer;
 
-    @Transactional
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private LikeCounter likeCounter;
+
+    @Autowired
+    private LikeWriteBuffer likeWriteBuffer;
+
+    @Autowired
+    private LikeFilter likeFilter;
+
+    // 짧은 시간 동안 들어온 좋아요를 모아 한 문장으로 적재한다 (중복은 unique 키로 건너뜀)
     public void likeTarget(Long userId, Long targetId, Like.TargetType targetType) {
-        if (!likeRepository.existsByUserIdAndTargetIdAndTargetType(userId, targetId, targetType)) {
-            Like like = Like.create(userId, targetId, targetType);
-            likeRepository.save(like);
-            likeEventProducer.sendLikeCreatedEvent(userId, targetId, targetType);
-        }
+        likeWriteBuffer.like(userId, targetId, targetType);
     }
 
     @Transactional
     public void unlikeTarget(Long userId, Long targetId, Like.TargetType targetType) {
-        likeRepository.findByUserIdAndTargetIdAndTargetType(userId, targetId, targetType)
-                .ifPresent(like -> {
-                    likeRepository.delete(like);
-                    likeEventProducer.sendLikeDeletedEvent(userId, targetId, targetType);
-                });
+        if (likeRepository.deleteByUserIdAndTargetIdAndTargetType(userId, targetId, targetType) > 0) {
+            likeCounter.increment(targetType, targetId, -1);
+            likeEventProducer.sendLikeDeletedEvent(userId, targetId, targetType, resolvePostId(targetId, targetType));
+        }
     }
 
-    @Transactional(readOnly = true)
+    // 좋아요 이벤트에는 대상이 속한 게시글을 함께 싣는다 (댓글이면 댓글의 게시글).
+    // 취소는 이미 삭제된 댓글에도 들어올 수 있으므로 찾지 못하면 null 로 보내고 좋아요 행은 그대로 지운다
+    private Long resolvePostId(Long targetId, Like.TargetType targetType) {
+        if (targetType == Like.TargetType.POST) {
+            return targetId;
+        }
+        return commentRepository.findById(targetId)
+                .map(Comment::getPostId)
+                .orElse(null);
+    }
+
+    // likes 를 세지 않고 카운터에서 읽는다
     public long getLikeCount(Long targetId, Like.TargetType targetType) {
-        return likeRepository.countByTargetIdAndTargetType(targetId, targetType);
+        return likeCounter.get(targetType, targetId);
+    }
+
+    // 한 페이지의 대상들: 좋아요 수는 카운터 MGET 한 번, 사용자의 좋아요 여부는 필터가 있을 수도 있다고 한 대상만 IN 조회
+    @Transactional(readOnly = true)
+    public List<LikeSummaryResponse> getLikeSummaries(Like.TargetType targetType, List<Long> targetIds, Long userId) {
+        List<Long> ids = targetIds.stream().distinct().toList();
+        Map<Long, Long> counts = likeCounter.getAll(targetType, ids);
+        Set<Long> liked = userId == null || ids.isEmpty() ? Set.of() : findLikedTargetIds(userId, targetType, ids);
+        return ids.stream()
+                .map(id -> new LikeSummaryResponse(id, counts.getOrDefault(id, 0L), userId == null ? null : liked.contains(id)))
+                .toList();
     }
 
+    // 대부분 false 이므로 필터가 없다고 하면 likes 를 조회하지 않는다
     @Transactional(readOnly = true)
     public boolean hasUserLikedTarget(Long userId, Long targetId, Like.TargetType targetType) {
-        return likeRepository.existsByUserIdAndTargetIdAndTargetType(userId, targetId, targetType);
+        Set<Long> candidates = likeFilter.mightHaveLiked(userId, targetType, List.of(targetId));
+        if (candidates != null && candidates.isEmpty()) {
+            return false;
+        }
+        boolean liked = likeRepository.existsByUserIdAndTargetIdAndTargetType(userId, targetId, targetType);
+        if (candidates != null && !liked) {
+            likeFilter.recordFalsePositives(1);
+        }
+        return liked;
+    }
+
+    private Set<Long> findLikedTargetIds(Long userId, Like.TargetType targetType, List<Long> ids) {
+        Set<Long> candidates = likeFilter.mightHaveLiked(userId, targetType, ids);
+        if (candidates != null && candidates.isEmpty()) {
+            return Set.of();
+        }
+        Set<Long> liked = new HashSet<>(likeRepository.findLikedTargetIds(userId, targetType,
+                candidates != null ? candidates : ids));
+        if (candidates != null) {
+            likeFilter.recordFalsePositives(candidates.size() - liked.size());
+        }
+        return liked;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,202 @@
+package com.anteater.activityservice.likes.service;
+
+import com.anteater.activityservice.comment.entity.Comment;
+import com.anteater.activityservice.comment.repository.CommentRepository;
+import com.anteater.activityservice.common.kafka.producer.LikeEventProducer;
+import com.anteater.activityservice.likes.entity.Like;
+import com.anteater.activityservice.likes.repository.LikeRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * 좋아요 적재를 짧은 시간 동안 모아 multi-row INSERT IGNORE 한 문장으로 쓴다.
+ *
+ * 대상 ID 로 stripe 를 고르므로 인기 게시글에 몰린 좋아요는 같은 stripe 에 모여 한 문장이 되고, 서로 다른 대상은
+ * 다른 stripe 에서 동시에 적재된다. 요청 스레드는 stripe 에 넣는 동안만 잠그고, 적재가 커밋될 때까지 기다렸다가
+ * 새로 들어갔는지 여부를 받는다. 새로 들어간 좋아요만 이벤트와 카운터에 반영한다.
+ */
+@Slf4j
+@Component
+public class LikeWriteBuffer {
+
+    private record Request(Like like, CompletableFuture<Boolean> result) {
+    }
+
+    private static final Comparator<Request> INSERT_ORDER = Comparator
+            .comparing((Request request) -> request.like().getTargetType())
+            .thenComparing(request -> request.like().getTargetId())
+            .thenComparing(request -> request.like().getUserId());
+
+    private final LikeRepository likeRepository;
+    private final CommentRepository commentRepository;
+    private final LikeEventProducer likeEventProducer;
+    private final LikeCounter likeCounter;
+    private final LikeFilter likeFilter;
+    private final TransactionTemplate transactionTemplate;
+    private final Stripe[] stripes;
+    private final ScheduledExecutorService writers;
+    private final long lingerMicros;
+    private final int maxBatch;
+    private final Duration timeout;
+
+    public LikeWriteBuffer(LikeRepository likeRepository,
+                           CommentRepository commentRepository,
+                           LikeEventProducer likeEventProducer,
+                           LikeCounter likeCounter,
+                           LikeFilter likeFilter,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${activity.like-buffer.stripes:8}") int stripes,
+                           @Value("${activity.like-buffer.linger:5ms}") Duration linger,
+                           @Value("${activity.like-buffer.max-batch:200}") int maxBatch,
+                           @Value("${activity.like-buffer.timeout:5s}") Duration timeout) {
+        this.likeRepository = likeRepository;
+        this.commentRepository = commentRepository;
+        this.likeEventProducer = likeEventProducer;
+        this.likeCounter = likeCounter;
+        this.likeFilter = likeFilter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.stripes = new Stripe[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new Stripe();
+        }
+        this.writers = Executors.newScheduledThreadPool(stripes, new CustomizableThreadFactory("like-writer-"));
+        this.lingerMicros = linger.toNanos() / 1000;
+        this.maxBatch = maxBatch;
+        this.timeout = timeout;
+    }
+
+    // 새로 좋아요했으면 true, 이미 좋아요한 상태였으면 false
+    public boolean like(Long userId, Long targetId, Like.TargetType targetType) {
+        Request request = new Request(Like.create(userId, targetId, targetType), new CompletableFuture<>());
+        stripes[Math.floorMod(targetId.hashCode(), stripes.length)].add(request);
+        try {
+            return request.result().get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException runtime ? runtime : new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Timed out waiting for like to be written", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for like to be written", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        for (Stripe stripe : stripes) {
+            stripe.flush();
+        }
+        writers.shutdown();
+        writers.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private final class Stripe {
+        private List<Request> pending = new ArrayList<>();
+        private boolean scheduled;
+
+        // 첫 요청이 linger 뒤의 적재를 예약하고, 묶음이 가득 차면 바로 적재한다
+        synchronized void add(Request request) {
+            pending.add(request);
+            if (pending.size() >= maxBatch) {
+                List<Request> batch = take();
+                writers.execute(() -> write(batch));
+            } else if (!scheduled) {
+                scheduled = true;
+                writers.schedule(this::flush, lingerMicros, TimeUnit.MICROSECONDS);
+            }
+        }
+
+        void flush() {
+            List<Request> batch;
+            synchronized (this) {
+                scheduled = false;
+                batch = take();
+            }
+            if (!batch.isEmpty()) {
+                write(batch);
+            }
+        }
+
+        private List<Request> take() {
+            List<Request> batch = pending;
+            pending = new ArrayList<>();
+            return batch;
+        }
+    }
+
+    private void write(List<Request> batch) {
+        try {
+            Map<Long, Long> commentPostIds = findCommentPostIds(batch);
+            // 같은 순서로 잠가 동시에 적재되는 묶음끼리의 데드락을 줄인다
+            List<Request> sorted = batch.stream()
+                    .filter(request -> isWritable(request, commentPostIds))
+                    .sorted(INSERT_ORDER)
+                    .toList();
+            if (sorted.isEmpty()) {
+                return;
+            }
+            // 적재하기 전에 먼저 기록해, 필터가 있는 좋아요를 없다고 답하는 순간이 없게 한다
+            likeFilter.addAll(sorted.stream().map(Request::like).toList());
+            List<Boolean> inserted = transactionTemplate.execute(status -> insert(sorted, commentPostIds));
+            for (int i = 0; i < sorted.size(); i++) {
+                sorted.get(i).result().complete(inserted.get(i));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to write {} buffered likes", batch.size(), e);
+            batch.forEach(request -> request.result().completeExceptionally(e));
+        }
+    }
+
+    private List<Boolean> insert(List<Request> requests, Map<Long, Long> commentPostIds) {
+        List<Boolean> inserted = likeRepository.insertIgnoreAll(requests.stream().map(Request::like).toList());
+        for (int i = 0; i < requests.size(); i++) {
+            if (inserted.get(i)) {
+                Like like = requests.get(i).like();
+                likeCounter.increment(like.getTargetType(), like.getTargetId(), 1);
+                likeEventProducer.sendLikeCreatedEvent(like.getUserId(), like.getTargetId(), like.getTargetType(),
+                        like.getTargetType() == Like.TargetType.POST
+                                ? like.getTargetId() : commentPostIds.get(like.getTargetId()));
+            }
+        }
+        return inserted;
+    }
+
+    // 댓글 좋아요는 이벤트에 실을 게시글을 묶음 단위로 한 번에 찾는다
+    private Map<Long, Long> findCommentPostIds(List<Request> batch) {
+        List<Long> commentIds = batch.stream()
+                .filter(request -> request.like().getTargetType() == Like.TargetType.COMMENT)
+                .map(request -> request.like().getTargetId())
+                .distinct()
+                .toList();
+        return commentIds.isEmpty() ? Map.of() : commentRepository.findAllById(commentIds).stream()
+                .collect(Collectors.toMap(Comment::getId, Comment::getPostId));
+    }
+
+    // 없는 댓글에 대한 좋아요는 적재하지 않고 실패시킨다
+    private static boolean isWritable(Request request, Map<Long, Long> commentPostIds) {
+        Like like = request.like();
+        if (like.getTargetType() == Like.TargetType.COMMENT && !commentPostIds.containsKey(like.getTargetId())) {
+            request.result().completeExceptionally(new RuntimeException("Comment not found"));
+            return false;
+        }
+        return true;
+    }
+}
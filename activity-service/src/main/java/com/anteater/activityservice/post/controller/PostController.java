@@ -4,8 +4,10 @@ import com.anteater.activityservice.common.exception.PostModificationTimeExceede
 import com.anteater.activityservice.post.dto.PostCreateRequest;
 import com.anteater.activityservice.post.dto.PostResponse;
 import com.anteater.activityservice.post.dto.PostUpdateRequest;
+import com.anteater.activityservice.post.dto.PostWithStats;
 import com.anteater.activityservice.post.entity.Post;
 import com.anteater.activityservice.post.service.PostService;
+import com.anteater.common.pagination.CursorPage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -53,15 +55,29 @@ public class PostController {
 
     @GetMapping("/stock/{stockIsin}")
     public ResponseEntity<Page<PostResponse>> getPostsByStock(@PathVariable String stockIsin, Pageable pageable) {
-        Page<Post> posts = postService.getPostsByStock(stockIsin, pageable);
-        Page<PostResponse> postResponses = posts.map(PostResponse::fromEntity);
+        Page<PostWithStats> posts = postService.getPostsByStock(stockIsin, pageable);
+        Page<PostResponse> postResponses = posts.map(PostResponse::fromStats);
         return ResponseEntity.ok(postResponses);
     }
 
+    // 무한 스크롤용 커서 기반 조회 (COUNT 쿼리, OFFSET 스캔 없음)
+    @GetMapping("/stock/{stockIsin}/scroll")
+    public ResponseEntity<?> scrollPostsByStock(
+            @PathVariable String stockIsin,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            CursorPage<PostWithStats> posts = postService.getPostsByStock(stockIsin, cursor, CursorPage.normalizeSize(size));
+            return ResponseEntity.ok(posts.map(PostResponse::fromStats));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @GetMapping("/author/{authorId}")
     public ResponseEntity<Page<PostResponse>> getPostsByAuthor(@PathVariable Long authorId, Pageable pageable) {
-        Page<Post> posts = postService.getPostsByAuthor(authorId, pageable);
-        Page<PostResponse> postResponses = posts.map(PostResponse::fromEntity);
+        Page<PostWithStats> posts = postService.getPostsByAuthor(authorId, pageable);
+        Page<PostResponse> postResponses = posts.map(PostResponse::fromStats);
         return ResponseEntity.ok(postResponses);
     }
 }
\ No newline at end of file
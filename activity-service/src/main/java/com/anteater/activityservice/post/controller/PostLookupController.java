@@ -0,0 +1,32 @@
+package com.anteater.activityservice.post.controller;
+
+import com.anteater.activityservice.post.dto.PostResponse;
+import com.anteater.activityservice.post.service.PostService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+// 서비스 간 내부 API (게이트웨이에 라우팅하지 않음): 뉴스피드 조회 시 게시글 본문을 ID 목록으로 한 번에 조회
+@RestController
+@RequestMapping("/internal/activity/posts")
+public class PostLookupController {
+
+    private static final int MAX_IDS = 1000;
+
+    private final PostService postService;
+
+    @Autowired
+    public PostLookupController(PostService postService) {
+        this.postService = postService;
+    }
+
+    @PostMapping("/lookup")
+    public ResponseEntity<?> lookup(@RequestBody List<Long> postIds) {
+        if (postIds.size() > MAX_IDS) {
+            return ResponseEntity.badRequest().body("Too many ids: " + postIds.size());
+        }
+        return ResponseEntity.ok(postService.getPosts(postIds).stream().map(PostResponse::fromEntity).toList());
+    }
+}
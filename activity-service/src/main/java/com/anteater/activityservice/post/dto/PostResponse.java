@@ -1,18 +1,29 @@
 package com.anteater.activityservice.post.dto;
 
 import com.anteater.activityservice.post.entity.Post;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import lombok.Data;
 
 import java.time.LocalDateTime;
 
 @Data
 public class PostResponse {
+    // Snowflake id 는 2^53 을 넘어 JavaScript 에서 반올림되므로 JSON 에는 문자열로 싣는다
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long id;
+    @JsonSerialize(using = ToStringSerializer.class)
     private Long authorId;
     private String stockIsin;
     private String content;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    // 목록 조회에서만 채운다 (단건/내부 조회 응답에는 싣지 않음)
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long likeCount;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long commentCount;
 
     public static PostResponse fromEntity(Post post) {
         PostResponse response = new PostResponse();
@@ -24,4 +35,11 @@ public class PostResponse {
         response.setUpdatedAt(post.getUpdatedAt());
         return response;
     }
+
+    public static PostResponse fromStats(PostWithStats postWithStats) {
+        PostResponse response = fromEntity(postWithStats.post());
+        response.setLikeCount(postWithStats.likeCount());
+        response.setCommentCount(postWithStats.commentCount());
+        return response;
+    }
 }
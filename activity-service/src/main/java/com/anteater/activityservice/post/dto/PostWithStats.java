@@ -0,0 +1,7 @@
+package com.anteater.activityservice.post.dto;
+
+import com.anteater.activityservice.post.entity.Post;
+
+// 게시글 목록 조회 결과 (post_stats 를 join 한 한 행)
+public record PostWithStats(Post post, Long likeCount, Long commentCount) {
+}
@@ -1,5 +1,6 @@
 package com.anteater.activityservice.post.entity;
 
+import com.anteater.common.id.SnowflakeId;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -7,11 +8,14 @@ import lombok.Setter;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "posts")
+@Table(name = "posts", indexes = {
+        @Index(name = "idx_posts_stock_isin_created_at", columnList = "stockIsin, createdAt DESC"),
+        @Index(name = "idx_posts_author_id_created_at", columnList = "authorId, createdAt DESC")
+})
 @Getter @Setter
 public class Post {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     @Column(nullable = false)
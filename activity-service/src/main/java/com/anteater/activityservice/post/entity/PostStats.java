@@ -0,0 +1,32 @@
+package com.anteater.activityservice.post.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 게시글별 좋아요/댓글 수 (게시글 목록에 한 번의 join 으로 싣기 위한 비정규화 집계).
+ *
+ * 댓글 수는 댓글 작성/삭제 트랜잭션에서, 좋아요 수는 LikeCounter 가 like_counts 에 증감분을 반영할 때 함께 더한다.
+ * 행이 없으면 그 시점의 전체 수로 만들고, 기능 도입 전 게시글은 PostStatsBackfill 이 채운다.
+ */
+@Entity
+@Table(name = "post_stats")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class PostStats {
+    @Id
+    private Long postId;
+
+    @Column(nullable = false)
+    private long likeCount;
+
+    @Column(nullable = false)
+    private long commentCount;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
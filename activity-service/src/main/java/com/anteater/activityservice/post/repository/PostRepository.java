@@ -1,13 +1,50 @@
 package com.anteater.activityservice.post.repository;
 
+import com.anteater.activityservice.post.dto.PostWithStats;
 import com.anteater.activityservice.post.entity.Post;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
-    Page<Post> findByStockIsin(String stockIsin, Pageable pageable);
-    Page<Post> findByAuthorId(Long authorId, Pageable pageable);
-}
\ No newline at end of file
+    // 목록 조회는 post_stats 를 join 해 좋아요/댓글 수까지 한 쿼리로 가져온다 (행이 없으면 0)
+    @Query(value = "SELECT new com.anteater.activityservice.post.dto.PostWithStats(p, " +
+            "COALESCE(s.likeCount, 0L), COALESCE(s.commentCount, 0L)) " +
+            "FROM Post p LEFT JOIN PostStats s ON s.postId = p.id WHERE p.stockIsin = :stockIsin",
+            countQuery = "SELECT COUNT(p) FROM Post p WHERE p.stockIsin = :stockIsin")
+    Page<PostWithStats> findByStockIsin(@Param("stockIsin") String stockIsin, Pageable pageable);
+
+    @Query(value = "SELECT new com.anteater.activityservice.post.dto.PostWithStats(p, " +
+            "COALESCE(s.likeCount, 0L), COALESCE(s.commentCount, 0L)) " +
+            "FROM Post p LEFT JOIN PostStats s ON s.postId = p.id WHERE p.authorId = :authorId",
+            countQuery = "SELECT COUNT(p) FROM Post p WHERE p.authorId = :authorId")
+    Page<PostWithStats> findByAuthorId(@Param("authorId") Long authorId, Pageable pageable);
+
+    // keyset 페이지네이션: (stockIsin, createdAt DESC) 인덱스 순서(동률은 id ASC)로 seek
+    @Query("SELECT new com.anteater.activityservice.post.dto.PostWithStats(p, " +
+            "COALESCE(s.likeCount, 0L), COALESCE(s.commentCount, 0L)) " +
+            "FROM Post p LEFT JOIN PostStats s ON s.postId = p.id WHERE p.stockIsin = :stockIsin " +
+            "ORDER BY p.createdAt DESC, p.id ASC")
+    List<PostWithStats> findLatestByStockIsin(@Param("stockIsin") String stockIsin, Pageable pageable);
+
+    @Query("SELECT new com.anteater.activityservice.post.dto.PostWithStats(p, " +
+            "COALESCE(s.likeCount, 0L), COALESCE(s.commentCount, 0L)) " +
+            "FROM Post p LEFT JOIN PostStats s ON s.postId = p.id WHERE p.stockIsin = :stockIsin " +
+            "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id > :id)) " +
+            "ORDER BY p.createdAt DESC, p.id ASC")
+    List<PostWithStats> findByStockIsinAfterCursor(@Param("stockIsin") String stockIsin,
+                                                   @Param("createdAt") LocalDateTime createdAt,
+                                                   @Param("id") Long id,
+                                                   Pageable pageable);
+
+    // post_stats backfill: id 순으로 끝까지 읽는다
+    @Query("SELECT p.id FROM Post p WHERE p.id > :afterId ORDER BY p.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+}
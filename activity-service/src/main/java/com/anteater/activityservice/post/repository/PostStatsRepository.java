@@ -0,0 +1,58 @@
+package com.anteater.activityservice.post.repository;
+
+import com.anteater.activityservice.post.entity.PostStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * 행이 없을 때는 증감분이 아니라 그 시점의 전체 수로 행을 만든다 (기능 도입 전 게시글도 맞는 값에서 시작).
+ * 좋아요 수는 like_counts 에서(없으면 0), 댓글 수는 comments 에서 센다. 없는 게시글의 행은 만들지 않는다.
+ * likes 를 세면 Redis 에 쌓인 미반영 증감분이 포함되어 flush 때 한 번 더 더해지므로, 좋아요 수는 like_counts 와
+ * 같은 증감분만 받고 likes 와의 차이는 LikeCounter.reconcile 이 like_counts 와 함께 바로잡는다.
+ */
+@Repository
+public interface PostStatsRepository extends JpaRepository<PostStats, Long> {
+
+    // 좋아요 증감분을 like_counts 에 더한 같은 트랜잭션에서 호출한다
+    @Modifying
+    @Query(value = "INSERT INTO post_stats (post_id, like_count, comment_count, updated_at) " +
+            "SELECT p.id, " +
+            "COALESCE((SELECT lc.like_count FROM like_counts lc WHERE lc.target_type = 'POST' AND lc.target_id = p.id), 0), " +
+            "(SELECT COUNT(*) FROM comments c WHERE c.post_id = p.id), :now " +
+            "FROM posts p WHERE p.id = :postId " +
+            "ON DUPLICATE KEY UPDATE like_count = post_stats.like_count + :delta, updated_at = :now",
+            nativeQuery = true)
+    int addLikes(@Param("postId") Long postId, @Param("delta") long delta, @Param("now") LocalDateTime now);
+
+    // 댓글 저장/삭제를 먼저 flush 해야 행을 새로 만들 때 센 수에 포함된다
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO post_stats (post_id, like_count, comment_count, updated_at) " +
+            "SELECT p.id, " +
+            "COALESCE((SELECT lc.like_count FROM like_counts lc WHERE lc.target_type = 'POST' AND lc.target_id = p.id), 0), " +
+            "(SELECT COUNT(*) FROM comments c WHERE c.post_id = p.id), :now " +
+            "FROM posts p WHERE p.id = :postId " +
+            "ON DUPLICATE KEY UPDATE comment_count = post_stats.comment_count + :delta, updated_at = :now",
+            nativeQuery = true)
+    int addComments(@Param("postId") Long postId, @Param("delta") long delta, @Param("now") LocalDateTime now);
+
+    // (afterId, untilId] 범위에서 행이 없는 게시글만 채운다
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO post_stats (post_id, like_count, comment_count, updated_at) " +
+            "SELECT p.id, " +
+            "COALESCE((SELECT lc.like_count FROM like_counts lc WHERE lc.target_type = 'POST' AND lc.target_id = p.id), 0), " +
+            "(SELECT COUNT(*) FROM comments c WHERE c.post_id = p.id), :now " +
+            "FROM posts p WHERE p.id > :afterId AND p.id <= :untilId",
+            nativeQuery = true)
+    int backfill(@Param("afterId") Long afterId, @Param("untilId") Long untilId, @Param("now") LocalDateTime now);
+
+    // like_counts 를 likes 와 대조할 때 함께 맞춘다. like_counts 가 맞아도 이 행만 어긋났을 수 있다
+    @Modifying
+    @Query("UPDATE PostStats s SET s.likeCount = :likeCount, s.updatedAt = :now " +
+            "WHERE s.postId = :postId AND s.likeCount <> :likeCount")
+    int setLikeCount(@Param("postId") Long postId, @Param("likeCount") long likeCount, @Param("now") LocalDateTime now);
+}
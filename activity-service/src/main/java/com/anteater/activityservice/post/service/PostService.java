@@ -2,26 +2,36 @@ package com.anteater.activityservice.post.service;
 
 import com.anteater.activityservice.common.exception.PostModificationTimeExceededException;
 import com.anteater.activityservice.common.kafka.producer.PostEventProducer;
+import com.anteater.activityservice.post.dto.PostWithStats;
 import com.anteater.activityservice.post.entity.Post;
 import com.anteater.activityservice.post.repository.PostRepository;
+import com.anteater.activityservice.post.repository.PostStatsRepository;
+import com.anteater.common.pagination.CursorPage;
+import com.anteater.common.pagination.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
 
 @Service
 public class PostService {
 
     private final PostRepository postRepository;
+    private final PostStatsRepository postStatsRepository;
     private final PostEventProducer postEventProducer;
 
     @Autowired
-    public PostService(PostRepository postRepository, PostEventProducer postEventProducer) {
+    public PostService(PostRepository postRepository, PostStatsRepository postStatsRepository,
+                       PostEventProducer postEventProducer) {
         this.postRepository = postRepository;
+        this.postStatsRepository = postStatsRepository;
         this.postEventProducer = postEventProducer;
     }
 
@@ -39,6 +49,12 @@ public class PostService {
                 .orElseThrow(() -> new RuntimeException("Post not found"));
     }
 
+    // 뉴스피드 조회 시 본문을 한 번에 채우기 위한 bulk 조회 (없는 ID 는 결과에서 빠진다)
+    @Transactional(readOnly = true)
+    public List<Post> getPosts(Collection<Long> postIds) {
+        return postRepository.findAllById(postIds);
+    }
+
     @Transactional
     public Post updatePost(Long postId, String newContent) {
         Post post = getPost(postId);
@@ -60,16 +76,27 @@ public class PostService {
     public void deletePost(Long postId) {
         Post post = getPost(postId);
         postRepository.deleteById(postId);
+        postStatsRepository.deleteById(postId);
         postEventProducer.sendPostDeletedEvent(postId, post.getAuthorId());
     }
 
     @Transactional(readOnly = true)
-    public Page<Post> getPostsByStock(String stockIsin, Pageable pageable) {
+    public Page<PostWithStats> getPostsByStock(String stockIsin, Pageable pageable) {
         return postRepository.findByStockIsin(stockIsin, pageable);
     }
 
     @Transactional(readOnly = true)
-    public Page<Post> getPostsByAuthor(Long authorId, Pageable pageable) {
+    public CursorPage<PostWithStats> getPostsByStock(String stockIsin, String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        PageRequest limit = PageRequest.of(0, size + 1);
+        List<PostWithStats> posts = after == null
+                ? postRepository.findLatestByStockIsin(stockIsin, limit)
+                : postRepository.findByStockIsinAfterCursor(stockIsin, after.createdAt(), after.id(), limit);
+        return CursorPage.of(posts, size, item -> new KeysetCursor(item.post().getCreatedAt(), item.post().getId()));
+    }
+
+    @Transactional(readOnly = true)
+    public Page<PostWithStats> getPostsByAuthor(Long authorId, Pageable pageable) {
         return postRepository.findByAuthorId(authorId, pageable);
     }
 }
\ No newline at end of file
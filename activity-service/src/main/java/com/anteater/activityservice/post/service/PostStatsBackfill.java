@@ -0,0 +1,63 @@
+package com.anteater.activityservice.post.service;
+
+import com.anteater.activityservice.post.repository.PostRepository;
+import com.anteater.activityservice.post.repository.PostStatsRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * post_stats 행이 없는 게시글(기능 도입 전 게시글)을 id 순으로 조금씩 채운다.
+ *
+ * 이미 있는 행은 건드리지 않으므로 시작할 때마다 한 번 끝까지 훑고 멈춘다. 모두 채운 뒤에는 enabled 를 꺼도 된다.
+ */
+@Slf4j
+@Component
+public class PostStatsBackfill {
+
+    private final PostRepository postRepository;
+    private final PostStatsRepository postStatsRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+    private Long afterId = 0L;
+    private long filled;
+    private boolean done;
+
+    public PostStatsBackfill(PostRepository postRepository,
+                             PostStatsRepository postStatsRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${activity.post-stats.backfill.enabled:true}") boolean enabled,
+                             @Value("${activity.post-stats.backfill.batch-size:1000}") int batchSize) {
+        this.postRepository = postRepository;
+        this.postStatsRepository = postStatsRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${activity.post-stats.backfill.interval:1000}")
+    public void backfill() {
+        if (!enabled || done) {
+            return;
+        }
+        List<Long> ids = postRepository.findIdsAfter(afterId, PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) {
+            done = true;
+            log.info("Post stats backfill finished, {} posts filled", filled);
+            return;
+        }
+        Long untilId = ids.get(ids.size() - 1);
+        Integer inserted = transactionTemplate.execute(status ->
+                postStatsRepository.backfill(afterId, untilId, LocalDateTime.now()));
+        filled += inserted == null ? 0 : inserted;
+        afterId = untilId;
+    }
+}
@@ -0,0 +1,201 @@
+package com.anteater.activityservice.likes.service;
+
+import com.anteater.activityservice.likes.entity.Like;
+import com.anteater.activityservice.likes.entity.LikeCount;
+import com.anteater.activityservice.likes.repository.LikeCountRepository;
+import com.anteater.activityservice.likes.repository.LikeRepository;
+import com.anteater.activityservice.post.repository.PostStatsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class LikeCounterTest {
+
+    private static final List<String> FLUSHED_KEYS = List.of("like:deltas:flushing", "like:deltas:generation");
+
+    private StringRedisTemplate redisTemplate;
+    private ValueOperations<String, String> valueOperations;
+    private HashOperations<String, Object, Object> hashOperations;
+    private LikeCountRepository likeCountRepository;
+    private LikeRepository likeRepository;
+    private PostStatsRepository postStatsRepository;
+    private LikeCounter counter;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        valueOperations = mock(ValueOperations.class);
+        hashOperations = mock(HashOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        likeCountRepository = mock(LikeCountRepository.class);
+        likeRepository = mock(LikeRepository.class);
+        postStatsRepository = mock(PostStatsRepository.class);
+        counter = new LikeCounter(redisTemplate, likeCountRepository, likeRepository, postStatsRepository,
+                mock(PlatformTransactionManager.class), Duration.ofDays(1), Duration.ofSeconds(30),
+                Duration.ofMinutes(1), 500);
+    }
+
+    @Test
+    void flushAddsDeltasAndClearsFlushingKey() {
+        lockAcquired(true);
+        when(redisTemplate.hasKey("like:deltas:flushing")).thenReturn(false);
+        when(redisTemplate.hasKey("like:deltas")).thenReturn(true);
+        when(hashOperations.entries("like:deltas:flushing"))
+                .thenReturn(Map.of("POST:1", "3", "COMMENT:2", "-1", "POST:3", "0"));
+
+        counter.flush();
+
+        verify(redisTemplate).renameIfAbsent("like:deltas", "like:deltas:flushing");
+        verify(likeCountRepository).addDelta(eq("POST"), eq(1L), eq(3L), any());
+        verify(postStatsRepository).addLikes(eq(1L), eq(3L), any());
+        verify(likeCountRepository).addDelta(eq("COMMENT"), eq(2L), eq(-1L), any());
+        verify(likeCountRepository, never()).addDelta(anyString(), eq(3L), anyLong(), any());
+        verify(redisTemplate).execute(any(RedisScript.class), eq(FLUSHED_KEYS));
+        verifyUnlocked();
+    }
+
+    @Test
+    void flushRetriesLeftoverFlushingKeyFirst() {
+        lockAcquired(true);
+        when(redisTemplate.hasKey("like:deltas:flushing")).thenReturn(true);
+        when(hashOperations.entries("like:deltas:flushing")).thenReturn(Map.of("POST:1", "2"));
+
+        counter.flush();
+
+        verify(redisTemplate, never()).renameIfAbsent(anyString(), anyString());
+        verify(likeCountRepository).addDelta(eq("POST"), eq(1L), eq(2L), any());
+    }
+
+    @Test
+    void flushSeedsMissingRowFromLikesMinusPendingDeltas() {
+        lockAcquired(true);
+        when(redisTemplate.hasKey("like:deltas:flushing")).thenReturn(true);
+        when(hashOperations.entries("like:deltas:flushing")).thenReturn(Map.of("POST:1", "1"));
+        when(hashOperations.get("like:deltas", "POST:1")).thenReturn("2");
+        when(likeRepository.countByTargetIds(Like.TargetType.POST, List.of(1L)))
+                .thenReturn(List.<Object[]>of(new Object[]{1L, 103L}));
+
+        counter.flush();
+
+        // 103 개 중 이번 반영분 1 과 아직 쌓여 있는 2 를 뺀 100 으로 시작해 1 을 더한다
+        InOrder order = inOrder(likeCountRepository);
+        order.verify(likeCountRepository).insertIfAbsent(eq("POST"), eq(1L), eq(100L), any());
+        order.verify(likeCountRepository).addDelta(eq("POST"), eq(1L), eq(1L), any());
+    }
+
+    @Test
+    void flushDoesNotSeedExistingRows() {
+        lockAcquired(true);
+        when(redisTemplate.hasKey("like:deltas:flushing")).thenReturn(true);
+        when(hashOperations.entries("like:deltas:flushing")).thenReturn(Map.of("COMMENT:2", "3"));
+        when(likeCountRepository.findAllById(anyList())).thenReturn(List.of(likeCount(Like.TargetType.COMMENT, 2L, 7)));
+
+        counter.flush();
+
+        verify(likeCountRepository, never()).insertIfAbsent(anyString(), anyLong(), anyLong(), any());
+        verify(likeRepository, never()).countByTargetIds(any(), anyList());
+        verify(likeCountRepository).addDelta(eq("COMMENT"), eq(2L), eq(3L), any());
+    }
+
+    @Test
+    void failedFlushKeepsDeltasForNextInterval() {
+        lockAcquired(true);
+        when(redisTemplate.hasKey("like:deltas:flushing")).thenReturn(true);
+        when(hashOperations.entries("like:deltas:flushing")).thenReturn(Map.of("POST:1", "2"));
+        when(likeCountRepository.addDelta(anyString(), anyLong(), anyLong(), any()))
+                .thenThrow(new QueryTimeoutException("timeout"));
+
+        counter.flush();
+
+        verify(redisTemplate, never()).execute(any(RedisScript.class), eq(FLUSHED_KEYS));
+        verifyUnlocked();
+    }
+
+    @Test
+    void flushSkipsWhenAnotherInstanceHoldsTheLock() {
+        lockAcquired(false);
+
+        counter.flush();
+
+        verify(redisTemplate, never()).hasKey(anyString());
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), any(Object[].class));
+    }
+
+    @Test
+    void reconcileSubtractsPendingDeltasAndEvictsCache() {
+        LikeCount row = likeCount(Like.TargetType.POST, 1L, 10);
+        when(likeCountRepository.findUnreconciled(any(), any())).thenReturn(List.of(row));
+        when(likeRepository.countByTargetIdAndTargetType(1L, Like.TargetType.POST)).thenReturn(13L);
+        when(hashOperations.get("like:deltas", "POST:1")).thenReturn("2");
+        when(likeCountRepository.reconcile(eq(Like.TargetType.POST), eq(1L), eq(11L), eq(row.getUpdatedAt()), any()))
+                .thenReturn(1);
+
+        counter.reconcile();
+
+        verify(postStatsRepository).setLikeCount(eq(1L), eq(11L), any());
+        verify(redisTemplate).delete("like:count:POST:1");
+    }
+
+    @Test
+    void reconcileAlignsPostStatsEvenWhenLikeCountMatches() {
+        LikeCount row = likeCount(Like.TargetType.POST, 1L, 10);
+        when(likeCountRepository.findUnreconciled(any(), any())).thenReturn(List.of(row));
+        when(likeRepository.countByTargetIdAndTargetType(1L, Like.TargetType.POST)).thenReturn(10L);
+        when(likeCountRepository.reconcile(eq(Like.TargetType.POST), eq(1L), eq(10L), eq(row.getUpdatedAt()), any()))
+                .thenReturn(1);
+
+        counter.reconcile();
+
+        verify(postStatsRepository).setLikeCount(eq(1L), eq(10L), any());
+    }
+
+    @Test
+    void reconcileSkipsRowChangedByFlush() {
+        LikeCount row = likeCount(Like.TargetType.COMMENT, 2L, 5);
+        when(likeCountRepository.findUnreconciled(any(), any())).thenReturn(List.of(row));
+        when(likeRepository.countByTargetIdAndTargetType(2L, Like.TargetType.COMMENT)).thenReturn(7L);
+        when(likeCountRepository.reconcile(any(), any(), anyLong(), any(), any())).thenReturn(0);
+
+        counter.reconcile();
+
+        verify(redisTemplate, never()).delete(anyString());
+    }
+
+    private void lockAcquired(boolean acquired) {
+        when(valueOperations.setIfAbsent(eq("like:deltas:lock"), anyString(), any(Duration.class))).thenReturn(acquired);
+    }
+
+    private void verifyUnlocked() {
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("like:deltas:lock")), any(Object[].class));
+    }
+
+    private static LikeCount likeCount(Like.TargetType targetType, Long targetId, long likeCount) {
+        LikeCount row = new LikeCount();
+        ReflectionTestUtils.setField(row, "targetType", targetType);
+        ReflectionTestUtils.setField(row, "targetId", targetId);
+        ReflectionTestUtils.setField(row, "likeCount", likeCount);
+        ReflectionTestUtils.setField(row, "updatedAt", LocalDateTime.now().minusMinutes(5));
+        return row;
+    }
+}
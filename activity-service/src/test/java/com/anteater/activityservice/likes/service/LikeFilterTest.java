@@ -0,0 +1,146 @@
+package com.anteater.activityservice.likes.service;
+
+import com.anteater.activityservice.likes.entity.Like;
+import com.anteater.activityservice.likes.repository.LikeRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class LikeFilterTest {
+
+    private StringRedisTemplate redisTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private final List<List<Object>> scriptArgs = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void sizesShardsFromExpectedLikesAndFalsePositiveRate() {
+        filter(64, 10_000_000, 0.01);
+
+        // m = -n ln p / (ln 2)^2 = 156250 * 9.585 → 1497666 bits/shard, k = m / n * ln 2 → 7
+        assertEquals(1_497_666.0 * 64, meterRegistry.get("like.filter.size").gauge().value());
+        List<Object> args = check(filter(64, 10_000_000, 0.01), 1L, List.of(10L));
+        assertEquals("like:bloom:1497666x7:", args.get(0));
+        assertEquals("7", args.get(2));
+        assertEquals(3 + 7, args.size());
+    }
+
+    @Test
+    void rejectsInvalidSizing() {
+        assertThrows(IllegalArgumentException.class, () -> filter(0, 1000, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> filter(1, 1000, 1.0));
+        // 한 shard 가 Redis bitmap 한도(2^32 bit)를 넘음
+        assertThrows(IllegalArgumentException.class, () -> filter(1, 1_000_000_000L, 0.001));
+    }
+
+    @Test
+    void hashesAreStableAndWithinShard() {
+        List<Object> first = check(filter(8, 1000, 0.01), 42L, List.of(1L, 2L, 3L));
+        List<Object> second = check(filter(8, 1000, 0.01), 42L, List.of(1L, 2L, 3L));
+        assertEquals(first, second);
+
+        String prefix = (String) first.get(0);
+        long bits = Long.parseLong(prefix.substring("like:bloom:".length(), prefix.indexOf('x')));
+        int hashes = Integer.parseInt((String) first.get(2));
+        assertEquals(3 + 3 * hashes, first.size());
+        for (Object offset : first.subList(3, first.size())) {
+            long value = Long.parseLong((String) offset);
+            assertTrue(value >= 0 && value < bits);
+        }
+        // 대상마다 다른 위치
+        assertNotEquals(first.subList(3, 3 + hashes), first.subList(3 + hashes, 3 + 2 * hashes));
+    }
+
+    @Test
+    void keepsUserLikesInOneShard() {
+        LikeFilter filter = filter(16, 1000, 0.01);
+        stubScripts(null);
+        filter.addAll(List.of(Like.create(7L, 1L, Like.TargetType.POST), Like.create(7L, 2L, Like.TargetType.COMMENT),
+                Like.create(8L, 1L, Like.TargetType.POST)));
+
+        List<Object> args = scriptArgs.get(0);
+        int hashes = Integer.parseInt((String) args.get(1));
+        String userShard = (String) args.get(2);
+        assertEquals(userShard, args.get(2 + hashes + 1));
+        assertEquals(userShard, check(filter, 7L, List.of(3L)).get(1));
+    }
+
+    @Test
+    void reportsCandidatesFromCheckResult() {
+        LikeFilter filter = filter(8, 1000, 0.01);
+        stubScripts(List.of(1L, 0L, 1L));
+
+        assertEquals(Set.of(1L, 3L), filter.mightHaveLiked(1L, Like.TargetType.POST, List.of(1L, 2L, 3L)));
+    }
+
+    @Test
+    void missingGenerationFallsBackToLikes() {
+        LikeFilter filter = filter(8, 1000, 0.01);
+        stubScripts(List.of(-1L));
+
+        assertNull(filter.mightHaveLiked(1L, Like.TargetType.POST, List.of(1L, 2L)));
+    }
+
+    @Test
+    void failedAddDropsGenerations() {
+        LikeFilter filter = filter(8, 1000, 0.01);
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+
+        filter.addAll(List.of(Like.create(1L, 1L, Like.TargetType.POST)));
+
+        verify(redisTemplate).delete(List.of("like:bloom:1199x7:current", "like:bloom:1199x7:building"));
+    }
+
+    @Test
+    void failedAddAndDropFailsTheWrite() {
+        LikeFilter filter = filter(8, 1000, 0.01);
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        when(redisTemplate.delete(anyList())).thenThrow(new RedisConnectionFailureException("down"));
+
+        assertThrows(RedisConnectionFailureException.class,
+                () -> filter.addAll(List.of(Like.create(1L, 1L, Like.TargetType.POST))));
+    }
+
+    private LikeFilter filter(int shards, long expectedLikes, double falsePositiveRate) {
+        return new LikeFilter(redisTemplate, mock(LikeRepository.class), meterRegistry, true, shards, expectedLikes,
+                falsePositiveRate, Duration.ofDays(1), Duration.ZERO, Duration.ofMinutes(30), 5000);
+    }
+
+    // CHECK_SCRIPT 에 넘긴 ARGV
+    private List<Object> check(LikeFilter filter, Long userId, List<Long> targetIds) {
+        scriptArgs.clear();
+        stubScripts(Collections.nCopies(targetIds.size(), 0L));
+        filter.mightHaveLiked(userId, Like.TargetType.POST, targetIds);
+        return scriptArgs.get(0);
+    }
+
+    private void stubScripts(Object result) {
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenAnswer(invocation -> {
+            Object[] arguments = invocation.getArguments();
+            scriptArgs.add(Arrays.asList(Arrays.copyOfRange(arguments, 2, arguments.length)));
+            return result;
+        });
+    }
+}
@@ -0,0 +1,125 @@
+package com.anteater.activityservice.likes.service;
+
+import com.anteater.activityservice.comment.repository.CommentRepository;
+import com.anteater.activityservice.common.kafka.producer.LikeEventProducer;
+import com.anteater.activityservice.likes.entity.Like;
+import com.anteater.activityservice.likes.repository.LikeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class LikeWriteBufferTest {
+
+    private LikeRepository likeRepository;
+    private LikeCounter likeCounter;
+    private LikeFilter likeFilter;
+    private LikeEventProducer likeEventProducer;
+    private LikeWriteBuffer buffer;
+    private final ExecutorService callers = Executors.newFixedThreadPool(8);
+
+    @BeforeEach
+    void setUp() {
+        likeRepository = mock(LikeRepository.class);
+        likeCounter = mock(LikeCounter.class);
+        likeFilter = mock(LikeFilter.class);
+        likeEventProducer = mock(LikeEventProducer.class);
+        when(likeRepository.insertIgnoreAll(anyList()))
+                .thenAnswer(invocation -> Collections.nCopies(invocation.<List<?>>getArgument(0).size(), true));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        callers.shutdownNow();
+        buffer.shutdown();
+    }
+
+    @Test
+    void concurrentLikesOnOneTargetAreWrittenAsOneSortedBatch() throws Exception {
+        buffer = buffer(1, Duration.ofMillis(200), 100);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (long userId = 8; userId >= 1; userId--) {
+            long user = userId;
+            results.add(callers.submit(() -> buffer.like(user, 10L, Like.TargetType.POST)));
+        }
+        for (Future<Boolean> result : results) {
+            assertTrue(result.get());
+        }
+
+        List<Like> batch = insertedBatches().get(0);
+        assertEquals(1, insertedBatches().size());
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L), batch.stream().map(Like::getUserId).toList());
+        verify(likeFilter).addAll(batch);
+        verify(likeCounter, times(8)).increment(Like.TargetType.POST, 10L, 1);
+    }
+
+    @Test
+    void fullBatchIsWrittenWithoutWaitingForLinger() throws Exception {
+        buffer = buffer(1, Duration.ofMinutes(1), 3);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (long userId = 1; userId <= 3; userId++) {
+            long user = userId;
+            results.add(callers.submit(() -> buffer.like(user, 10L, Like.TargetType.POST)));
+        }
+        for (Future<Boolean> result : results) {
+            assertTrue(result.get());  // linger(1분)보다 timeout(5초)이 짧으므로 기다렸다면 실패한다
+        }
+        assertEquals(1, insertedBatches().size());
+    }
+
+    @Test
+    void onlyNewlyInsertedLikesAreCountedAndPublished() {
+        buffer = buffer(1, Duration.ofMillis(1), 100);
+        when(likeRepository.insertIgnoreAll(anyList())).thenReturn(List.of(false));
+
+        assertFalse(buffer.like(1L, 10L, Like.TargetType.POST));
+        verify(likeCounter, never()).increment(any(), anyLong(), anyLong());
+        verify(likeEventProducer, never()).sendLikeCreatedEvent(any(), any(), any(), any());
+    }
+
+    @Test
+    void failedWriteFailsEveryWaitingRequest() {
+        buffer = buffer(1, Duration.ofMillis(1), 100);
+        doThrow(new IllegalStateException("filter down")).when(likeFilter).addAll(anyList());
+
+        assertThrows(IllegalStateException.class, () -> buffer.like(1L, 10L, Like.TargetType.POST));
+        verify(likeRepository, never()).insertIgnoreAll(anyList());
+    }
+
+    @Test
+    void missingCommentIsRejectedWithoutWriting() {
+        buffer = buffer(1, Duration.ofMillis(1), 100);
+
+        assertThrows(RuntimeException.class, () -> buffer.like(1L, 99L, Like.TargetType.COMMENT));
+        verify(likeRepository, never()).insertIgnoreAll(anyList());
+        verify(likeEventProducer, never()).sendLikeCreatedEvent(any(), eq(99L), any(), any());
+    }
+
+    private LikeWriteBuffer buffer(int stripes, Duration linger, int maxBatch) {
+        return new LikeWriteBuffer(likeRepository, mock(CommentRepository.class), likeEventProducer, likeCounter,
+                likeFilter, mock(PlatformTransactionManager.class), stripes, linger, maxBatch, Duration.ofSeconds(5));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<Like>> insertedBatches() {
+        ArgumentCaptor<List<Like>> captor = ArgumentCaptor.forClass(List.class);
+        verify(likeRepository, atLeastOnce()).insertIgnoreAll(captor.capture());
+        return captor.getAllValues();
+    }
+}
@@ -0,0 +1,18 @@
+package com.anteater.common.id;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * {@code @GeneratedValue(strategy = GenerationType.IDENTITY)} 대신 사용하는 식별자 어노테이션.
+ * INSERT 전에 애플리케이션에서 ID 를 발급하므로 Hibernate JDBC batch insert 가 동작한다.
+ */
+@IdGeneratorType(SnowflakeIdentifierGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface SnowflakeId {
+}
@@ -0,0 +1,128 @@
+package com.anteater.common.id;
+
+import java.util.function.LongSupplier;
+
+/**
+ * 조율 없이 노드별로 발급하는 64bit 시간순 ID.
+ *
+ * <pre>
+ * | 1bit 부호(0) | 41bit 타임스탬프(ms, EPOCH 기준) | 10bit worker id | 12bit sequence |
+ * </pre>
+ *
+ * 같은 worker 안에서는 단조 증가하고, 서로 다른 worker 사이에서는 타임스탬프 순으로 정렬된다.
+ * worker id 는 {@code anteater.id.worker-id} 시스템 프로퍼티 또는 {@code ANTEATER_WORKER_ID} 환경 변수로 반드시 지정한다.
+ * 호스트 이름 등에서 유도하면 replica 끼리 겹칠 수 있고, 겹치면 같은 ms 에 같은 ID 가 발급되므로 지정하지 않으면 발급하지 않는다.
+ */
+public final class SnowflakeIdGenerator {
+
+    // 2024-01-01T00:00:00Z
+    public static final long EPOCH = 1704067200000L;
+
+    static final int WORKER_ID_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final long MAX_WORKER_ID = (1L << WORKER_ID_BITS) - 1;
+    static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    static final int WORKER_ID_SHIFT = SEQUENCE_BITS;
+    static final int TIMESTAMP_SHIFT = SEQUENCE_BITS + WORKER_ID_BITS;
+
+    // 이 범위 안의 시계 역행은 따라잡을 때까지 대기, 그보다 크면 발급 중단
+    private static final long MAX_CLOCK_BACKWARD_MS = 5;
+
+    private static volatile SnowflakeIdGenerator instance;
+
+    private final long workerId;
+    private final LongSupplier clock;
+    private long lastTimestamp = -1L;
+    private long sequence = 0L;
+
+    public SnowflakeIdGenerator(long workerId) {
+        this(workerId, System::currentTimeMillis);
+    }
+
+    SnowflakeIdGenerator(long workerId, LongSupplier clock) {
+        if (workerId < 0 || workerId > MAX_WORKER_ID) {
+            throw new IllegalArgumentException("Worker id must be between 0 and " + MAX_WORKER_ID + ": " + workerId);
+        }
+        this.workerId = workerId;
+        this.clock = clock;
+    }
+
+    public static SnowflakeIdGenerator getInstance() {
+        SnowflakeIdGenerator generator = instance;
+        if (generator == null) {
+            synchronized (SnowflakeIdGenerator.class) {
+                generator = instance;
+                if (generator == null) {
+                    generator = new SnowflakeIdGenerator(resolveWorkerId());
+                    instance = generator;
+                }
+            }
+        }
+        return generator;
+    }
+
+    public synchronized long nextId() {
+        long timestamp = currentTimeMillis();
+
+        if (timestamp < lastTimestamp) {
+            long backward = lastTimestamp - timestamp;
+            if (backward > MAX_CLOCK_BACKWARD_MS) {
+                throw new IllegalStateException("Clock moved backwards by " + backward + "ms, refusing to generate id");
+            }
+            timestamp = waitUntilAfter(lastTimestamp - 1);
+        }
+
+        if (timestamp == lastTimestamp) {
+            sequence = (sequence + 1) & SEQUENCE_MASK;
+            if (sequence == 0) {
+                // 같은 ms 에 4096개를 모두 소진하면 다음 ms 까지 대기
+                timestamp = waitUntilAfter(lastTimestamp);
+            }
+        } else {
+            sequence = 0L;
+        }
+
+        lastTimestamp = timestamp;
+        return ((timestamp - EPOCH) << TIMESTAMP_SHIFT) | (workerId << WORKER_ID_SHIFT) | sequence;
+    }
+
+    public long getWorkerId() {
+        return workerId;
+    }
+
+    // ID 에 포함된 발급 시각(epoch ms)
+    public static long extractTimestamp(long id) {
+        return (id >>> TIMESTAMP_SHIFT) + EPOCH;
+    }
+
+    public static long extractWorkerId(long id) {
+        return (id >>> WORKER_ID_SHIFT) & MAX_WORKER_ID;
+    }
+
+    // 주어진 시각에 발급될 수 있는 가장 작은 ID (시간 범위 조회의 하한으로 사용)
+    public static long minIdAt(long epochMillis) {
+        return (epochMillis - EPOCH) << TIMESTAMP_SHIFT;
+    }
+
+    private long currentTimeMillis() {
+        return clock.getAsLong();
+    }
+
+    private long waitUntilAfter(long timestamp) {
+        long now = currentTimeMillis();
+        while (now <= timestamp) {
+            Thread.onSpinWait();
+            now = currentTimeMillis();
+        }
+        return now;
+    }
+
+    static long resolveWorkerId() {
+        String configured = System.getProperty("anteater.id.worker-id", System.getenv("ANTEATER_WORKER_ID"));
+        if (configured == null || configured.isBlank()) {
+            throw new IllegalStateException("Worker id is not configured: set ANTEATER_WORKER_ID "
+                    + "(or -Danteater.id.worker-id) to a value unique across all running instances");
+        }
+        return Long.parseLong(configured.trim());
+    }
+}
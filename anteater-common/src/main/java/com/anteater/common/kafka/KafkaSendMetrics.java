@@ -0,0 +1,62 @@
+package com.anteater.common.kafka;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.kafka.support.SendResult;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * kafkaTemplate.send 호출을 감싸 토픽별 전송 지연과 실패 수를 기록한다. 시간은 send 호출 전부터 재므로
+ * 메타데이터 대기나 buffer 가 가득 차 send 안에서 막힌 시간도 포함되고, send 가 바로 던진 예외도 실패로 센다.
+ *
+ * <pre>
+ * kafka.producer.send         Timer   topic, outcome(success|failure)  send 호출부터 broker 확인까지
+ * kafka.producer.send.errors  Counter topic, exception             실패 원인별 횟수
+ * </pre>
+ *
+ * 버스트 중 지연이 늘어나면 producer buffer 가 차고 있다는 신호(backpressure)로 본다.
+ * 이벤트를 발행하는 서비스가 애플리케이션 클래스에서 {@code @Import} 로 빈을 등록한다.
+ */
+public class KafkaSendMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    public KafkaSendMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    // 예: track(topic, () -> kafkaTemplate.send(topic, key, value))
+    public <K, V> CompletableFuture<SendResult<K, V>> track(String topic,
+                                                           Supplier<CompletableFuture<SendResult<K, V>>> send) {
+        long start = System.nanoTime();
+        CompletableFuture<SendResult<K, V>> future;
+        try {
+            future = send.get();
+        } catch (RuntimeException e) {
+            record(topic, start, e);
+            throw e;
+        }
+        return future.whenComplete((result, ex) -> record(topic, start, ex));
+    }
+
+    private void record(String topic, long start, Throwable ex) {
+        Timer.builder("kafka.producer.send")
+                .tag("topic", topic)
+                .tag("outcome", ex == null ? "success" : "failure")
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (ex != null) {
+            Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+            Counter.builder("kafka.producer.send.errors")
+                    .tag("topic", topic)
+                    .tag("exception", cause.getClass().getSimpleName())
+                    .register(meterRegistry)
+                    .increment();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.anteater.common.pagination;
+
+import java.util.List;
+import java.util.function.Function;
+
+// COUNT 쿼리 없이 다음 페이지 커서만 돌려주는 무한 스크롤용 응답
+public class CursorPage<T> {
+    public static final int MAX_SIZE = 100;
+
+    private final List<T> items;
+    private final String nextCursor;
+    private final boolean hasNext;
+
+    private CursorPage(List<T> items, String nextCursor, boolean hasNext) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasNext = hasNext;
+    }
+
+    /**
+     * size + 1 개를 조회한 결과로 페이지를 만든다. 초과분이 있으면 다음 페이지가 존재한다.
+     */
+    public static <T> CursorPage<T> of(List<T> fetched, int size, Function<T, KeysetCursor> cursorOf) {
+        boolean hasNext = fetched.size() > size;
+        List<T> items = hasNext ? List.copyOf(fetched.subList(0, size)) : List.copyOf(fetched);
+        String nextCursor = hasNext ? cursorOf.apply(items.get(items.size() - 1)).encode() : null;
+        return new CursorPage<>(items, nextCursor, hasNext);
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    public static int normalizeSize(int size) {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+
+    // 커서는 그대로 두고 항목만 교체 (조회 후 채우기/걸러내기 단계에서 사용)
+    public CursorPage<T> withItems(List<T> items) {
+        return new CursorPage<>(items, nextCursor, hasNext);
+    }
+
+    public <R> CursorPage<R> map(Function<T, R> mapper) {
+        return new CursorPage<>(items.stream().map(mapper).toList(), nextCursor, hasNext);
+    }
+}
@@ -0,0 +1,74 @@
+package com.anteater.common.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class SnowflakeIdGeneratorTest {
+
+    @Test
+    void idsAreUniqueAndMonotonic() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(7);
+        Set<Long> ids = new HashSet<>();
+        long previous = -1;
+        for (int i = 0; i < 100_000; i++) {
+            long id = generator.nextId();
+            assertTrue(id > previous);
+            assertTrue(ids.add(id));
+            previous = id;
+        }
+    }
+
+    @Test
+    void idEncodesWorkerAndTimestamp() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(513);
+        long before = System.currentTimeMillis();
+        long id = generator.nextId();
+        long after = System.currentTimeMillis();
+
+        assertEquals(513, SnowflakeIdGenerator.extractWorkerId(id));
+        long timestamp = SnowflakeIdGenerator.extractTimestamp(id);
+        assertTrue(timestamp >= before && timestamp <= after);
+        assertTrue(id >= SnowflakeIdGenerator.minIdAt(before));
+    }
+
+    @Test
+    void toleratesSmallClockRollback() {
+        long[] clock = {SnowflakeIdGenerator.EPOCH + 10_000};
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, () -> clock[0]++);
+        long first = generator.nextId();
+        clock[0] -= 3;
+        assertTrue(generator.nextId() > first);
+
+        clock[0] -= 1_000;
+        assertThrows(IllegalStateException.class, generator::nextId);
+    }
+
+    @Test
+    void rejectsOutOfRangeWorkerId() {
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(1024));
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(-1));
+    }
+
+    @Test
+    void requiresConfiguredWorkerId() {
+        assumeTrue(System.getenv("ANTEATER_WORKER_ID") == null);
+        String previous = System.getProperty("anteater.id.worker-id");
+        try {
+            System.clearProperty("anteater.id.worker-id");
+            assertThrows(IllegalStateException.class, SnowflakeIdGenerator::resolveWorkerId);
+            System.setProperty("anteater.id.worker-id", " 42 ");
+            assertEquals(42, SnowflakeIdGenerator.resolveWorkerId());
+        } finally {
+            if (previous == null) {
+                System.clearProperty("anteater.id.worker-id");
+            } else {
+                System.setProperty("anteater.id.worker-id", previous);
+            }
+        }
+    }
+}
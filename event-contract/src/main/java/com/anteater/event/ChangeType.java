@@ -0,0 +1,27 @@
+package com.anteater.event;
+
+/**
+ * 게시글/댓글/좋아요 이벤트의 변경 종류. code 는 바이너리 인코딩에 쓰이므로 바꾸지 않는다.
+ */
+public enum ChangeType {
+    CREATED(1), UPDATED(2), DELETED(3);
+
+    private final int code;
+
+    ChangeType(int code) {
+        this.code = code;
+    }
+
+    public int code() {
+        return code;
+    }
+
+    public static ChangeType fromCode(int code) {
+        for (ChangeType type : values()) {
+            if (type.code == code) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unknown change type " + code);
+    }
+}
@@ -0,0 +1,12 @@
+package com.anteater.event;
+
+/**
+ * 댓글 작성/수정/삭제.
+ */
+public record CommentEvent(long eventId,
+                           ChangeType eventType,
+                           long commentId,
+                           long postId,
+                           long authorId,
+                           String content) {
+}
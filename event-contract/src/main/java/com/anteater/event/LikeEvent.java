@@ -0,0 +1,35 @@
+package com.anteater.event;
+
+/**
+ * 좋아요(CREATED)/취소(DELETED). postId 는 대상이 속한 게시글로, 대상이 게시글이면 targetId 와 같다.
+ */
+public record LikeEvent(long eventId,
+                        ChangeType eventType,
+                        long userId,
+                        long targetId,
+                        TargetType targetType,
+                        long postId) {
+
+    public enum TargetType {
+        POST(1), COMMENT(2);
+
+        private final int code;
+
+        TargetType(int code) {
+            this.code = code;
+        }
+
+        public int code() {
+            return code;
+        }
+
+        public static TargetType fromCode(int code) {
+            for (TargetType type : values()) {
+                if (type.code == code) {
+                    return type;
+                }
+            }
+            throw new IllegalArgumentException("Unknown like target type " + code);
+        }
+    }
+}
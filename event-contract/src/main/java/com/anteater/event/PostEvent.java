@@ -0,0 +1,12 @@
+package com.anteater.event;
+
+/**
+ * 게시글 작성/수정/삭제. DELETED 이벤트에는 stockIsin, content 가 없다.
+ */
+public record PostEvent(long eventId,
+                        ChangeType eventType,
+                        long postId,
+                        long authorId,
+                        String stockIsin,
+                        String content) {
+}
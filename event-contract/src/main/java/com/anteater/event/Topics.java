@@ -0,0 +1,15 @@
+package com.anteater.event;
+
+/**
+ * 이벤트 토픽 이름. 발행/구독 양쪽이 이 상수만 사용한다.
+ */
+public final class Topics {
+
+    public static final String POST_EVENTS = "post-events";
+    public static final String COMMENT_EVENTS = "comment-events";
+    public static final String LIKE_EVENTS = "like-events";
+    public static final String WATCHLIST_EVENTS = "watchlist-events";
+
+    private Topics() {
+    }
+}
@@ -0,0 +1,33 @@
+package com.anteater.event;
+
+/**
+ * 관심 종목 추가/삭제.
+ */
+public record WatchlistEvent(long eventId,
+                             Action eventType,
+                             String userName,
+                             String stockIsin) {
+
+    public enum Action {
+        ADDED(1), REMOVED(2);
+
+        private final int code;
+
+        Action(int code) {
+            this.code = code;
+        }
+
+        public int code() {
+            return code;
+        }
+
+        public static Action fromCode(int code) {
+            for (Action action : values()) {
+                if (action.code == code) {
+                    return action;
+                }
+            }
+            throw new IllegalArgumentException("Unknown watchlist action " + code);
+        }
+    }
+}
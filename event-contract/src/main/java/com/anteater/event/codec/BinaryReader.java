@@ -0,0 +1,63 @@
+package com.anteater.event.codec;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link BinaryWriter} 로 쓴 본문을 순서대로 읽는다. 범위를 벗어나면 {@link IllegalArgumentException}.
+ */
+public final class BinaryReader {
+
+    private final byte[] buffer;
+    private int position;
+
+    public BinaryReader(byte[] buffer) {
+        this.buffer = buffer;
+    }
+
+    public int readVarInt() {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint at " + position);
+    }
+
+    public long readFixed64() {
+        require(8);
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (buffer[position++] & 0xFF);
+        }
+        return value;
+    }
+
+    public Long readNullableFixed64() {
+        return readByte() == 0 ? null : readFixed64();
+    }
+
+    public String readString() {
+        int length = readVarInt() - 1;
+        if (length < 0) {
+            return null;
+        }
+        require(length);
+        String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    public byte readByte() {
+        require(1);
+        return buffer[position++];
+    }
+
+    private void require(int length) {
+        if (length > buffer.length - position) {
+            throw new IllegalArgumentException("Truncated event: need " + length + " bytes at " + position);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.anteater.event.codec;
+
+/**
+ * 이벤트 타입 하나의 바이너리 스키마.
+ *
+ * 필드는 항상 뒤에만 추가하고 version 을 올린다. 읽을 때는 전달받은 version 이 해당 필드를 포함할 때만 읽으므로
+ * 새 컨슈머는 옛 이벤트를, 옛 컨슈머는 (뒤에 붙은 필드를 무시하고) 새 이벤트를 읽을 수 있다.
+ */
+public interface EventCodec<T> {
+
+    // 봉투에 기록되는 타입 번호. 한 번 정하면 바꾸지 않는다
+    int typeId();
+
+    int version();
+
+    Class<T> type();
+
+    void write(T event, BinaryWriter out);
+
+    T read(BinaryReader in, int version);
+}
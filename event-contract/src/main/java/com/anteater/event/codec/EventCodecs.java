@@ -0,0 +1,188 @@
+package com.anteater.event.codec;
+
+import com.anteater.event.ChangeType;
+import com.anteater.event.CommentEvent;
+import com.anteater.event.LikeEvent;
+import com.anteater.event.PostEvent;
+import com.anteater.event.WatchlistEvent;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 모든 토픽이 공유하는 이벤트 봉투와 타입별 코덱.
+ *
+ * <pre>
+ * [0xAE magic][varint typeId][varint version][body]
+ * </pre>
+ *
+ * 리플렉션 없이 코덱이 필드를 직접 읽고 쓰므로 JSON 대비 크기와 디코딩 비용이 작다.
+ */
+public final class EventCodecs {
+
+    private static final byte MAGIC = (byte) 0xAE;
+
+    private static final List<EventCodec<?>> CODECS = List.of(
+            new PostEventCodec(), new CommentEventCodec(), new LikeEventCodec(), new WatchlistEventCodec());
+
+    private static final Map<Class<?>, EventCodec<?>> BY_TYPE = new HashMap<>();
+    private static final Map<Integer, EventCodec<?>> BY_ID = new HashMap<>();
+
+    static {
+        for (EventCodec<?> codec : CODECS) {
+            BY_TYPE.put(codec.type(), codec);
+            BY_ID.put(codec.typeId(), codec);
+        }
+    }
+
+    private EventCodecs() {
+    }
+
+    public static byte[] encode(Object event) {
+        EventCodec<Object> codec = codecFor(event.getClass());
+        BinaryWriter out = new BinaryWriter(64);
+        out.writeByte(MAGIC);
+        out.writeVarInt(codec.typeId());
+        out.writeVarInt(codec.version());
+        codec.write(event, out);
+        return out.toByteArray();
+    }
+
+    // 봉투로 시작하는지만 본다 (봉투 이전의 JSON 레코드는 '{' 로 시작)
+    public static boolean isEncoded(byte[] bytes) {
+        return bytes.length > 0 && bytes[0] == MAGIC;
+    }
+
+    public static Object decode(byte[] bytes) {
+        BinaryReader in = new BinaryReader(bytes);
+        if (in.readByte() != MAGIC) {
+            throw new IllegalArgumentException("Not an encoded event");
+        }
+        int typeId = in.readVarInt();
+        EventCodec<?> codec = BY_ID.get(typeId);
+        if (codec == null) {
+            throw new IllegalArgumentException("Unknown event type " + typeId);
+        }
+        return codec.read(in, in.readVarInt());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static EventCodec<Object> codecFor(Class<?> type) {
+        EventCodec<?> codec = BY_TYPE.get(type);
+        if (codec == null) {
+            throw new IllegalArgumentException("No codec for " + type.getName());
+        }
+        return (EventCodec<Object>) codec;
+    }
+
+    // v1: eventType/targetType 을 문자열로, 선택 필드를 nullable 로 기록
+    // v2: 열거형은 code varint 로, 항상 존재하는 postId 는 fixed64 로 기록
+    static final class PostEventCodec implements EventCodec<PostEvent> {
+        @Override public int typeId() { return 1; }
+        @Override public int version() { return 2; }
+        @Override public Class<PostEvent> type() { return PostEvent.class; }
+
+        @Override
+        public void write(PostEvent event, BinaryWriter out) {
+            out.writeFixed64(event.eventId());
+            out.writeVarInt(event.eventType().code());
+            out.writeFixed64(event.postId());
+            out.writeFixed64(event.authorId());
+            out.writeString(event.stockIsin());
+            out.writeString(event.content());
+        }
+
+        @Override
+        public PostEvent read(BinaryReader in, int version) {
+            long eventId = in.readFixed64();
+            ChangeType eventType = version < 2 ? ChangeType.valueOf(in.readString()) : ChangeType.fromCode(in.readVarInt());
+            return new PostEvent(eventId, eventType, in.readFixed64(), in.readFixed64(), in.readString(), in.readString());
+        }
+    }
+
+    static final class CommentEventCodec implements EventCodec<CommentEvent> {
+        @Override public int typeId() { return 2; }
+        @Override public int version() { return 2; }
+        @Override public Class<CommentEvent> type() { return CommentEvent.class; }
+
+        @Override
+        public void write(CommentEvent event, BinaryWriter out) {
+            out.writeFixed64(event.eventId());
+            out.writeVarInt(event.eventType().code());
+            out.writeFixed64(event.commentId());
+            out.writeFixed64(event.postId());
+            out.writeFixed64(event.authorId());
+            out.writeString(event.content());
+        }
+
+        @Override
+        public CommentEvent read(BinaryReader in, int version) {
+            long eventId = in.readFixed64();
+            if (version < 2) {
+                ChangeType eventType = ChangeType.valueOf(in.readString());
+                long commentId = in.readFixed64();
+                Long postId = in.readNullableFixed64();
+                return new CommentEvent(eventId, eventType, commentId, postId == null ? 0 : postId,
+                        in.readFixed64(), in.readString());
+            }
+            return new CommentEvent(eventId, ChangeType.fromCode(in.readVarInt()), in.readFixed64(), in.readFixed64(),
+                    in.readFixed64(), in.readString());
+        }
+    }
+
+    static final class LikeEventCodec implements EventCodec<LikeEvent> {
+        @Override public int typeId() { return 3; }
+        @Override public int version() { return 2; }
+        @Override public Class<LikeEvent> type() { return LikeEvent.class; }
+
+        @Override
+        public void write(LikeEvent event, BinaryWriter out) {
+            out.writeFixed64(event.eventId());
+            out.writeVarInt(event.eventType().code());
+            out.writeFixed64(event.userId());
+            out.writeFixed64(event.targetId());
+            out.writeVarInt(event.targetType().code());
+            out.writeFixed64(event.postId());
+        }
+
+        @Override
+        public LikeEvent read(BinaryReader in, int version) {
+            long eventId = in.readFixed64();
+            if (version < 2) {
+                ChangeType eventType = ChangeType.valueOf(in.readString());
+                long userId = in.readFixed64();
+                long targetId = in.readFixed64();
+                LikeEvent.TargetType targetType = LikeEvent.TargetType.valueOf(in.readString());
+                Long postId = in.readNullableFixed64();
+                // v1 발행자는 postId 를 채우지 않았으므로 게시글 좋아요만 복원 가능
+                long resolvedPostId = postId != null ? postId : targetType == LikeEvent.TargetType.POST ? targetId : 0;
+                return new LikeEvent(eventId, eventType, userId, targetId, targetType, resolvedPostId);
+            }
+            return new LikeEvent(eventId, ChangeType.fromCode(in.readVarInt()), in.readFixed64(), in.readFixed64(),
+                    LikeEvent.TargetType.fromCode(in.readVarInt()), in.readFixed64());
+        }
+    }
+
+    static final class WatchlistEventCodec implements EventCodec<WatchlistEvent> {
+        @Override public int typeId() { return 4; }
+        @Override public int version() { return 2; }
+        @Override public Class<WatchlistEvent> type() { return WatchlistEvent.class; }
+
+        @Override
+        public void write(WatchlistEvent event, BinaryWriter out) {
+            out.writeFixed64(event.eventId());
+            out.writeVarInt(event.eventType().code());
+            out.writeString(event.userName());
+            out.writeString(event.stockIsin());
+        }
+
+        @Override
+        public WatchlistEvent read(BinaryReader in, int version) {
+            long eventId = in.readFixed64();
+            WatchlistEvent.Action action = version < 2
+                    ? WatchlistEvent.Action.valueOf(in.readString()) : WatchlistEvent.Action.fromCode(in.readVarInt());
+            return new WatchlistEvent(eventId, action, in.readString(), in.readString());
+        }
+    }
+}
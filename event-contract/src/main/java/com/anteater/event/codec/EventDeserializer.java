@@ -0,0 +1,23 @@
+package com.anteater.event.codec;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+/**
+ * Kafka value deserializer. 봉투의 타입 번호로 코덱을 골라 이벤트 레코드로 디코딩한다.
+ * 봉투가 없는 레코드는 전환 전에 JSON 으로 발행된 것으로 보고 토픽에 맞는 레코드로 읽는다.
+ */
+public class EventDeserializer implements Deserializer<Object> {
+
+    @Override
+    public Object deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            return EventCodecs.isEncoded(data) ? EventCodecs.decode(data) : LegacyJsonEvents.decode(topic, data);
+        } catch (IllegalArgumentException e) {
+            throw new SerializationException("Failed to decode event on " + topic, e);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.anteater.event.codec;
+
+import org.apache.kafka.common.serialization.Serializer;
+
+/**
+ * Kafka value serializer. 이벤트 레코드를 {@link EventCodecs} 봉투로 인코딩한다.
+ */
+public class EventSerializer implements Serializer<Object> {
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        return data == null ? null : EventCodecs.encode(data);
+    }
+}
@@ -0,0 +1,71 @@
+package com.anteater.event.codec;
+
+import com.anteater.event.ChangeType;
+import com.anteater.event.CommentEvent;
+import com.anteater.event.LikeEvent;
+import com.anteater.event.PostEvent;
+import com.anteater.event.Topics;
+import com.anteater.event.WatchlistEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+
+/**
+ * 바이너리 봉투 이전에 JSON 으로 발행된 이벤트를 토픽(재시도 토픽 포함)에 맞는 레코드로 읽는다.
+ *
+ * 전환 전에 토픽과 outbox 에 남아 있던 레코드를 처리하기 위한 것으로, 새로 발행하는 이벤트는 모두 봉투를 쓴다.
+ * eventId 가 없던 이벤트는 0 으로 채운다 (컨슈머는 0 을 ID 없음으로 보고 중복 제거하지 않는다).
+ */
+final class LegacyJsonEvents {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private LegacyJsonEvents() {
+    }
+
+    static Object decode(String topic, byte[] json) {
+        JsonNode node;
+        try {
+            node = MAPPER.readTree(json);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Not a JSON event", e);
+        }
+        if (node == null || !node.isObject()) {
+            throw new IllegalArgumentException("Not a JSON event");
+        }
+
+        if (topic.startsWith(Topics.POST_EVENTS)) {
+            return new PostEvent(longOf(node, "eventId"), ChangeType.valueOf(text(node, "eventType")),
+                    longOf(node, "postId"), longOf(node, "authorId"), text(node, "stockIsin"), text(node, "content"));
+        }
+        if (topic.startsWith(Topics.COMMENT_EVENTS)) {
+            return new CommentEvent(longOf(node, "eventId"), ChangeType.valueOf(text(node, "eventType")),
+                    longOf(node, "commentId"), longOf(node, "postId"), longOf(node, "authorId"), text(node, "content"));
+        }
+        if (topic.startsWith(Topics.LIKE_EVENTS)) {
+            long targetId = longOf(node, "targetId");
+            LikeEvent.TargetType targetType = LikeEvent.TargetType.valueOf(text(node, "targetType"));
+            // JSON 발행자는 postId 를 채우지 않았으므로 게시글 좋아요만 복원 가능 (v1 코덱과 같음)
+            long postId = node.hasNonNull("postId") ? node.get("postId").asLong()
+                    : targetType == LikeEvent.TargetType.POST ? targetId : 0;
+            return new LikeEvent(longOf(node, "eventId"), ChangeType.valueOf(text(node, "eventType")),
+                    longOf(node, "userId"), targetId, targetType, postId);
+        }
+        if (topic.startsWith(Topics.WATCHLIST_EVENTS)) {
+            return new WatchlistEvent(longOf(node, "eventId"), WatchlistEvent.Action.valueOf(text(node, "eventType")),
+                    text(node, "userName"), text(node, "stockIsin"));
+        }
+        throw new IllegalArgumentException("No JSON mapping for topic " + topic);
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private static long longOf(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? 0 : value.asLong();
+    }
+}
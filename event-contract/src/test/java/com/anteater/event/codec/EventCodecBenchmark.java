@@ -0,0 +1,90 @@
+package com.anteater.event.codec;
+
+import com.anteater.event.ChangeType;
+import com.anteater.event.CommentEvent;
+import com.anteater.event.LikeEvent;
+import com.anteater.event.PostEvent;
+import com.anteater.event.WatchlistEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * 바이너리 코덱과 기존 JSON 경로(Jackson)의 인코딩 크기, 인코딩+디코딩 처리량 비교.
+ * JIT 워밍업 후 같은 이벤트 묶음을 반복 처리한다. 실행: gradle benchmark
+ */
+public class EventCodecBenchmark {
+
+    private static final int EVENTS = 10_000;
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int MEASURED_ROUNDS = 50;
+
+    public static void main(String[] args) throws Exception {
+        List<Object> events = sampleEvents();
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        long binaryBytes = 0;
+        long jsonBytes = 0;
+        for (Object event : events) {
+            binaryBytes += EventCodecs.encode(event).length;
+            jsonBytes += objectMapper.writeValueAsBytes(event).length;
+        }
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            binaryRound(events);
+            jsonRound(events, objectMapper);
+        }
+        long binaryNanos = 0;
+        long jsonNanos = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long start = System.nanoTime();
+            binaryRound(events);
+            binaryNanos += System.nanoTime() - start;
+            start = System.nanoTime();
+            jsonRound(events, objectMapper);
+            jsonNanos += System.nanoTime() - start;
+        }
+
+        double processed = (double) EVENTS * MEASURED_ROUNDS;
+        System.out.printf("%-8s %14s %18s%n", "codec", "avg bytes", "ns/event (enc+dec)");
+        System.out.printf("%-8s %14.1f %18.1f%n", "binary", (double) binaryBytes / EVENTS, binaryNanos / processed);
+        System.out.printf("%-8s %14.1f %18.1f%n", "json", (double) jsonBytes / EVENTS, jsonNanos / processed);
+    }
+
+    private static long binaryRound(List<Object> events) {
+        long checksum = 0;
+        for (Object event : events) {
+            checksum += EventCodecs.decode(EventCodecs.encode(event)).hashCode();
+        }
+        return checksum;
+    }
+
+    private static long jsonRound(List<Object> events, ObjectMapper objectMapper) throws Exception {
+        long checksum = 0;
+        for (Object event : events) {
+            checksum += objectMapper.readValue(objectMapper.writeValueAsBytes(event), event.getClass()).hashCode();
+        }
+        return checksum;
+    }
+
+    // 토픽별 실제 비율과 비슷하게 좋아요 위주로 섞는다
+    private static List<Object> sampleEvents() {
+        Random random = new Random(42);
+        List<Object> events = new ArrayList<>(EVENTS);
+        long id = 591234567890000000L;
+        for (int i = 0; i < EVENTS; i++) {
+            long userId = 590000000000000000L + random.nextInt(1_000_000);
+            long postId = 591000000000000000L + random.nextInt(1_000_000);
+            switch (i % 10) {
+                case 0 -> events.add(new PostEvent(++id, ChangeType.CREATED, postId, userId, "KR7005930003",
+                        "실적 발표 이후 외국인 순매수가 이어지고 있습니다 #" + i));
+                case 1, 2 -> events.add(new CommentEvent(++id, ChangeType.CREATED, ++id, postId, userId, "동의합니다 " + i));
+                case 3 -> events.add(new WatchlistEvent(++id, WatchlistEvent.Action.ADDED, "user" + userId, "KR7000660001"));
+                default -> events.add(new LikeEvent(++id, ChangeType.CREATED, userId, postId, LikeEvent.TargetType.POST, postId));
+            }
+        }
+        return events;
+    }
+}
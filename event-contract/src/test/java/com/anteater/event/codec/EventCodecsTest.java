@@ -0,0 +1,64 @@
+package com.anteater.event.codec;
+
+import com.anteater.event.CommentEvent;
+import com.anteater.event.LikeEvent;
+import com.anteater.event.PostEvent;
+import com.anteater.event.WatchlistEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static com.anteater.event.ChangeType.CREATED;
+import static com.anteater.event.ChangeType.DELETED;
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventCodecsTest {
+
+    @Test
+    void roundTripsEveryEventType() {
+        Object[] events = {
+                new PostEvent(591234567890123456L, CREATED, 591234567890000001L, 42L, "KR7005930003", "삼성전자 실적 발표"),
+                new PostEvent(591234567890123457L, DELETED, 591234567890000001L, 42L, null, null),
+                new CommentEvent(591234567890123458L, CREATED, 7L, 591234567890000001L, 43L, "동의합니다"),
+                new CommentEvent(591234567890123459L, DELETED, 7L, 591234567890000001L, 43L, null),
+                new LikeEvent(591234567890123460L, CREATED, 44L, 7L, LikeEvent.TargetType.COMMENT, 591234567890000001L),
+                new WatchlistEvent(591234567890123461L, WatchlistEvent.Action.ADDED, "alice", "KR7005930003")
+        };
+        for (Object event : events) {
+            assertEquals(event, EventCodecs.decode(EventCodecs.encode(event)));
+        }
+    }
+
+    @Test
+    void ignoresFieldsAppendedByNewerVersion() {
+        byte[] encoded = EventCodecs.encode(new WatchlistEvent(1L, WatchlistEvent.Action.ADDED, "alice", "KR7005930003"));
+        byte[] withTrailingField = Arrays.copyOf(encoded, encoded.length + 3);
+
+        assertEquals(new WatchlistEvent(1L, WatchlistEvent.Action.ADDED, "alice", "KR7005930003"), EventCodecs.decode(withTrailingField));
+    }
+
+    @Test
+    void readsVersionOneEvents() {
+        BinaryWriter out = new BinaryWriter(64);
+        out.writeByte(0xAE);
+        out.writeVarInt(3);
+        out.writeVarInt(1);
+        out.writeFixed64(1L);
+        out.writeString("DELETED");
+        out.writeFixed64(2L);
+        out.writeFixed64(3L);
+        out.writeString("POST");
+        out.writeNullableFixed64(null);
+
+        assertEquals(new LikeEvent(1L, DELETED, 2L, 3L, LikeEvent.TargetType.POST, 3L),
+                EventCodecs.decode(out.toByteArray()));
+    }
+
+    @Test
+    void rejectsTruncatedOrForeignPayloads() {
+        byte[] encoded = EventCodecs.encode(new LikeEvent(1L, CREATED, 2L, 3L, LikeEvent.TargetType.POST, 3L));
+
+        assertThrows(IllegalArgumentException.class, () -> EventCodecs.decode(Arrays.copyOf(encoded, encoded.length - 4)));
+        assertThrows(IllegalArgumentException.class, () -> EventCodecs.decode("{\"eventId\":1}".getBytes()));
+    }
+}
@@ -0,0 +1,54 @@
+package com.anteater.event.codec;
+
+import com.anteater.event.CommentEvent;
+import com.anteater.event.LikeEvent;
+import com.anteater.event.PostEvent;
+import com.anteater.event.Topics;
+import com.anteater.event.WatchlistEvent;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static com.anteater.event.ChangeType.CREATED;
+import static com.anteater.event.ChangeType.DELETED;
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventDeserializerTest {
+
+    private final EventDeserializer deserializer = new EventDeserializer();
+
+    @Test
+    void decodesEnvelopedEvents() {
+        LikeEvent event = new LikeEvent(1L, CREATED, 2L, 3L, LikeEvent.TargetType.POST, 3L);
+
+        assertEquals(event, deserializer.deserialize(Topics.LIKE_EVENTS, EventCodecs.encode(event)));
+    }
+
+    @Test
+    void readsJsonPublishedBeforeTheEnvelope() {
+        assertEquals(new PostEvent(11L, CREATED, 5L, 42L, "KR7005930003", "실적 발표"),
+                deserializer.deserialize(Topics.POST_EVENTS, json("{\"eventId\":11,\"eventType\":\"CREATED\","
+                        + "\"postId\":5,\"authorId\":42,\"stockIsin\":\"KR7005930003\",\"content\":\"실적 발표\"}")));
+        assertEquals(new CommentEvent(12L, DELETED, 7L, 0L, 43L, null),
+                deserializer.deserialize(Topics.COMMENT_EVENTS, json("{\"eventId\":12,\"eventType\":\"DELETED\","
+                        + "\"commentId\":7,\"postId\":null,\"authorId\":43,\"content\":null}")));
+        assertEquals(new LikeEvent(13L, CREATED, 44L, 5L, LikeEvent.TargetType.POST, 5L),
+                deserializer.deserialize(Topics.LIKE_EVENTS, json("{\"eventId\":13,\"eventType\":\"CREATED\","
+                        + "\"userId\":44,\"targetId\":5,\"targetType\":\"POST\"}")));
+        // 재시도 토픽에 남은 레코드, eventId 가 없던 관심 종목 이벤트
+        assertEquals(new WatchlistEvent(0L, WatchlistEvent.Action.REMOVED, "alice", "KR7005930003"),
+                deserializer.deserialize(Topics.WATCHLIST_EVENTS + "-retry-1", json("{\"eventType\":\"REMOVED\","
+                        + "\"userName\":\"alice\",\"stockIsin\":\"KR7005930003\"}")));
+    }
+
+    @Test
+    void rejectsPayloadsThatAreNeitherEnvelopeNorJson() {
+        assertThrows(SerializationException.class, () -> deserializer.deserialize(Topics.POST_EVENTS, json("not json")));
+        assertThrows(SerializationException.class, () -> deserializer.deserialize("unknown-events", json("{}")));
+    }
+
+    private static byte[] json(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -9,6 +9,8 @@ import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 
@@ -19,6 +21,8 @@ public interface MemberRepository extends JpaRepository<Member, Long> {
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
 
+    List<Member> findAllByUsernameIn(Collection<String> usernames);
+
 
 
     @Query("SELECT m FROM Member m WHERE m.email = :identifier OR m.username = :identifier")
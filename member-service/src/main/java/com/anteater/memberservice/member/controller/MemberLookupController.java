@@ -0,0 +1,54 @@
+package com.anteater.memberservice.member.controller;
+
+import com.anteater.memberservice.member.dto.request.DisplayNameLookupRequest;
+import com.anteater.memberservice.member.dto.response.DisplayNameLookupResponse;
+import com.anteater.memberservice.member.service.MemberLookupService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * 서비스 간 내부 API (게이트웨이에 라우팅하지 않음). 뉴스피드 조회 시 작성자/사용자 표시 이름을 한 번에 조회한다
+ */
+@RestController
+@RequestMapping("/internal/members")
+public class MemberLookupController {
+
+    private static final int MAX_KEYS = 1000;
+
+    private final MemberLookupService memberLookupService;
+
+    public MemberLookupController(MemberLookupService memberLookupService) {
+        this.memberLookupService = memberLookupService;
+    }
+
+    @PostMapping("/display-names")
+    public ResponseEntity<?> lookupDisplayNames(@RequestBody DisplayNameLookupRequest request) {
+        int keys = (request.ids() == null ? 0 : request.ids().size())
+                + (request.usernames() == null ? 0 : request.usernames().size());
+        if (keys > MAX_KEYS) {
+            return ResponseEntity.badRequest().body("Too many keys: " + keys);
+        }
+        DisplayNameLookupResponse response = memberLookupService.lookupDisplayNames(request);
+        return ResponseEntity.ok(response);
+    }
+
+    // 회원 ID -> username (다른 서비스가 ID 로 받은 작성자를 username 기준 데이터와 비교할 때)
+    @PostMapping("/usernames")
+    public ResponseEntity<?> lookupUsernames(@RequestBody List<Long> ids) {
+        if (ids.size() > MAX_KEYS) {
+            return ResponseEntity.badRequest().body("Too many keys: " + ids.size());
+        }
+        return ResponseEntity.ok(memberLookupService.lookupUsernames(ids));
+    }
+
+    // username -> 회원 ID (username 으로 식별된 사용자를 ID 기준 데이터와 비교할 때)
+    @PostMapping("/ids")
+    public ResponseEntity<?> lookupIds(@RequestBody List<String> usernames) {
+        if (usernames.size() > MAX_KEYS) {
+            return ResponseEntity.badRequest().body("Too many keys: " + usernames.size());
+        }
+        return ResponseEntity.ok(memberLookupService.lookupIds(usernames));
+    }
+}
@@ -0,0 +1,7 @@
+package com.anteater.memberservice.member.dto.request;
+
+import java.util.List;
+
+// 회원 ID 또는 username 목록 (둘 중 하나는 비어 있어도 됨)
+public record DisplayNameLookupRequest(List<Long> ids, List<String> usernames) {
+}
@@ -0,0 +1,7 @@
+package com.anteater.memberservice.member.dto.response;
+
+import java.util.Map;
+
+// 찾은 회원만 포함 (없는 ID/username 은 빠진다)
+public record DisplayNameLookupResponse(Map<Long, String> byId, Map<String, String> byUsername) {
+}
@@ -0,0 +1,64 @@
+package com.anteater.memberservice.member.service;
+
+import com.anteater.memberservice.common.entity.Member;
+import com.anteater.memberservice.common.repository.MemberRepository;
+import com.anteater.memberservice.member.dto.request.DisplayNameLookupRequest;
+import com.anteater.memberservice.member.dto.response.DisplayNameLookupResponse;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 다른 서비스가 회원 표시 이름을 bulk 로 조회할 때 사용 (회원마다 요청하지 않도록 IN 조회 한 번씩)
+ */
+@Service
+@Transactional(readOnly = true)
+public class MemberLookupService {
+
+    private final MemberRepository memberRepository;
+
+    public MemberLookupService(MemberRepository memberRepository) {
+        this.memberRepository = memberRepository;
+    }
+
+    public DisplayNameLookupResponse lookupDisplayNames(DisplayNameLookupRequest request) {
+        Map<Long, String> byId = new HashMap<>();
+        if (request.ids() != null && !request.ids().isEmpty()) {
+            for (Member member : memberRepository.findAllById(request.ids())) {
+                byId.put(member.getId(), member.getDisplayName());
+            }
+        }
+        Map<String, String> byUsername = new HashMap<>();
+        if (request.usernames() != null && !request.usernames().isEmpty()) {
+            for (Member member : memberRepository.findAllByUsernameIn(request.usernames())) {
+                byUsername.put(member.getUsername(), member.getDisplayName());
+            }
+        }
+        return new DisplayNameLookupResponse(byId, byUsername);
+    }
+
+    // 찾은 회원만 포함
+    public Map<Long, String> lookupUsernames(Collection<Long> ids) {
+        Map<Long, String> usernames = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (Member member : memberRepository.findAllById(ids)) {
+                usernames.put(member.getId(), member.getUsername());
+            }
+        }
+        return usernames;
+    }
+
+    // 찾은 회원만 포함
+    public Map<String, Long> lookupIds(Collection<String> usernames) {
+        Map<String, Long> ids = new HashMap<>();
+        if (!usernames.isEmpty()) {
+            for (Member member : memberRepository.findAllByUsernameIn(usernames)) {
+                ids.put(member.getUsername(), member.getId());
+            }
+        }
+        return ids;
+    }
+}
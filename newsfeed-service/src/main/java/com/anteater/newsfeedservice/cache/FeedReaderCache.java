@@ -0,0 +1,91 @@
+package com.anteater.newsfeedservice.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 피드를 읽을 때마다 필요한 사용자 정보 캐시. hot 종목 병합 경로가 조회마다 MySQL/member-service 를 부르지 않게 한다.
+ *
+ * <pre>
+ * feed:reader:{user}:stocks   STRING  구독 종목 ISIN (쉼표 구분, 없으면 빈 문자열). 관심 종목 이벤트가 커밋되면 지운다
+ * feed:reader:{user}:member   STRING  회원 ID (바뀌지 않으므로 TTL 만 둔다)
+ * </pre>
+ *
+ * Redis 를 쓸 수 없으면 empty 를 반환하고 호출자가 원래 경로로 조회한다.
+ */
+@Slf4j
+@Component
+public class FeedReaderCache {
+
+    private static final String KEY_PREFIX = "feed:reader:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration stocksTtl;
+    private final Duration memberTtl;
+
+    public FeedReaderCache(StringRedisTemplate redisTemplate,
+                           @Value("${newsfeed.reader-cache.stocks-ttl:10m}") Duration stocksTtl,
+                           @Value("${newsfeed.reader-cache.member-ttl:1d}") Duration memberTtl) {
+        this.redisTemplate = redisTemplate;
+        this.stocksTtl = stocksTtl;
+        this.memberTtl = memberTtl;
+    }
+
+    public Optional<List<String>> getWatchedStocks(String userName) {
+        return get(stocksKey(userName)).map(value -> value.isEmpty() ? List.of() : Arrays.asList(value.split(",")));
+    }
+
+    public void putWatchedStocks(String userName, List<String> stockIsins) {
+        put(stocksKey(userName), String.join(",", stockIsins), stocksTtl);
+    }
+
+    public void evictWatchedStocks(Collection<String> userNames) {
+        try {
+            redisTemplate.delete(userNames.stream().map(FeedReaderCache::stocksKey).toList());
+        } catch (RuntimeException e) {
+            // 지우지 못한 목록은 TTL 이 지나면 다시 읽는다
+            log.warn("Failed to evict watched stocks of {} users", userNames.size(), e);
+        }
+    }
+
+    public Optional<Long> getMemberId(String userName) {
+        return get(memberKey(userName)).map(Long::valueOf);
+    }
+
+    public void putMemberId(String userName, Long memberId) {
+        put(memberKey(userName), memberId.toString(), memberTtl);
+    }
+
+    private Optional<String> get(String key) {
+        try {
+            return Optional.ofNullable(redisTemplate.opsForValue().get(key));
+        } catch (RuntimeException e) {
+            log.warn("Failed to read feed reader cache {}", key, e);
+            return Optional.empty();
+        }
+    }
+
+    private void put(String key, String value, Duration ttl) {
+        try {
+            redisTemplate.opsForValue().set(key, value, ttl);
+        } catch (RuntimeException e) {
+            log.warn("Failed to write feed reader cache {}", key, e);
+        }
+    }
+
+    private static String stocksKey(String userName) {
+        return KEY_PREFIX + userName + ":stocks";
+    }
+
+    private static String memberKey(String userName) {
+        return KEY_PREFIX + userName + ":member";
+    }
+}
@@ -0,0 +1,372 @@
+package com.anteater.newsfeedservice.cache;
+
+import com.anteater.newsfeedservice.entity.NewsfeedItem;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 사용자별 타임라인 write-through 캐시.
+ *
+ * <pre>
+ * timeline:v2:{user}        ZSET  member = item id(19자리 0 채움), score = -createdAt(epoch µs), 최신 N개만 유지
+ * timeline:v2:{user}:items  HASH  field = member, value = item JSON
+ * timeline:v2:{user}:total  STRING 전체 피드 개수 (Page 응답용)
+ * </pre>
+ *
+ * MySQL 의 (createdAt DESC, id ASC) 순서와 같도록, score 를 음수로 두고 오름차순으로 읽는다. 같은 score 는 member 의
+ * 사전순(= 0 채운 id 오름차순)으로 정렬되므로 캐시에서 MySQL 로 넘어가는 커서도 항목을 건너뛰거나 반복하지 않는다.
+ *
+ * 캐시가 없는(cold) 사용자는 쓰기 시 건너뛰고, 첫 조회에서 MySQL 로부터 채운다.
+ */
+@Slf4j
+@Component
+public class TimelineCache {
+
+    // 캐시가 존재할 때만 추가하고, 최대 크기를 넘은 오래된 항목은 ZSET/HASH 에서 함께 제거
+    private static final String APPEND_SCRIPT = """
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+                return 0
+            end
+            local maxSize = tonumber(ARGV[1])
+            local ttl = tonumber(ARGV[2])
+            -- 빈 타임라인 자리표시자는 첫 항목이 들어오면 지운다
+            redis.call('ZREM', KEYS[1], '')
+            local added = 0
+            for i = 3, #ARGV, 3 do
+                added = added + redis.call('ZADD', KEYS[1], ARGV[i], ARGV[i + 1])
+                redis.call('HSET', KEYS[2], ARGV[i + 1], ARGV[i + 2])
+            end
+            redis.call('INCRBY', KEYS[3], added)
+            local overflow = redis.call('ZCARD', KEYS[1]) - maxSize
+            if overflow > 0 then
+                local removed = redis.call('ZRANGE', KEYS[1], -overflow, -1)
+                redis.call('ZREMRANGEBYRANK', KEYS[1], -overflow, -1)
+                redis.call('HDEL', KEYS[2], unpack(removed))
+            end
+            redis.call('EXPIRE', KEYS[1], ttl)
+            redis.call('EXPIRE', KEYS[2], ttl)
+            redis.call('EXPIRE', KEYS[3], ttl)
+            return added
+            """;
+
+    // 지우지 않고 합친다: 조회한 뒤에 appendAll 로 들어온 항목과 본문이 더 최신이므로 덮어쓰지 않고(NX),
+    // 전체 개수도 이미 있으면 그 값을 유지한다. 항목이 없을 때만 빈 타임라인 자리표시자를 둔다
+    private static final String WARM_SCRIPT = """
+            local maxSize = tonumber(ARGV[1])
+            local ttl = tonumber(ARGV[2])
+            local count = 0
+            for i = 4, #ARGV, 3 do
+                redis.call('ZADD', KEYS[1], 'NX', ARGV[i], ARGV[i + 1])
+                redis.call('HSETNX', KEYS[2], ARGV[i + 1], ARGV[i + 2])
+                count = count + 1
+            end
+            if count > 0 then
+                redis.call('ZREM', KEYS[1], '')
+            elseif redis.call('ZCARD', KEYS[1]) == 0 then
+                redis.call('ZADD', KEYS[1], 1, '')
+            end
+            redis.call('SET', KEYS[3], ARGV[3], 'NX')
+            local overflow = redis.call('ZCARD', KEYS[1]) - maxSize
+            if overflow > 0 then
+                local removed = redis.call('ZRANGE', KEYS[1], -overflow, -1)
+                redis.call('ZREMRANGEBYRANK', KEYS[1], -overflow, -1)
+                redis.call('HDEL', KEYS[2], unpack(removed))
+            end
+            redis.call('EXPIRE', KEYS[1], ttl)
+            redis.call('EXPIRE', KEYS[2], ttl)
+            redis.call('EXPIRE', KEYS[3], ttl)
+            return count
+            """;
+
+    // 캐시에 있던 항목만 ZSET/HASH 에서 지우고 그만큼 전체 개수를 줄인다
+    private static final String REMOVE_SCRIPT = """
+            if redis.call('EXISTS', KEYS[1]) == 0 then
+                return 0
+            end
+            local removed = redis.call('ZREM', KEYS[1], unpack(ARGV))
+            redis.call('HDEL', KEYS[2], unpack(ARGV))
+            redis.call('DECRBY', KEYS[3], removed)
+            return removed
+            """;
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final int maxSize;
+    private final Duration ttl;
+
+    public TimelineCache(StringRedisTemplate redisTemplate,
+                         ObjectMapper objectMapper,
+                         @Value("${newsfeed.timeline.max-size:500}") int maxSize,
+                         @Value("${newsfeed.timeline.ttl:72h}") Duration ttl) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.maxSize = maxSize;
+        this.ttl = ttl;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    // 사용자별로 스크립트 한 번씩, 전체를 하나의 파이프라인으로 전송
+    public void appendAll(List<NewsfeedItem> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        Map<String, List<NewsfeedItem>> byUser = new LinkedHashMap<>();
+        for (NewsfeedItem item : items) {
+            byUser.computeIfAbsent(item.getUserName(), key -> new ArrayList<>()).add(item);
+        }
+        byte[] script = APPEND_SCRIPT.getBytes(StandardCharsets.UTF_8);
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                byUser.forEach((userName, userItems) -> {
+                    byte[][] keysAndArgs = keysAndArgs(userName, userItems);
+                    connection.scriptingCommands().eval(script, ReturnType.INTEGER, 3, keysAndArgs);
+                });
+                return null;
+            });
+        } catch (RuntimeException e) {
+            // 캐시 갱신 실패는 TTL 만료 후 MySQL 에서 다시 채워지므로 소비를 실패시키지 않는다
+            log.warn("Failed to append {} items to timeline cache", items.size(), e);
+        }
+    }
+
+    // 사용자별로 스크립트 한 번씩 파이프라인으로 전송 (캐시가 없는 사용자는 스크립트가 건너뜀)
+    public void removeAll(List<NewsfeedItem> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        Map<String, List<NewsfeedItem>> byUser = new LinkedHashMap<>();
+        for (NewsfeedItem item : items) {
+            byUser.computeIfAbsent(item.getUserName(), key -> new ArrayList<>()).add(item);
+        }
+        byte[] script = REMOVE_SCRIPT.getBytes(StandardCharsets.UTF_8);
+        try {
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                byUser.forEach((userName, userItems) -> {
+                    byte[][] keysAndArgs = new byte[3 + userItems.size()][];
+                    keysAndArgs[0] = bytes(timelineKey(userName));
+                    keysAndArgs[1] = bytes(itemsKey(userName));
+                    keysAndArgs[2] = bytes(totalKey(userName));
+                    for (int i = 0; i < userItems.size(); i++) {
+                        keysAndArgs[3 + i] = bytes(member(userItems.get(i).getId()));
+                    }
+                    connection.scriptingCommands().eval(script, ReturnType.INTEGER, 3, keysAndArgs);
+                });
+                return null;
+            });
+        } catch (RuntimeException e) {
+            log.warn("Failed to remove {} items from timeline cache", items.size(), e);
+        }
+    }
+
+    // 최신 N개와 전체 개수로 캐시를 채운다 (cold miss 시 호출). 이미 있는 캐시와는 합친다
+    public void warm(String userName, List<NewsfeedItem> newestItems, long total) {
+        byte[] script = WARM_SCRIPT.getBytes(StandardCharsets.UTF_8);
+        byte[][] keysAndArgs = keysAndArgs(userName, newestItems, Long.toString(total));
+        try {
+            redisTemplate.execute((RedisCallback<Object>) connection ->
+                    connection.scriptingCommands().eval(script, ReturnType.INTEGER, 3, keysAndArgs));
+        } catch (RuntimeException e) {
+            log.warn("Failed to warm timeline cache for {}", userName, e);
+        }
+    }
+
+    /**
+     * 요청한 페이지를 캐시에서 조회한다.
+     * 캐시가 없거나, 잘려나간 구간(최신 N개 밖)을 요청하면 empty 를 반환하고 호출자가 MySQL 로 조회한다.
+     */
+    public Optional<Page<NewsfeedItem>> getPage(String userName, Pageable pageable) {
+        try {
+            if (!Boolean.TRUE.equals(redisTemplate.hasKey(timelineKey(userName)))) {
+                return Optional.empty();
+            }
+            ZSetOperations<String, String> zSet = redisTemplate.opsForZSet();
+            Long cached = zSet.count(timelineKey(userName), Double.NEGATIVE_INFINITY, 0);
+            if (cached == null) {
+                return Optional.empty();
+            }
+            String totalValue = redisTemplate.opsForValue().get(totalKey(userName));
+            long total = totalValue != null ? Long.parseLong(totalValue) : cached;
+            long start = pageable.getOffset();
+            long end = start + pageable.getPageSize() - 1;
+            if (end >= cached && total > cached) {
+                return Optional.empty();
+            }
+
+            Set<String> ids = zSet.rangeByScore(timelineKey(userName), Double.NEGATIVE_INFINITY, 0,
+                    start, pageable.getPageSize());
+            List<NewsfeedItem> items = readItems(userName, ids);
+            if (items == null) {
+                return Optional.empty();
+            }
+            return Optional.of(new PageImpl<>(items, pageable, total));
+        } catch (RuntimeException e) {
+            log.warn("Failed to read timeline cache for {}", userName, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * afterId 다음 항목부터 최대 limit 개를 캐시에서 조회한다 (afterId 가 null 이면 처음부터).
+     * 캐시가 없거나, 커서 항목이 이미 잘려나갔거나, 결과가 캐시 범위를 넘어가면 empty 를 반환한다.
+     */
+    public Optional<List<NewsfeedItem>> getSlice(String userName, Long afterId, int limit) {
+        try {
+            if (!Boolean.TRUE.equals(redisTemplate.hasKey(timelineKey(userName)))) {
+                return Optional.empty();
+            }
+            ZSetOperations<String, String> zSet = redisTemplate.opsForZSet();
+            long offset = 0;
+            if (afterId != null) {
+                Long rank = zSet.rank(timelineKey(userName), member(afterId));
+                if (rank == null) {
+                    return Optional.empty();
+                }
+                offset = rank + 1;
+            }
+            Set<String> ids = zSet.rangeByScore(timelineKey(userName), Double.NEGATIVE_INFINITY, 0,
+                    offset, limit);
+            if (ids == null) {
+                return Optional.empty();
+            }
+            if (ids.size() < limit) {
+                Long cached = zSet.count(timelineKey(userName), Double.NEGATIVE_INFINITY, 0);
+                String totalValue = redisTemplate.opsForValue().get(totalKey(userName));
+                if (cached == null || (totalValue != null && Long.parseLong(totalValue) > cached)) {
+                    return Optional.empty();
+                }
+            }
+            return Optional.ofNullable(readItems(userName, ids));
+        } catch (RuntimeException e) {
+            log.warn("Failed to read timeline cache for {}", userName, e);
+            return Optional.empty();
+        }
+    }
+
+    // HASH 에 본문이 빠진 항목이 있으면 캐시를 신뢰하지 않고 null 반환
+    private List<NewsfeedItem> readItems(String userName, Set<String> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        List<Object> bodies = redisTemplate.opsForHash().multiGet(itemsKey(userName), new ArrayList<>(ids));
+        if (bodies.stream().anyMatch(Objects::isNull)) {
+            return null;
+        }
+        List<NewsfeedItem> items = new ArrayList<>(bodies.size());
+        for (Object body : bodies) {
+            items.add(fromJson((String) body));
+        }
+        return items;
+    }
+
+    // KEYS = timeline, items, total / ARGV = maxSize, ttl, extra..., (score, id, json)...
+    private byte[][] keysAndArgs(String userName, List<NewsfeedItem> items, String... extra) {
+        byte[][] keysAndArgs = new byte[3 + 2 + extra.length + items.size() * 3][];
+        int i = 0;
+        keysAndArgs[i++] = bytes(timelineKey(userName));
+        keysAndArgs[i++] = bytes(itemsKey(userName));
+        keysAndArgs[i++] = bytes(totalKey(userName));
+        keysAndArgs[i++] = bytes(Integer.toString(maxSize));
+        keysAndArgs[i++] = bytes(Long.toString(ttl.toSeconds()));
+        for (String arg : extra) {
+            keysAndArgs[i++] = bytes(arg);
+        }
+        for (NewsfeedItem item : items) {
+            keysAndArgs[i++] = bytes(Long.toString(score(item)));
+            keysAndArgs[i++] = bytes(member(item.getId()));
+            keysAndArgs[i++] = bytes(toJson(item));
+        }
+        return keysAndArgs;
+    }
+
+    // µs 단위라 MySQL datetime(6) 과 같은 정밀도로 비교되고, double 로도 정확히 표현된다
+    private static long score(NewsfeedItem item) {
+        Instant createdAt = item.getCreatedAt().atZone(ZONE).toInstant();
+        return -(createdAt.getEpochSecond() * 1_000_000 + createdAt.getNano() / 1_000);
+    }
+
+    // 사전순이 숫자 순서와 같도록 자릿수를 맞춘다
+    private static String member(Long id) {
+        return String.format("%019d", id);
+    }
+
+    private String toJson(NewsfeedItem item) {
+        try {
+            return objectMapper.writeValueAsString(item);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize newsfeed item " + item.getId(), e);
+        }
+    }
+
+    private NewsfeedItem fromJson(String json) {
+        try {
+            return objectMapper.readValue(json, NewsfeedItem.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to deserialize cached newsfeed item", e);
+        }
+    }
+
+    // 모든 사용자의 타임라인 캐시를 지운다 (피드 테이블을 재구성해 항목 ID 가 바뀐 뒤 호출)
+    public long clear() {
+        long deleted = 0;
+        ScanOptions options = ScanOptions.scanOptions().match("timeline:*").count(1000).build();
+        List<String> batch = new ArrayList<>();
+        try (Cursor<String> keys = redisTemplate.scan(options)) {
+            while (keys.hasNext()) {
+                batch.add(keys.next());
+                if (batch.size() == 1000) {
+                    deleted += Objects.requireNonNullElse(redisTemplate.unlink(batch), 0L);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            deleted += Objects.requireNonNullElse(redisTemplate.unlink(batch), 0L);
+        }
+        return deleted;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String timelineKey(String userName) {
+        return "timeline:v2:" + userName;
+    }
+
+    private static String itemsKey(String userName) {
+        return "timeline:v2:" + userName + ":items";
+    }
+
+    private static String totalKey(String userName) {
+        return "timeline:v2:" + userName + ":total";
+    }
+}
@@ -0,0 +1,47 @@
+package com.anteater.newsfeedservice.client;
+
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.util.Collection;
+import java.util.List;
+
+// activity-service 의 내부 bulk 조회 API 호출
+@Component
+public class ActivityClient {
+
+    private final RestClient restClient;
+
+    public ActivityClient(RestClient.Builder loadBalancedRestClientBuilder) {
+        this.restClient = loadBalancedRestClientBuilder.baseUrl("http://activity-service").build();
+    }
+
+    public List<PostSummary> findPosts(Collection<Long> postIds) {
+        if (postIds.isEmpty()) {
+            return List.of();
+        }
+        return restClient.post()
+                .uri("/internal/activity/posts/lookup")
+                .body(postIds)
+                .retrieve()
+                .body(new ParameterizedTypeReference<List<PostSummary>>() {});
+    }
+
+    public List<CommentSummary> findComments(Collection<Long> commentIds) {
+        if (commentIds.isEmpty()) {
+            return List.of();
+        }
+        return restClient.post()
+                .uri("/internal/activity/comments/lookup")
+                .body(commentIds)
+                .retrieve()
+                .body(new ParameterizedTypeReference<List<CommentSummary>>() {});
+    }
+
+    public record PostSummary(Long id, Long authorId, String stockIsin, String content) {
+    }
+
+    public record CommentSummary(Long id, Long postId, Long authorId, String content) {
+    }
+}
@@ -0,0 +1,63 @@
+package com.anteater.newsfeedservice.client;
+
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+// member-service 의 내부 bulk 조회 API 호출
+@Component
+public class MemberClient {
+
+    private final RestClient restClient;
+
+    public MemberClient(RestClient.Builder loadBalancedRestClientBuilder) {
+        this.restClient = loadBalancedRestClientBuilder.baseUrl("http://member-service").build();
+    }
+
+    public DisplayNames findDisplayNames(Collection<Long> ids, Collection<String> usernames) {
+        if (ids.isEmpty() && usernames.isEmpty()) {
+            return new DisplayNames(Map.of(), Map.of());
+        }
+        return restClient.post()
+                .uri("/internal/members/display-names")
+                .body(new Lookup(List.copyOf(ids), List.copyOf(usernames)))
+                .retrieve()
+                .body(DisplayNames.class);
+    }
+
+    // 회원 ID -> username (찾은 회원만 포함)
+    public Map<Long, String> findUsernames(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return restClient.post()
+                .uri("/internal/members/usernames")
+                .body(List.copyOf(ids))
+                .retrieve()
+                .body(new ParameterizedTypeReference<Map<Long, String>>() {
+                });
+    }
+
+    // username -> 회원 ID (찾은 회원만 포함)
+    public Map<String, Long> findMemberIds(Collection<String> usernames) {
+        if (usernames.isEmpty()) {
+            return Map.of();
+        }
+        return restClient.post()
+                .uri("/internal/members/ids")
+                .body(List.copyOf(usernames))
+                .retrieve()
+                .body(new ParameterizedTypeReference<Map<String, Long>>() {
+                });
+    }
+
+    private record Lookup(List<Long> ids, List<String> usernames) {
+    }
+
+    public record DisplayNames(Map<Long, String> byId, Map<String, String> byUsername) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.anteater.newsfeedservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@EnableScheduling
+public class FanoutConfig {
+
+    // 팬아웃 청크를 병렬로 적재하는 전용 풀 (Kafka 컨슈머 스레드와 분리)
+    @Bean
+    public ThreadPoolTaskExecutor fanoutExecutor(@Value("${newsfeed.fanout.parallelism:4}") int parallelism) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setQueueCapacity(parallelism * 2);
+        executor.setThreadNamePrefix("fanout-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+}
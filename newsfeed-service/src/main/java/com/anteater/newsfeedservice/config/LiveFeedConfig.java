@@ -0,0 +1,33 @@
+package com.anteater.newsfeedservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class LiveFeedConfig {
+
+    // 실시간 피드 렌더링/전송 풀. 연결 수와 무관하게 고정 크기, 넘치는 작업은 버리고 클라이언트 재연결로 복구
+    @Bean
+    public ThreadPoolTaskExecutor liveFeedExecutor(@Value("${newsfeed.live.senders:8}") int senders,
+                                                   @Value("${newsfeed.live.sender-queue:10000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(senders);
+        executor.setMaxPoolSize(senders);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("live-feed-");
+        executor.initialize();
+        return executor;
+    }
+
+    // 노드 간 전달 버스(live-feed:{shard} 채널) 구독용. 구독할 채널은 LiveFeedBus 가 연결 상황에 따라 더하고 뺀다
+    @Bean
+    public RedisMessageListenerContainer liveFeedListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+}
@@ -0,0 +1,26 @@
+package com.anteater.newsfeedservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.LoadBalanced;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+
+@Configuration
+public class RestClientConfig {
+
+    // 서비스 이름(http://activity-service)을 Eureka 로 찾아 인스턴스 간 분산. 피드 조회 경로라 타임아웃을 짧게 둔다
+    @Bean
+    @LoadBalanced
+    public RestClient.Builder loadBalancedRestClientBuilder(
+            @Value("${newsfeed.hydration.connect-timeout:500ms}") Duration connectTimeout,
+            @Value("${newsfeed.hydration.read-timeout:2s}") Duration readTimeout) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(connectTimeout);
+        requestFactory.setReadTimeout(readTimeout);
+        return RestClient.builder().requestFactory(requestFactory);
+    }
+}
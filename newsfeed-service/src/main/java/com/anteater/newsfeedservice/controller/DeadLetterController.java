@@ -0,0 +1,31 @@
+package com.anteater.newsfeedservice.controller;
+
+import com.anteater.newsfeedservice.kafka.DeadLetterRedriver;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+// 운영용 내부 API (게이트웨이에 라우팅하지 않음)
+@RestController
+@RequestMapping("/internal/newsfeed/dlt")
+public class DeadLetterController {
+
+    private static final int MAX_REDRIVE = 10_000;
+
+    @Autowired
+    private DeadLetterRedriver deadLetterRedriver;
+
+    // 예: POST /internal/newsfeed/dlt/like-events/redrive?limit=500
+    @PostMapping("/{topic}/redrive")
+    public ResponseEntity<?> redrive(@PathVariable String topic,
+                                     @RequestParam(defaultValue = "1000") int limit) {
+        try {
+            int redriven = deadLetterRedriver.redrive(topic, Math.max(1, Math.min(limit, MAX_REDRIVE)));
+            return ResponseEntity.ok(Map.of("topic", topic, "redriven", redriven));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.anteater.newsfeedservice.controller;
+
+import com.anteater.newsfeedservice.service.FeedPartitionManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+// 운영용 내부 API (게이트웨이에 라우팅하지 않음)
+@RestController
+@RequestMapping("/internal/newsfeed/partitions")
+public class FeedPartitionController {
+
+    @Autowired
+    private FeedPartitionManager feedPartitionManager;
+
+    @GetMapping
+    public ResponseEntity<List<String>> partitions() {
+        return ResponseEntity.ok(feedPartitionManager.partitions());
+    }
+
+    // 파티션이 없는 newsfeed_items 를 월 파티션으로 변환 (테이블 전체 복사이므로 점검 시간에 실행)
+    @PostMapping("/convert")
+    public ResponseEntity<List<String>> convert() {
+        return ResponseEntity.ok(feedPartitionManager.convertNow());
+    }
+}
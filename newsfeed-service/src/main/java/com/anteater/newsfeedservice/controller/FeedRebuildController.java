@@ -0,0 +1,37 @@
+package com.anteater.newsfeedservice.controller;
+
+import com.anteater.newsfeedservice.service.FeedRebuildService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+
+// 운영용 내부 API (게이트웨이에 라우팅하지 않음)
+@RestController
+@RequestMapping("/internal/newsfeed/rebuild")
+public class FeedRebuildController {
+
+    @Autowired
+    private FeedRebuildService feedRebuildService;
+
+    // 예: POST /internal/newsfeed/rebuild?from=2024-06-01T00:00:00Z (생략하면 토픽에 남은 가장 오래된 이벤트부터)
+    @PostMapping
+    public ResponseEntity<?> start(@RequestParam(required = false) String from) {
+        try {
+            Instant replayFrom = from == null ? Instant.EPOCH : Instant.parse(from);
+            return ResponseEntity.accepted().body(feedRebuildService.start(replayFrom));
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().body("Invalid timestamp: " + from);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+    }
+
+    @GetMapping
+    public ResponseEntity<FeedRebuildService.Progress> progress() {
+        return ResponseEntity.ok(feedRebuildService.getProgress());
+    }
+}
@@ -1,12 +1,19 @@
 package com.anteater.newsfeedservice.controller;
 
+import com.anteater.common.pagination.CursorPage;
 import com.anteater.newsfeedservice.entity.NewsfeedItem;
 import com.anteater.newsfeedservice.service.NewsfeedService;
+import com.anteater.newsfeedservice.stream.LiveFeedBroker;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
 
 @RestController
 @RequestMapping("/api/newsfeed")
@@ -15,6 +22,9 @@ public class NewsfeedController {
     @Autowired
     private NewsfeedService newsfeedService;
 
+    @Autowired
+    private LiveFeedBroker liveFeedBroker;
+
     @GetMapping
     public ResponseEntity<Page<NewsfeedItem>> getNewsfeed(
             @RequestHeader("X-Auth-Username") String username,
@@ -23,6 +33,21 @@ public class NewsfeedController {
         return ResponseEntity.ok(newsfeed);
     }
 
+    // 무한 스크롤용 커서 기반 조회 (COUNT 쿼리, OFFSET 스캔 없음)
+    @GetMapping("/scroll")
+    public ResponseEntity<?> scrollNewsfeed(
+            @RequestHeader("X-Auth-Username") String username,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            CursorPage<NewsfeedItem> newsfeed =
+                    newsfeedService.getNewsfeedForUser(username, cursor, CursorPage.normalizeSize(size));
+            return ResponseEntity.ok(newsfeed);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @GetMapping("/stock/{stockIsin}")
     public ResponseEntity<Page<NewsfeedItem>> getNewsfeedByStock(
             @RequestHeader("X-Auth-Username") String username,
@@ -31,4 +56,22 @@ public class NewsfeedController {
         Page<NewsfeedItem> newsfeed = newsfeedService.getNewsfeedForUserByStock(username, stockIsin, pageable);
         return ResponseEntity.ok(newsfeed);
     }
-}
\ No newline at end of file
+
+    // 새 항목을 SSE 로 받는다. 재연결 시 Last-Event-ID 이후 항목을 먼저 재생하고, 빠진 항목이 너무 많으면 reset 이벤트
+    // 반환 타입이 ResponseEntity<SseEmitter> 여야 비동기 SSE 응답으로 처리된다 (ResponseEntity<?> 는 일반 메시지 변환으로 빠짐)
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamNewsfeed(
+            @RequestHeader("X-Auth-Username") String username,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) throws IOException {
+        try {
+            SseEmitter emitter = liveFeedBroker.open(username, lastEventId);
+            return ResponseEntity.ok()
+                    .header("X-Accel-Buffering", "no")
+                    .body(emitter);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.anteater.newsfeedservice.entity;
+
+import com.anteater.common.id.SnowflakeId;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 게시글 하나를 종목 구독자들에게 전달하는 팬아웃 작업.
+ * 청크를 처리할 때마다 lastWatcherId 를 기록하므로, 노드가 중단되어도 마지막 체크포인트부터 재개한다.
+ */
+@Entity
+@Table(name = "fanout_jobs", indexes = {
+        @Index(name = "idx_fanout_jobs_status_updated_at", columnList = "status, updatedAt")
+})
+@Getter
+@Setter
+public class FanoutJob {
+    @Id
+    @SnowflakeId
+    private Long id;
+
+    @Column(nullable = false)
+    private Long postId;
+
+    @Column(nullable = false)
+    private String stockIsin;
+
+    @Column(nullable = false)
+    private String authorName;
+
+    // 팬아웃된 모든 피드 항목의 createdAt (게시 시각)
+    @Column(nullable = false)
+    private LocalDateTime postedAt;
+
+    // 이 ID 이하의 구독자에게는 전달 완료
+    @Column(nullable = false)
+    private Long lastWatcherId = 0L;
+
+    @Column(nullable = false)
+    private long deliveredCount = 0;
+
+    // 선점 횟수. 2 이상이면 이전 실행이 남긴 청크가 이미 적재되었을 수 있다
+    @Column(nullable = false)
+    private int attempts = 0;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Status status = Status.PENDING;
+
+    // 처리 중인 노드의 heartbeat 겸 마지막 체크포인트 시각
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    public enum Status {
+        PENDING, RUNNING, DONE
+    }
+}
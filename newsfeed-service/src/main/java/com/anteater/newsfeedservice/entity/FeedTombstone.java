@@ -0,0 +1,45 @@
+package com.anteater.newsfeedservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 삭제된 게시글/댓글 표시. 삭제 이벤트마다 이 행 하나만 쓰고, 피드에 퍼져 있는 항목은 조회 시 걸러낸 뒤
+ * 백그라운드에서 나눠 지운다 (collectedAt). 늦게 도착한 생성 이벤트를 막기 위해 정리 후에도 일정 기간 보존한다.
+ */
+@Entity
+@Table(name = "feed_tombstones", indexes = {
+        @Index(name = "idx_feed_tombstones_collected_at", columnList = "collectedAt, deletedAt")
+})
+@IdClass(FeedTombstone.Key.class)
+@Getter
+@Setter
+public class FeedTombstone {
+    @Id
+    @Column(name = "target_type", length = 16)
+    private String targetType;
+
+    @Id
+    @Column(name = "target_id")
+    private Long targetId;
+
+    @Column(nullable = false)
+    private LocalDateTime deletedAt;
+
+    private LocalDateTime collectedAt;
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private String targetType;
+        private Long targetId;
+    }
+}
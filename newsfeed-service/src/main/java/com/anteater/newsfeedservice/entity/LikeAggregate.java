@@ -0,0 +1,60 @@
+package com.anteater.newsfeedservice.entity;
+
+import com.anteater.common.id.SnowflakeId;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 대상(게시글/댓글)별 좋아요 누적 상태.
+ * 좋아요마다 피드 행을 만들지 않고, 이 행을 기준으로 작성자 피드의 요약 항목(feedItemId) 하나만 갱신한다.
+ */
+@Entity
+@Table(name = "like_aggregates", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_like_aggregates_target", columnNames = {"target_type", "target_id"})
+}, indexes = {
+        @Index(name = "idx_like_aggregates_pending_since", columnList = "pending_since"),
+        // 피드 재구성이 교체 직전에 바뀐 요약 항목만 다시 옮길 때 사용
+        @Index(name = "idx_like_aggregates_updated_at", columnList = "updatedAt")
+})
+@Getter
+@Setter
+public class LikeAggregate {
+    @Id
+    @SnowflakeId
+    private Long id;
+
+    @Column(name = "target_type", nullable = false)
+    private String targetType;
+
+    @Column(name = "target_id", nullable = false)
+    private Long targetId;
+
+    // 좋아요 대상의 작성자 (요약 항목을 받을 피드). 작성 이벤트를 아직 못 봤으면 null
+    private String ownerName;
+
+    private Long postId;
+
+    @Column(nullable = false)
+    private long likeCount;
+
+    // 최근 좋아요를 누른 사용자 (최신순, 쉼표 구분)
+    private String recentActors;
+
+    private Long feedItemId;
+
+    // 컨슈머 트랜잭션에서 누적했지만 아직 요약 항목에 반영하지 않은 증감분과 최근 사용자 (flush 가 반영 후 비운다)
+    @Column(nullable = false)
+    private long pendingDelta;
+
+    private String pendingActors;
+
+    // 반영할 증감분이 처음 누적된 시각. 반영할 것이 없으면 null
+    @Column(name = "pending_since")
+    private LocalDateTime pendingSince;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
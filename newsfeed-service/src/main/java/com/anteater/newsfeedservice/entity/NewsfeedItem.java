@@ -1,5 +1,8 @@
 package com.anteater.newsfeedservice.entity;
 
+import com.anteater.common.id.SnowflakeId;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -9,33 +12,54 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "newsfeed_items", indexes = {
         @Index(name = "idx_newsfeed_username_created_at", columnList = "userName, createdAt DESC"),
-        @Index(name = "idx_newsfeed_event_type", columnList = "eventType")
+        @Index(name = "idx_newsfeed_event_type", columnList = "eventType"),
+        @Index(name = "idx_newsfeed_related_id_event_type", columnList = "related_id, eventType"),
+        @Index(name = "idx_newsfeed_parent_id_event_type", columnList = "parent_id, eventType")
 })
 @Getter
 @Setter
 public class NewsfeedItem {
+    // DB 의 PK 는 월 파티션 키를 포함한 (id, created_at) (FeedPartitionManager). id 는 Snowflake 로 단독으로도 유일
+    // Snowflake id 는 2^53 을 넘어 JavaScript 에서 반올림되므로 JSON 에는 문자열로 싣는다
+    @JsonSerialize(using = ToStringSerializer.class)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     @Column(nullable = false)
     private String userName;
 
-    @Column(nullable = false, length = 1000)
-    private String content;
-
     @Column(nullable = false)
     private String eventType;
 
     @Column(nullable = false)
     private LocalDateTime createdAt;
 
+    @JsonSerialize(using = ToStringSerializer.class)
     @Column(name = "related_id")
     private Long relatedId;
 
     @Column(name = "stock_isin")
     private String stockIsin;
 
+    @JsonSerialize(using = ToStringSerializer.class)
     @Column(name = "parent_id")
     private Long parentId;
+
+    // 피드 항목을 발생시킨 사용자 (팬아웃된 항목은 userName 이 구독자, actorName 이 작성자)
+    @Column(name = "actor_name")
+    private String actorName;
+
+    // 좋아요 요약 항목(LIKE_POST / LIKE_COMMENT)의 누적 수와 최근 사용자
+    private Long aggregateCount;
+
+    private String recentActors;
+
+    // 행에는 참조(eventType, relatedId, parentId, actorName, stockIsin)만 저장하고,
+    // 본문과 표시 이름은 조회 시점에 FeedHydrator 가 bulk 로 가져와 채운다
+    @Transient
+    private String content;
+
+    @Transient
+    private String actorDisplayName;
 }
\ No newline at end of file
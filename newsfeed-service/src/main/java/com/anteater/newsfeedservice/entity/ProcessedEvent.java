@@ -0,0 +1,36 @@
+package com.anteater.newsfeedservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+/**
+ * 이미 반영한 이벤트 ID. 피드 적재와 같은 트랜잭션에서 기록하므로 재전달된 이벤트는 정확히 한 번만 반영된다.
+ * 이벤트 ID 는 Snowflake 이므로 보존 기간이 지난 행은 ID 범위로 삭제한다.
+ */
+@Entity
+@Table(name = "processed_events")
+@IdClass(ProcessedEvent.Key.class)
+@Getter
+@Setter
+public class ProcessedEvent {
+    @Id
+    private String topic;
+
+    @Id
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private String topic;
+        private Long eventId;
+    }
+}
@@ -0,0 +1,34 @@
+package com.anteater.newsfeedservice.entity;
+
+import com.anteater.common.id.SnowflakeId;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// 구독자가 많은 종목(hot stock)의 게시글: 팬아웃하지 않고 한 번만 저장한 뒤 조회 시점에 병합
+@Entity
+@Table(name = "stock_posts", indexes = {
+        @Index(name = "idx_stock_posts_isin_created_at", columnList = "stockIsin, createdAt DESC"),
+        @Index(name = "idx_stock_posts_created_at", columnList = "createdAt")
+})
+@Getter
+@Setter
+public class StockPost {
+    @Id
+    @SnowflakeId
+    private Long id;
+
+    @Column(nullable = false)
+    private String stockIsin;
+
+    @Column(nullable = false)
+    private Long postId;
+
+    @Column(nullable = false)
+    private String authorName;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
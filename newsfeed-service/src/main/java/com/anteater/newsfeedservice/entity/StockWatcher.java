@@ -0,0 +1,32 @@
+package com.anteater.newsfeedservice.entity;
+
+import com.anteater.common.id.SnowflakeId;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// watchlist-events 로부터 만든 종목별 구독자 목록 (stock-service 의 watchlist_items 프로젝션)
+@Entity
+@Table(name = "stock_watchers", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_stock_watchers_isin_user", columnNames = {"stock_isin", "user_name"})
+}, indexes = {
+        @Index(name = "idx_stock_watchers_user_name", columnList = "user_name")
+})
+@Getter
+@Setter
+public class StockWatcher {
+    @Id
+    @SnowflakeId
+    private Long id;
+
+    @Column(name = "stock_isin", nullable = false)
+    private String stockIsin;
+
+    @Column(name = "user_name", nullable = false)
+    private String userName;
+
+    @Column(nullable = false)
+    private LocalDateTime addedAt;
+}
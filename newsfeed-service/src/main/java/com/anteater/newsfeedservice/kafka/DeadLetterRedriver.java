@@ -0,0 +1,104 @@
+package com.anteater.newsfeedservice.kafka;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DLT 에 쌓인 레코드를 원래 토픽으로 다시 보낸다 (원인을 고친 뒤 관리자가 수동으로 실행).
+ *
+ * 디코딩되지 않은 레코드도 옮길 수 있도록 값은 byte[] 그대로 읽어 그대로 보내며, 원래 토픽에 쓰인 것이
+ * 확인된 레코드까지만 전용 그룹의 오프셋을 커밋한다. 다시 보낸 레코드는 eventId 중복 제거를 거치므로
+ * 이미 반영된 이벤트가 섞여 있어도 안전하다.
+ */
+@Slf4j
+@Component
+public class DeadLetterRedriver {
+
+    private static final String REDRIVE_GROUP = "newsfeed-dlt-redrive";
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(1);
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final DefaultKafkaConsumerFactory<String, byte[]> consumerFactory;
+    private final Duration sendTimeout;
+
+    public DeadLetterRedriver(KafkaTemplate<String, Object> kafkaTemplate,
+                              @Value("${spring.kafka.bootstrap-servers}") String bootstrapServers,
+                              @Value("${newsfeed.kafka.redrive.send-timeout:30s}") Duration sendTimeout) {
+        this.kafkaTemplate = kafkaTemplate;
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, REDRIVE_GROUP);
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        this.consumerFactory = new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), new ByteArrayDeserializer());
+        this.sendTimeout = sendTimeout;
+    }
+
+    // 최대 limit 건을 다시 보내고 보낸 건수를 돌려준다
+    public synchronized int redrive(String topic, int limit) {
+        if (!RetryTopics.SOURCE_TOPICS.contains(topic)) {
+            throw new IllegalArgumentException("Unknown topic: " + topic);
+        }
+        String deadLetterTopic = RetryTopics.deadLetterTopic(topic);
+
+        try (Consumer<String, byte[]> consumer = consumerFactory.createConsumer()) {
+            // 그룹 리밸런스를 기다리지 않도록 모든 파티션을 직접 할당 (위치는 그룹의 커밋 오프셋에서 시작)
+            consumer.assign(consumer.partitionsFor(deadLetterTopic).stream()
+                    .map(info -> new TopicPartition(info.topic(), info.partition()))
+                    .toList());
+
+            Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+            List<CompletableFuture<SendResult<String, Object>>> sends = new ArrayList<>();
+            while (sends.size() < limit) {
+                List<ConsumerRecord<String, byte[]>> records = new ArrayList<>();
+                consumer.poll(POLL_TIMEOUT).forEach(records::add);
+                if (records.isEmpty()) {
+                    break;
+                }
+                for (ConsumerRecord<String, byte[]> record : records) {
+                    if (sends.size() >= limit) {
+                        break;
+                    }
+                    sends.add(kafkaTemplate.send(new ProducerRecord<>(topic, record.key(), record.value())));
+                    offsets.put(new TopicPartition(record.topic(), record.partition()),
+                            new OffsetAndMetadata(record.offset() + 1));
+                }
+            }
+            if (sends.isEmpty()) {
+                return 0;
+            }
+
+            kafkaTemplate.flush();
+            try {
+                CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new))
+                        .get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (Exception e) {
+                // 하나라도 확인되지 않으면 커밋하지 않고 다음 실행에서 처음부터 다시 보낸다
+                throw new IllegalStateException("Failed to re-drive " + deadLetterTopic, e);
+            }
+            consumer.commitSync(offsets);
+            log.info("Re-drove {} records from {} to {}", sends.size(), deadLetterTopic, topic);
+            return sends.size();
+        }
+    }
+}
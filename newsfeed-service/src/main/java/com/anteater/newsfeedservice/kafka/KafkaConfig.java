@@ -1,16 +1,37 @@
 package com.anteater.newsfeedservice.kafka;
 
+import com.anteater.event.codec.EventDeserializer;
+import com.anteater.event.codec.EventSerializer;
+import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
-import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.serializer.DelegatingByTypeSerializer;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.backoff.FixedBackOff;
 import org.apache.kafka.common.serialization.StringDeserializer;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @Configuration
@@ -19,20 +40,112 @@ public class KafkaConfig {
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
+    @Value("${newsfeed.kafka.max-poll-records:500}")
+    private int maxPollRecords;
+
+    // 토픽별 리스너 컨테이너 스레드 수 (파티션 수 이하로 의미가 있음)
+    @Value("${newsfeed.kafka.concurrency:3}")
+    private int concurrency;
+
+    // 재시도 토픽으로 넘기기 전 제자리에서 다시 시도하는 횟수와 간격(ms). 길게 잡으면 파티션이 그만큼 멈춘다
+    @Value("${newsfeed.kafka.retry.in-place-attempts:1}")
+    private long inPlaceRetries;
+
+    @Value("${newsfeed.kafka.retry.in-place-interval:200}")
+    private long inPlaceRetryInterval;
+
     @Bean
     public ConsumerFactory<String, Object> consumerFactory() {
         Map<String, Object> props = new HashMap<>();
         props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         props.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
-        props.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
+        // event-contract 의 바이너리 봉투를 타입 번호로 디코딩 (리플렉션, 클래스명 헤더 없음).
+        // 디코딩에 실패한 레코드는 poll 을 막지 않도록 null 값과 예외 헤더로 전달되고, 원본 바이트 그대로 DLT 로 보낸다
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        props.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, EventDeserializer.class);
+        // 오프셋은 배치 적재가 끝난 뒤 컨테이너가 직접 커밋
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
         return new DefaultKafkaConsumerFactory<>(props);
     }
 
+    // poll 단위로 레코드 목록을 전달받는 배치 리스너 모드
     @Bean
     public ConcurrentKafkaListenerContainerFactory<String, Object> kafkaListenerContainerFactory() {
         ConcurrentKafkaListenerContainerFactory<String, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(consumerFactory());
+        factory.setBatchListener(true);
+        factory.setConcurrency(concurrency);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        // 실패한 레코드는 짧게 한 번 더 시도한 뒤 재시도 토픽으로 넘기고, 파티션의 나머지 레코드는 계속 처리
+        factory.setCommonErrorHandler(new DefaultErrorHandler(deadLetterRecoverer(),
+                new FixedBackOff(inPlaceRetryInterval, inPlaceRetries)));
         return factory;
     }
-}
\ No newline at end of file
+
+    // 재시도 토픽용 레코드 리스너. 처리 시각이 될 때까지 nack 으로 파티션을 멈춰 두므로 수동 ack 을 쓴다
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> retryListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory());
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.setCommonErrorHandler(new DefaultErrorHandler(deadLetterRecoverer(), new FixedBackOff(0L, 0L)));
+        return factory;
+    }
+
+    // 원래 토픽 → retry-1 → retry-2 → DLT 순으로 보낸다. 디코딩 자체가 안 되는 레코드는 재시도해도 소용없으므로 바로 DLT.
+    // 파티션은 지정하지 않아 키 기준으로 다시 나뉘고, 같은 키의 재시도 레코드는 같은 파티션에 모인다
+    @Bean
+    public DeadLetterPublishingRecoverer deadLetterRecoverer() {
+        return new DeadLetterPublishingRecoverer(kafkaTemplate(), (record, exception) -> {
+            boolean undecodable =
+                    record.headers().lastHeader(SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER) != null;
+            String destination = undecodable
+                    ? RetryTopics.deadLetterTopic(RetryTopics.sourceOf(record.topic()))
+                    : RetryTopics.nextTopic(record.topic());
+            return new TopicPartition(destination, -1);
+        });
+    }
+
+    // 재시도/DLT 토픽으로 보낼 때 쓰는 producer. 디코딩된 이벤트는 다시 인코딩하고, 디코딩에 실패한 원본과
+    // DLT 재전송 payload 는 byte[] 그대로 보낸다
+    @Bean
+    public ProducerFactory<String, Object> producerFactory() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ProducerConfig.ACKS_CONFIG, "all");
+        props.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        Map<Class<?>, Serializer<?>> serializers = new LinkedHashMap<>();
+        serializers.put(byte[].class, new ByteArraySerializer());
+        serializers.put(Object.class, new EventSerializer());
+        return new DefaultKafkaProducerFactory<>(props, new StringSerializer(),
+                new DelegatingByTypeSerializer(serializers, true));
+    }
+
+    @Bean
+    public KafkaTemplate<String, Object> kafkaTemplate() {
+        return new KafkaTemplate<>(producerFactory());
+    }
+
+    @Bean
+    public KafkaAdmin.NewTopics retryTopics(@Value("${newsfeed.kafka.retry.partitions:3}") int partitions) {
+        return new KafkaAdmin.NewTopics(RetryTopics.allTopics().stream()
+                .map(topic -> TopicBuilder.name(topic).partitions(partitions).build())
+                .toArray(NewTopic[]::new));
+    }
+
+    // 배치 안의 레코드를 키별 shard 로 나눠 처리하는 풀. 컨테이너 스레드마다 최대 workers 개의 작업을 넣고 기다린다.
+    // 큐가 차면 버리지 않고 작업을 넣은 리스너 스레드가 직접 처리한다 (종료 중에도 버리면 join 이 끝나지 않으므로 항상 실행)
+    @Bean
+    public ThreadPoolTaskExecutor ingestExecutor(@Value("${newsfeed.kafka.workers:8}") int workers) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(workers * concurrency);
+        executor.setRejectedExecutionHandler((task, pool) -> task.run());
+        executor.setThreadNamePrefix("ingest-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,140 @@
+package com.anteater.newsfeedservice.kafka;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * 배치 리스너가 받은 레코드를 키(작성자/사용자) 해시로 shard 에 나눠 ingestExecutor 에서 병렬로 처리한다.
+ *
+ * 같은 키의 레코드는 항상 같은 shard 에서 원래 순서대로 처리되고, shard 마다 자체 트랜잭션으로 커밋된다.
+ * 모든 shard 가 끝난 뒤에야 리스너가 반환하므로 오프셋은 배치가 모두 반영된 다음에 커밋된다.
+ * shard 가 실패하면 레코드 단위로 다시 적용해 실패한 레코드를 찾아내고, 그중 가장 앞선 index 로
+ * {@link BatchListenerFailedException} 을 던진다. 컨테이너는 그 앞까지만 오프셋을 커밋하고 실패한 레코드를
+ * 재시도 토픽으로 넘긴 뒤 나머지를 다시 받는다. 다른 shard 에서 이미 반영된 레코드는 eventId 중복 제거로 건너뛴다.
+ */
+@Slf4j
+@Component
+public class KeyShardedDispatcher {
+
+    private final ThreadPoolTaskExecutor ingestExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final int shards;
+    private final int minParallelBatch;
+
+    public KeyShardedDispatcher(@Qualifier("ingestExecutor") ThreadPoolTaskExecutor ingestExecutor,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${newsfeed.kafka.workers:8}") int shards,
+                                @Value("${newsfeed.kafka.min-parallel-batch:64}") int minParallelBatch) {
+        this.ingestExecutor = ingestExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.shards = shards;
+        this.minParallelBatch = minParallelBatch;
+    }
+
+    public <E> void dispatch(List<E> events, List<String> keys, Consumer<List<E>> handler) {
+        // 디코딩하지 못한 레코드(ErrorHandlingDeserializer 가 null 로 전달)는 그 앞까지만 처리하고 바로 넘긴다
+        int undecodable = indexOfNull(events);
+        int end = undecodable < 0 ? events.size() : undecodable;
+
+        Failure failure = apply(events.subList(0, end), keys.subList(0, end), handler);
+        if (failure != null) {
+            throw new BatchListenerFailedException("Failed to apply record", failure.cause(), failure.index());
+        }
+        if (undecodable >= 0) {
+            throw new BatchListenerFailedException("Undecodable record",
+                    new DeserializationException("Undecodable record", null, false, null), undecodable);
+        }
+    }
+
+    // List.of 로 만든 목록(재시도 토픽의 재적용)은 indexOf(null) 에서 NPE 를 던지므로 직접 찾는다
+    private static int indexOfNull(List<?> events) {
+        for (int i = 0; i < events.size(); i++) {
+            if (events.get(i) == null) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // 실패한 레코드 중 가장 앞선 것, 모두 성공하면 null
+    private <E> Failure apply(List<E> events, List<String> keys, Consumer<List<E>> handler) {
+        if (events.isEmpty()) {
+            return null;
+        }
+        // 작은 배치는 스레드 전환 비용이 더 크므로 리스너 스레드에서 한 번에 처리
+        if (shards <= 1 || events.size() < minParallelBatch) {
+            return applyShard(events, IntStream.range(0, events.size()).boxed().toList(), handler);
+        }
+
+        List<List<Integer>> shardIndexes = new ArrayList<>(shards);
+        for (int i = 0; i < shards; i++) {
+            shardIndexes.add(new ArrayList<>());
+        }
+        for (int i = 0; i < events.size(); i++) {
+            String key = keys.get(i);
+            shardIndexes.get(key == null ? 0 : Math.floorMod(key.hashCode(), shards)).add(i);
+        }
+
+        List<CompletableFuture<Failure>> futures = new ArrayList<>();
+        try {
+            for (List<Integer> indexes : shardIndexes) {
+                if (!indexes.isEmpty()) {
+                    futures.add(CompletableFuture.supplyAsync(() -> applyShard(events, indexes, handler), ingestExecutor));
+                }
+            }
+        } catch (RejectedExecutionException e) {
+            // 이미 넣은 shard 가 끝나기 전에 리스너가 반환하면 재전달된 레코드와 같은 키에서 순서가 섞이므로 모두 기다린다
+            futures.forEach(future -> future.exceptionally(ex -> null).join());
+            throw e;
+        }
+        Failure lowest = null;
+        for (CompletableFuture<Failure> future : futures) {
+            Failure failure = future.join();
+            if (failure != null && (lowest == null || failure.index() < lowest.index())) {
+                lowest = failure;
+            }
+        }
+        return lowest;
+    }
+
+    // shard 전체를 한 트랜잭션으로 적용하고, 실패하면 레코드 단위로 나눠 처음 실패한 레코드를 찾는다.
+    // 같은 키의 순서를 지키기 위해 실패한 레코드 뒤는 적용하지 않는다
+    private <E> Failure applyShard(List<E> events, List<Integer> indexes, Consumer<List<E>> handler) {
+        List<E> shardEvents = indexes.stream().map(events::get).toList();
+        try {
+            transactionTemplate.executeWithoutResult(status -> handler.accept(shardEvents));
+            return null;
+        } catch (RuntimeException e) {
+            if (indexes.size() == 1) {
+                log.warn("Failed to apply record {}", indexes.get(0), e);
+                return new Failure(indexes.get(0), e);
+            }
+        }
+        for (int index : indexes) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> handler.accept(List.of(events.get(index))));
+            } catch (RuntimeException e) {
+                log.warn("Failed to apply record {}", index, e);
+                return new Failure(index, e);
+            }
+        }
+        return null;
+    }
+
+    private record Failure(int index, RuntimeException cause) {
+    }
+}
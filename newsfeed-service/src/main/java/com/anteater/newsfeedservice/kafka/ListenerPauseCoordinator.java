@@ -0,0 +1,107 @@
+package com.anteater.newsfeedservice.kafka;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 피드 재구성이 테이블을 교체하는 동안 클러스터의 모든 노드에서 적재 리스너(재시도 단계 포함)를 멈춘다.
+ *
+ * 재구성하는 노드가 Redis 에 멈춤 표시를 두면 각 노드는 주기적으로 확인해 자기 리스너를 멈추고, 처리 중인 배치가
+ * 끝나 모두 멈추면 할당받은 파티션을 응답 집합에 남긴다. 재구성하는 노드는 소비 그룹에 할당된 모든 파티션이 응답에
+ * 들어올 때까지 기다린다. 표시에는 TTL 이 있어 재구성하는 노드가 죽어도 리스너는 다시 시작된다.
+ */
+@Slf4j
+@Component
+public class ListenerPauseCoordinator {
+
+    private static final String PAUSE_KEY = "newsfeed:rebuild:pause";
+    private static final String PAUSED_KEY = "newsfeed:rebuild:paused";
+
+    private final KafkaListenerEndpointRegistry listenerRegistry;
+    private final StringRedisTemplate redisTemplate;
+    private final Duration pauseTtl;
+
+    // 이 노드가 멈춤 표시를 보고 멈춘 컨테이너. 표시가 사라지면 다시 시작한다
+    private List<MessageListenerContainer> paused = List.of();
+
+    public ListenerPauseCoordinator(KafkaListenerEndpointRegistry listenerRegistry,
+                                    StringRedisTemplate redisTemplate,
+                                    @Value("${newsfeed.rebuild.pause-ttl:10m}") Duration pauseTtl) {
+        this.listenerRegistry = listenerRegistry;
+        this.redisTemplate = redisTemplate;
+        this.pauseTtl = pauseTtl;
+    }
+
+    // 이전 응답을 지우고 멈춤을 요청한다. 이 노드는 바로 멈추기 시작한다
+    public void requestPause() {
+        redisTemplate.delete(PAUSED_KEY);
+        redisTemplate.opsForValue().set(PAUSE_KEY, "1", pauseTtl);
+        check();
+    }
+
+    // 멈췄다고 응답한 파티션 ("topic-partition")
+    public Set<String> pausedPartitions() {
+        Set<String> partitions = redisTemplate.opsForSet().members(PAUSED_KEY);
+        return partitions == null ? Set.of() : partitions;
+    }
+
+    public void release() {
+        redisTemplate.delete(List.of(PAUSE_KEY, PAUSED_KEY));
+        check();
+    }
+
+    // 멈춘 동안에도 리밸런스로 할당이 바뀔 수 있으므로 멈춰 있는 동안 매번 현재 할당을 다시 응답한다
+    @Scheduled(fixedDelayString = "${newsfeed.rebuild.pause-check-interval:500}")
+    public synchronized void check() {
+        boolean requested;
+        try {
+            requested = Boolean.TRUE.equals(redisTemplate.hasKey(PAUSE_KEY));
+        } catch (RuntimeException e) {
+            log.warn("Failed to check listener pause request, keeping current state", e);
+            return;
+        }
+        if (requested) {
+            if (paused.isEmpty()) {
+                paused = List.copyOf(listenerRegistry.getListenerContainers());
+                paused.forEach(MessageListenerContainer::pause);
+                log.info("Pausing {} listener containers for feed rebuild", paused.size());
+            }
+            if (paused.stream().allMatch(MessageListenerContainer::isContainerPaused)) {
+                acknowledge();
+            }
+        } else if (!paused.isEmpty()) {
+            paused.forEach(MessageListenerContainer::resume);
+            log.info("Resumed {} listener containers after feed rebuild", paused.size());
+            paused = List.of();
+        }
+    }
+
+    private void acknowledge() {
+        String[] partitions = paused.stream()
+                .map(MessageListenerContainer::getAssignedPartitions)
+                .filter(assigned -> assigned != null)
+                .flatMap(Collection::stream)
+                .map(TopicPartition::toString)
+                .toArray(String[]::new);
+        if (partitions.length == 0) {
+            return;
+        }
+        try {
+            redisTemplate.opsForSet().add(PAUSED_KEY, partitions);
+            redisTemplate.expire(PAUSED_KEY, pauseTtl);
+        } catch (RuntimeException e) {
+            log.warn("Failed to acknowledge listener pause, retrying in next check", e);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.anteater.newsfeedservice.kafka;
+
+import com.anteater.newsfeedservice.service.NewsfeedService;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 재시도 토픽의 레코드를 단계별 지연이 지난 뒤 원래 처리 경로로 다시 적용한다.
+ *
+ * 레코드는 재시도 토픽에 쓰인 시각 순으로 쌓이므로, 맨 앞 레코드의 처리 시각이 안 됐으면 nack 으로
+ * 남은 시간만큼 컨테이너를 멈춘다. 스레드를 잡고 sleep 하지 않아 poll 주기와 그룹 멤버십이 유지되고,
+ * 원래 토픽의 소비는 별도 컨테이너라 영향을 받지 않는다. 여기서도 실패하면 다음 단계 또는 DLT 로 넘어간다.
+ * 재시도된 레코드는 같은 키의 뒤 레코드보다 늦게 적용될 수 있다.
+ */
+@Slf4j
+@Component
+public class RetryTopicListener {
+
+    private final NewsfeedService newsfeedService;
+    private final Duration firstDelay;
+    private final Duration secondDelay;
+
+    public RetryTopicListener(NewsfeedService newsfeedService,
+                              @Value("${newsfeed.kafka.retry.first-delay:10s}") Duration firstDelay,
+                              @Value("${newsfeed.kafka.retry.second-delay:5m}") Duration secondDelay) {
+        this.newsfeedService = newsfeedService;
+        this.firstDelay = firstDelay;
+        this.secondDelay = secondDelay;
+    }
+
+    @KafkaListener(id = "newsfeed-retry-1", groupId = "newsfeed-retry-1",
+            topics = "#{T(com.anteater.newsfeedservice.kafka.RetryTopics).retryTopics(1)}",
+            containerFactory = "retryListenerContainerFactory")
+    public void consumeFirstTier(ConsumerRecord<String, Object> record, Acknowledgment ack) {
+        consume(record, ack, firstDelay);
+    }
+
+    @KafkaListener(id = "newsfeed-retry-2", groupId = "newsfeed-retry-2",
+            topics = "#{T(com.anteater.newsfeedservice.kafka.RetryTopics).retryTopics(2)}",
+            containerFactory = "retryListenerContainerFactory")
+    public void consumeSecondTier(ConsumerRecord<String, Object> record, Acknowledgment ack) {
+        consume(record, ack, secondDelay);
+    }
+
+    private void consume(ConsumerRecord<String, Object> record, Acknowledgment ack, Duration delay) {
+        long wait = record.timestamp() + delay.toMillis() - System.currentTimeMillis();
+        if (wait > 0) {
+            ack.nack(Duration.ofMillis(wait));
+            return;
+        }
+        log.info("Retrying record {}-{}@{}", record.topic(), record.partition(), record.offset());
+        newsfeedService.redeliver(RetryTopics.sourceOf(record.topic()), record.key(), record.value());
+        ack.acknowledge();
+    }
+}
@@ -0,0 +1,71 @@
+package com.anteater.newsfeedservice.kafka;
+
+import com.anteater.event.Topics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 뉴스피드 적재용 재시도/DLT 토픽 이름 규칙.
+ *
+ * 원래 토픽에서 처리하지 못한 레코드는 {@code <topic>-retry-1} → {@code <topic>-retry-2} 순으로 점점 긴 간격을 두고
+ * 다시 처리되고, 마지막 단계에서도 실패하면 {@code <topic>-dlt} 에 남아 관리자가 다시 보낼 때까지 보관된다.
+ */
+public final class RetryTopics {
+
+    public static final int TIERS = 2;
+
+    public static final List<String> SOURCE_TOPICS =
+            List.of(Topics.POST_EVENTS, Topics.COMMENT_EVENTS, Topics.LIKE_EVENTS, Topics.WATCHLIST_EVENTS);
+
+    private static final String RETRY_SUFFIX = "-retry-";
+    private static final String DLT_SUFFIX = "-dlt";
+
+    private RetryTopics() {
+    }
+
+    public static String retryTopic(String topic, int tier) {
+        return topic + RETRY_SUFFIX + tier;
+    }
+
+    public static String deadLetterTopic(String topic) {
+        return topic + DLT_SUFFIX;
+    }
+
+    // @KafkaListener 의 topics 에서 SpEL 로 사용
+    public static String[] retryTopics(int tier) {
+        return SOURCE_TOPICS.stream().map(topic -> retryTopic(topic, tier)).toArray(String[]::new);
+    }
+
+    public static List<String> allTopics() {
+        List<String> topics = new ArrayList<>();
+        for (String topic : SOURCE_TOPICS) {
+            for (int tier = 1; tier <= TIERS; tier++) {
+                topics.add(retryTopic(topic, tier));
+            }
+            topics.add(deadLetterTopic(topic));
+        }
+        return topics;
+    }
+
+    // 원래 토픽이면 0, 재시도 토픽이면 단계 번호
+    public static int tierOf(String topic) {
+        int at = topic.lastIndexOf(RETRY_SUFFIX);
+        return at < 0 ? 0 : Integer.parseInt(topic.substring(at + RETRY_SUFFIX.length()));
+    }
+
+    public static String sourceOf(String topic) {
+        int at = topic.lastIndexOf(RETRY_SUFFIX);
+        if (at >= 0) {
+            return topic.substring(0, at);
+        }
+        return topic.endsWith(DLT_SUFFIX) ? topic.substring(0, topic.length() - DLT_SUFFIX.length()) : topic;
+    }
+
+    // 실패한 레코드를 보낼 다음 단계 토픽
+    public static String nextTopic(String topic) {
+        int tier = tierOf(topic);
+        String source = sourceOf(topic);
+        return tier < TIERS ? retryTopic(source, tier + 1) : deadLetterTopic(source);
+    }
+}
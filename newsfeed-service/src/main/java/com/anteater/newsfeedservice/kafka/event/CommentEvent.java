@@ -1,12 +0,0 @@
-package com.anteater.newsfeedservice.kafka.event;
-
-
-import lombok.Data;
-
-@Data
-public class CommentEvent {
-    private Long commentId;
-    private Long postId;
-    private String userId;
-    private String content;
-}
\ No newline at end of file
@@ -1,11 +0,0 @@
-package com.anteater.newsfeedservice.kafka.event;
-
-import lombok.Data;
-
-@Data
-public class PostEvent {
-    private Long postId;
-    private Long authorId;
-    private String content;
-    private String stockIsin;
-}
\ No newline at end of file
@@ -1,10 +0,0 @@
-package com.anteater.newsfeedservice.kafka.event;
-
-import lombok.Data;
-
-@Data
-public class WatchlistEvent {
-    private String userName;
-    private String stockIsin;
-    private String eventType;
-}
\ No newline at end of file
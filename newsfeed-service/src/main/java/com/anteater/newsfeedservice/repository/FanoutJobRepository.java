@@ -0,0 +1,42 @@
+package com.anteater.newsfeedservice.repository;
+
+import com.anteater.newsfeedservice.entity.FanoutJob;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface FanoutJobRepository extends JpaRepository<FanoutJob, Long> {
+
+    // 대기 중이거나, 처리하던 노드가 heartbeat 없이 멈춘 작업
+    @Query("SELECT j.id FROM FanoutJob j WHERE j.status = 'PENDING' " +
+            "OR (j.status = 'RUNNING' AND j.updatedAt < :staleBefore) ORDER BY j.id")
+    List<Long> findClaimableIds(@Param("staleBefore") LocalDateTime staleBefore, Pageable pageable);
+
+    // 조건부 UPDATE 로 선점하므로 여러 노드가 같은 작업을 동시에 가져가지 않는다
+    @Modifying
+    @Query("UPDATE FanoutJob j SET j.status = 'RUNNING', j.attempts = j.attempts + 1, j.updatedAt = :now WHERE j.id = :id " +
+            "AND (j.status = 'PENDING' OR (j.status = 'RUNNING' AND j.updatedAt < :staleBefore))")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now, @Param("staleBefore") LocalDateTime staleBefore);
+
+    @Modifying
+    @Query("UPDATE FanoutJob j SET j.lastWatcherId = :lastWatcherId, j.deliveredCount = j.deliveredCount + :delivered, " +
+            "j.status = :status, j.updatedAt = :now WHERE j.id = :id")
+    int checkpoint(@Param("id") Long id,
+                   @Param("lastWatcherId") Long lastWatcherId,
+                   @Param("delivered") long delivered,
+                   @Param("status") FanoutJob.Status status,
+                   @Param("now") LocalDateTime now);
+
+    // 끝난 작업 정리 (status, updatedAt 인덱스). 한 번에 limit 개씩 지워 잠금을 짧게 유지한다
+    @Modifying
+    @Query(value = "DELETE FROM fanout_jobs WHERE status = 'DONE' AND updated_at < :doneBefore LIMIT :limit",
+            nativeQuery = true)
+    int deleteDoneBefore(@Param("doneBefore") LocalDateTime doneBefore, @Param("limit") int limit);
+}
@@ -0,0 +1,88 @@
+package com.anteater.newsfeedservice.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * newsfeed_items 의 월 단위 RANGE 파티션 관리.
+ *
+ * 파티션 키(created_at)는 모든 unique 키에 포함되어야 하므로 PK 는 (id, created_at) 이다.
+ * 파티션 이름은 p202401 처럼 월을 나타내고, 마지막의 pmax 가 아직 만들지 않은 달의 행을 받는다.
+ */
+@Repository
+public class FeedPartitionRepository {
+
+    public static final String MAX_PARTITION = "pmax";
+
+    private static final String TABLE = "newsfeed_items";
+    private static final DateTimeFormatter NAME_FORMAT = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public FeedPartitionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // 파티션이 없으면 빈 목록
+    public List<String> findPartitionNames() {
+        return jdbcTemplate.queryForList("SELECT partition_name FROM information_schema.partitions " +
+                        "WHERE table_schema = DATABASE() AND table_name = ? AND partition_name IS NOT NULL " +
+                        "ORDER BY partition_ordinal_position",
+                String.class, TABLE);
+    }
+
+    public Optional<LocalDateTime> findOldestCreatedAt() {
+        Timestamp oldest = jdbcTemplate.queryForObject("SELECT MIN(created_at) FROM " + TABLE, Timestamp.class);
+        return Optional.ofNullable(oldest).map(Timestamp::toLocalDateTime);
+    }
+
+    // 파티션이 없는 테이블을 변환한다. 테이블 전체를 복사하므로 행이 많으면 오래 걸린다
+    public void partitionByMonth(List<YearMonth> months) {
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP PRIMARY KEY, ADD PRIMARY KEY (id, created_at) " +
+                "PARTITION BY RANGE COLUMNS(created_at) (" + definitions(months) + ")");
+    }
+
+    // pmax 를 나눠 새 달의 파티션을 만든다. pmax 가 비어 있으면 메타데이터만 바뀐다
+    public void addPartitions(List<YearMonth> months, boolean hasMaxPartition) {
+        if (hasMaxPartition) {
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " REORGANIZE PARTITION " + MAX_PARTITION +
+                    " INTO (" + definitions(months) + ")");
+        } else {
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " ADD PARTITION (" + definitions(months) + ")");
+        }
+    }
+
+    // 행 단위 DELETE 없이 파티션을 통째로 버린다
+    public void dropPartitions(List<String> names) {
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP PARTITION " + String.join(", ", names));
+    }
+
+    public static String nameOf(YearMonth month) {
+        return NAME_FORMAT.format(month);
+    }
+
+    // 월 파티션이 아니면(pmax 등) null
+    public static YearMonth monthOf(String partitionName) {
+        try {
+            return YearMonth.parse(partitionName, NAME_FORMAT);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static String definitions(List<YearMonth> months) {
+        String monthly = months.stream()
+                .map(month -> "PARTITION " + nameOf(month) + " VALUES LESS THAN ('" + month.plusMonths(1).atDay(1) + "')")
+                .collect(Collectors.joining(", "));
+        return monthly + ", PARTITION " + MAX_PARTITION + " VALUES LESS THAN (MAXVALUE)";
+    }
+}
@@ -0,0 +1,96 @@
+package com.anteater.newsfeedservice.repository;
+
+import com.anteater.common.id.SnowflakeIdGenerator;
+import com.anteater.newsfeedservice.entity.NewsfeedItem;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 피드 재구성용 shadow 테이블 관리.
+ *
+ * newsfeed_items 와 같은 구조의 newsfeed_items_rebuild 에 적재한 뒤 RENAME TABLE 한 문장으로 교체한다.
+ * 교체 전 테이블은 newsfeed_items_old 로 남겨 두고 다음 재구성을 시작할 때 지운다.
+ * 재생한 항목의 id 는 이벤트 ID 이므로 같은 이벤트를 다시 읽어도 INSERT IGNORE 가 한 번만 남긴다.
+ */
+@Repository
+public class FeedRebuildRepository {
+
+    public static final String SHADOW_TABLE = "newsfeed_items_rebuild";
+
+    // 이벤트로 다시 만들 수 없는 행: 재생 시작 시각 이전 항목, 팬아웃으로 전달된 구독자 사본, 좋아요 요약 항목
+    private static final String CARRIED =
+            "(created_at < ? OR event_type LIKE 'LIKE\\_%' OR (event_type = 'POST' AND user_name <> actor_name))";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public FeedRebuildRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void createShadowTable() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS newsfeed_items_old");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + SHADOW_TABLE);
+        jdbcTemplate.execute("CREATE TABLE " + SHADOW_TABLE + " LIKE newsfeed_items");
+    }
+
+    public void insertAll(List<NewsfeedItem> items) {
+        NewsfeedItemBatchRepositoryImpl.insertIgnoreInto(jdbcTemplate, SHADOW_TABLE, items);
+    }
+
+    // 잠금 없이 현재 테이블의 carried 행을 옮긴다. 이후에 바뀐 행은 swap 이 잠금 아래에서 다시 맞춘다
+    public int copyCarriedRows(LocalDateTime replayFrom) {
+        return jdbcTemplate.update("INSERT IGNORE INTO " + SHADOW_TABLE + " SELECT * FROM newsfeed_items WHERE " + CARRIED,
+                Timestamp.valueOf(replayFrom));
+    }
+
+    /**
+     * 두 테이블을 잠그고, copyCarriedRows 이후 다른 작성자(팬아웃, 좋아요 요약 등 모든 노드)가 쓴 carried 행을
+     * 다시 옮긴 뒤 이름을 원자적으로 교체한다. 잠금이 풀리면 대기하던 쓰기는 교체된 테이블에 들어간다.
+     * changedSince 는 copyCarriedRows 를 시작한 시각보다 조금 이르게 잡는다 (노드 간 시계 차이 여유).
+     */
+    public int swap(LocalDateTime replayFrom, LocalDateTime changedSince) {
+        long minId = SnowflakeIdGenerator.minIdAt(Timestamp.valueOf(changedSince).getTime());
+        Timestamp since = Timestamp.valueOf(changedSince);
+        return jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("LOCK TABLES newsfeed_items WRITE, " + SHADOW_TABLE + " WRITE, " +
+                        "like_aggregates AS a READ, " + SHADOW_TABLE + " AS s WRITE, " +
+                        "newsfeed_items AS n READ");
+                try {
+                    int copied = update(connection, "INSERT IGNORE INTO " + SHADOW_TABLE +
+                            " SELECT * FROM newsfeed_items WHERE id >= ? AND " + CARRIED,
+                            minId, Timestamp.valueOf(replayFrom));
+                    // 갱신(상단으로 올라가며 created_at 이 바뀜)되거나 내려간 좋아요 요약은 지우고 현재 행으로 다시 넣는다
+                    update(connection, "DELETE s FROM " + SHADOW_TABLE + " AS s JOIN like_aggregates AS a " +
+                            "ON s.event_type = CONCAT('LIKE_', a.target_type) AND s.related_id = a.target_id " +
+                            "WHERE a.updated_at >= ?", since);
+                    copied += update(connection, "INSERT IGNORE INTO " + SHADOW_TABLE + " SELECT n.* FROM newsfeed_items AS n " +
+                            "JOIN like_aggregates AS a ON n.id = a.feed_item_id WHERE a.updated_at >= ?", since);
+                    statement.execute("RENAME TABLE newsfeed_items TO newsfeed_items_old, " +
+                            SHADOW_TABLE + " TO newsfeed_items");
+                    return copied;
+                } finally {
+                    statement.execute("UNLOCK TABLES");
+                }
+            }
+        });
+    }
+
+    private static int update(Connection connection, String sql, Object... args) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < args.length; i++) {
+                statement.setObject(i + 1, args[i]);
+            }
+            return statement.executeUpdate();
+        }
+    }
+}
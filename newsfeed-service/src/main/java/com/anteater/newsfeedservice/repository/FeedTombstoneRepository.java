@@ -0,0 +1,42 @@
+package com.anteater.newsfeedservice.repository;
+
+import com.anteater.newsfeedservice.entity.FeedTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface FeedTombstoneRepository extends JpaRepository<FeedTombstone, FeedTombstone.Key> {
+
+    // 같은 대상의 삭제 이벤트가 다시 와도 처음 기록만 남긴다
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO feed_tombstones (target_type, target_id, deleted_at) " +
+            "VALUES (:targetType, :targetId, :deletedAt)", nativeQuery = true)
+    int insertIgnore(@Param("targetType") String targetType,
+                     @Param("targetId") Long targetId,
+                     @Param("deletedAt") LocalDateTime deletedAt);
+
+    @Query("SELECT t.targetId FROM FeedTombstone t WHERE t.targetType = :targetType AND t.targetId IN :targetIds")
+    List<Long> findTombstonedIds(@Param("targetType") String targetType,
+                                 @Param("targetIds") Collection<Long> targetIds);
+
+    @Query("SELECT t FROM FeedTombstone t WHERE t.collectedAt IS NULL AND t.deletedAt < :before ORDER BY t.deletedAt")
+    List<FeedTombstone> findUncollected(@Param("before") LocalDateTime before, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE FeedTombstone t SET t.collectedAt = :now WHERE t.targetType = :targetType AND t.targetId = :targetId")
+    int markCollected(@Param("targetType") String targetType,
+                      @Param("targetId") Long targetId,
+                      @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM FeedTombstone t WHERE t.collectedAt < :before")
+    int deleteCollectedBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,14 @@
+package com.anteater.newsfeedservice.repository;
+
+import java.util.List;
+
+public interface LikeAggregateBatchRepository {
+
+    // (targetType, targetId) 별 증감분과 최근 사용자를 INSERT ... ON DUPLICATE KEY UPDATE 한 번의 batch 로 pending 에 누적.
+    // 최근 사용자는 새 사용자를 앞에 붙이고 maxActors 개까지만 남긴다
+    void addPending(List<PendingLikes> pending, int maxActors);
+
+    // actors: 최신순, 쉼표 구분. 없으면 null
+    record PendingLikes(String targetType, Long targetId, Long postId, long delta, String actors) {
+    }
+}
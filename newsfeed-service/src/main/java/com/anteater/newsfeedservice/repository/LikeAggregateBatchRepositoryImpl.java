@@ -0,0 +1,47 @@
+package com.anteater.newsfeedservice.repository;
+
+import com.anteater.common.id.SnowflakeIdGenerator;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class LikeAggregateBatchRepositoryImpl implements LikeAggregateBatchRepository {
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO like_aggregates (id, target_type, target_id, post_id, like_count, " +
+            "pending_delta, pending_actors, pending_since, updated_at) " +
+            "VALUES (?, ?, ?, ?, 0, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE pending_delta = pending_delta + VALUES(pending_delta), " +
+            "pending_actors = SUBSTRING_INDEX(CONCAT_WS(',', VALUES(pending_actors), pending_actors), ',', ?), " +
+            "pending_since = COALESCE(pending_since, VALUES(pending_since)), " +
+            "post_id = COALESCE(post_id, VALUES(post_id)), updated_at = VALUES(updated_at)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LikeAggregateBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void addPending(List<PendingLikes> pending, int maxActors) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        SnowflakeIdGenerator idGenerator = SnowflakeIdGenerator.getInstance();
+        jdbcTemplate.batchUpdate(UPSERT_SQL, pending, pending.size(), (ps, likes) -> {
+            ps.setLong(1, idGenerator.nextId());
+            ps.setString(2, likes.targetType());
+            ps.setLong(3, likes.targetId());
+            ps.setObject(4, likes.postId(), Types.BIGINT);
+            ps.setLong(5, likes.delta());
+            ps.setString(6, likes.actors());
+            ps.setTimestamp(7, now);
+            ps.setTimestamp(8, now);
+            ps.setInt(9, maxActors);
+        });
+    }
+}
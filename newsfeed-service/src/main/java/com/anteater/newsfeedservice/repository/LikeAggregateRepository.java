@@ -0,0 +1,36 @@
+package com.anteater.newsfeedservice.repository;
+
+import com.anteater.newsfeedservice.entity.LikeAggregate;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface LikeAggregateRepository extends JpaRepository<LikeAggregate, Long>, LikeAggregateBatchRepository {
+
+    // 반영할 증감분이 쌓인 대상 (오래된 것부터). 잠그지 않으므로 findForUpdate 후 pendingSince 를 다시 확인한다
+    @Query("SELECT a.id FROM LikeAggregate a WHERE a.pendingSince IS NOT NULL ORDER BY a.pendingSince")
+    List<Long> findPendingIds(Pageable pageable);
+
+    // 여러 노드가 같은 대상을 동시에 flush 해도 요약 항목이 하나만 생기도록 행 잠금
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM LikeAggregate a WHERE a.id IN :ids ORDER BY a.targetType, a.targetId")
+    List<LikeAggregate> findForUpdate(@Param("ids") Collection<Long> ids);
+
+    // 삭제된 게시글(게시글 자체와 그 댓글의 좋아요) 또는 댓글의 누적 정리
+    @Modifying
+    @Query("DELETE FROM LikeAggregate a WHERE a.postId = :postId")
+    int deleteByPostId(@Param("postId") Long postId);
+
+    @Modifying
+    @Query("DELETE FROM LikeAggregate a WHERE a.targetType = :targetType AND a.targetId = :targetId")
+    int deleteByTarget(@Param("targetType") String targetType, @Param("targetId") Long targetId);
+}
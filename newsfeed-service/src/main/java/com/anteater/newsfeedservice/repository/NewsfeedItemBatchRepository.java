@@ -0,0 +1,10 @@
+package com.anteater.newsfeedservice.repository;
+
+import com.anteater.newsfeedservice.entity.NewsfeedItem;
+
+import java.util.List;
+
+// JPA save() 대신 JDBC batch 로 한 번에 적재하기 위한 커스텀 레포지토리
+public interface NewsfeedItemBatchRepository {
+    void insertAll(List<NewsfeedItem> items);
+}
@@ -0,0 +1,63 @@
+package com.anteater.newsfeedservice.repository;
+
+import com.anteater.common.id.SnowflakeIdGenerator;
+import com.anteater.newsfeedservice.entity.NewsfeedItem;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+
+public class NewsfeedItemBatchRepositoryImpl implements NewsfeedItemBatchRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT %s INTO %s " +
+            "(id, user_name, event_type, created_at, related_id, stock_isin, parent_id, actor_name, " +
+            "aggregate_count, recent_actors) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public NewsfeedItemBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // rewriteBatchedStatements=true 설정 시 드라이버가 multi-row INSERT 한 문장으로 재작성
+    @Override
+    public void insertAll(List<NewsfeedItem> items) {
+        insertInto(jdbcTemplate, "newsfeed_items", items);
+    }
+
+    static void insertInto(JdbcTemplate jdbcTemplate, String table, List<NewsfeedItem> items) {
+        insert(jdbcTemplate, "", table, items);
+    }
+
+    // 피드 재구성 시 shadow 테이블에 같은 방식으로 적재. 이미 있는 id(같은 이벤트)는 건너뛴다
+    static void insertIgnoreInto(JdbcTemplate jdbcTemplate, String table, List<NewsfeedItem> items) {
+        insert(jdbcTemplate, "IGNORE", table, items);
+    }
+
+    private static void insert(JdbcTemplate jdbcTemplate, String modifier, String table, List<NewsfeedItem> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        SnowflakeIdGenerator idGenerator = SnowflakeIdGenerator.getInstance();
+        for (NewsfeedItem item : items) {
+            if (item.getId() == null) {
+                item.setId(idGenerator.nextId());
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL.formatted(modifier, table), items, items.size(), (ps, item) -> {
+            ps.setLong(1, item.getId());
+            ps.setString(2, item.getUserName());
+            ps.setString(3, item.getEventType());
+            ps.setTimestamp(4, Timestamp.valueOf(item.getCreatedAt()));
+            ps.setObject(5, item.getRelatedId(), Types.BIGINT);
+            ps.setString(6, item.getStockIsin());
+            ps.setObject(7, item.getParentId(), Types.BIGINT);
+            ps.setString(8, item.getActorName());
+            ps.setObject(9, item.getAggregateCount(), Types.BIGINT);
+            ps.setString(10, item.getRecentActors());
+        });
+    }
+}
@@ -10,16 +10,77 @@ import org.springframework.stereotype.Repository;
 import org.springframework.data.repository.query.Param;
 
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
-public interface NewsfeedItemRepository extends JpaRepository<NewsfeedItem, Long> {
+public interface NewsfeedItemRepository extends JpaRepository<NewsfeedItem, Long>, NewsfeedItemBatchRepository {
     Page<NewsfeedItem> findByUserNameAndParentIdIsNullOrderByCreatedAtDesc(String userName, Pageable pageable);
 
     @Query("SELECT n FROM NewsfeedItem n WHERE n.parentId = :parentId ORDER BY n.createdAt ASC")
     List<NewsfeedItem> findRelatedItems(@Param("parentId") Long parentId);
 
-    Page<NewsfeedItem> findByUserNameAndStockIsinOrderByCreatedAtDesc(String userName, String stockIsin, Pageable pageable);
+    // 조회는 모두 createdAt >= since (보존 기간의 시작) 로 범위를 제한해 남아 있는 월 파티션만 읽는다
+    Page<NewsfeedItem> findByUserNameAndStockIsinAndCreatedAtGreaterThanEqualOrderByCreatedAtDescIdAsc(
+            String userName, String stockIsin, LocalDateTime since, Pageable pageable);
 
-    Page<NewsfeedItem> findByUserNameOrderByCreatedAtDesc(String userName, Pageable pageable);
+    Page<NewsfeedItem> findByUserNameAndCreatedAtGreaterThanEqualOrderByCreatedAtDescIdAsc(
+            String userName, LocalDateTime since, Pageable pageable);
+
+    // 게시글/댓글 작성자 본인의 원본 항목 (팬아웃된 항목은 userName 이 작성자가 아님)
+    @Query("SELECT n FROM NewsfeedItem n WHERE n.eventType = :eventType AND n.relatedId IN :relatedIds " +
+            "AND n.userName = n.actorName")
+    List<NewsfeedItem> findOriginItems(@Param("eventType") String eventType,
+                                       @Param("relatedIds") Collection<Long> relatedIds);
+
+    // 팬아웃 재시도 시 이미 받은 구독자를 걸러내기 위한 조회
+    @Query("SELECT n.userName FROM NewsfeedItem n WHERE n.eventType = :eventType AND n.relatedId = :relatedId " +
+            "AND n.userName IN :userNames")
+    List<String> findRecipients(@Param("eventType") String eventType,
+                                @Param("relatedId") Long relatedId,
+                                @Param("userNames") Collection<String> userNames);
+
+    // 삭제된 대상을 가리키는 항목 (related_id, eventType 인덱스). 정리 작업이 청크 단위로 읽어 지운다
+    @Query("SELECT n FROM NewsfeedItem n WHERE n.relatedId = :relatedId AND n.eventType IN :eventTypes " +
+            "AND n.createdAt >= :since")
+    List<NewsfeedItem> findByRelatedId(@Param("relatedId") Long relatedId,
+                                       @Param("eventTypes") Collection<String> eventTypes,
+                                       @Param("since") LocalDateTime since,
+                                       Pageable pageable);
+
+    // 삭제된 게시글에 달린 댓글/댓글 좋아요 항목 (parent_id, eventType 인덱스)
+    @Query("SELECT n FROM NewsfeedItem n WHERE n.parentId = :parentId AND n.eventType IN :eventTypes " +
+            "AND n.createdAt >= :since")
+    List<NewsfeedItem> findByParentId(@Param("parentId") Long parentId,
+                                      @Param("eventTypes") Collection<String> eventTypes,
+                                      @Param("since") LocalDateTime since,
+                                      Pageable pageable);
+
+    // keyset 페이지네이션: (userName, createdAt DESC) 인덱스 순서(동률은 id ASC) 그대로 seek, COUNT 없음
+    // 커서의 createdAt 이 상한, since 가 하한이 되어 그 사이의 파티션만 읽는다
+    @Query("SELECT n FROM NewsfeedItem n WHERE n.userName = :userName AND n.createdAt >= :since " +
+            "ORDER BY n.createdAt DESC, n.id ASC")
+    List<NewsfeedItem> findLatestByUserName(@Param("userName") String userName,
+                                            @Param("since") LocalDateTime since,
+                                            Pageable pageable);
+
+    @Query("SELECT n FROM NewsfeedItem n WHERE n.userName = :userName AND n.createdAt >= :since " +
+            "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id > :id)) " +
+            "ORDER BY n.createdAt DESC, n.id ASC")
+    List<NewsfeedItem> findByUserNameAfterCursor(@Param("userName") String userName,
+                                                 @Param("since") LocalDateTime since,
+                                                 @Param("createdAt") LocalDateTime createdAt,
+                                                 @Param("id") Long id,
+                                                 Pageable pageable);
+
+    // 커서보다 새 항목을 오래된 순으로 (실시간 스트림 재연결 시 재생)
+    @Query("SELECT n FROM NewsfeedItem n WHERE n.userName = :userName AND n.createdAt >= :since " +
+            "AND (n.createdAt > :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+            "ORDER BY n.createdAt ASC, n.id DESC")
+    List<NewsfeedItem> findByUserNameBeforeCursor(@Param("userName") String userName,
+                                                  @Param("since") LocalDateTime since,
+                                                  @Param("createdAt") LocalDateTime createdAt,
+                                                  @Param("id") Long id,
+                                                  Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.anteater.newsfeedservice.repository;
+
+import java.util.List;
+
+public interface ProcessedEventBatchRepository {
+
+    // 동시에 같은 이벤트를 기록하면 PK 충돌로 트랜잭션 전체가 실패하고, 재시도 시 중복으로 걸러진다
+    void insertAll(String topic, List<Long> eventIds);
+}
@@ -0,0 +1,27 @@
+package com.anteater.newsfeedservice.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+public class ProcessedEventBatchRepositoryImpl implements ProcessedEventBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO processed_events (topic, event_id) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ProcessedEventBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insertAll(String topic, List<Long> eventIds) {
+        if (eventIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, eventIds, eventIds.size(), (ps, eventId) -> {
+            ps.setString(1, topic);
+            ps.setLong(2, eventId);
+        });
+    }
+}
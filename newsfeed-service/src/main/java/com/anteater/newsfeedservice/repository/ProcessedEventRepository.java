@@ -0,0 +1,28 @@
+package com.anteater.newsfeedservice.repository;
+
+import com.anteater.newsfeedservice.entity.ProcessedEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ProcessedEventRepository extends JpaRepository<ProcessedEvent, ProcessedEvent.Key>, ProcessedEventBatchRepository {
+
+    @Query("SELECT p.eventId FROM ProcessedEvent p WHERE p.topic = :topic AND p.eventId IN :eventIds")
+    List<Long> findProcessedIds(@Param("topic") String topic, @Param("eventIds") Collection<Long> eventIds);
+
+    // 기본 키(topic, event_id) 앞부분만 읽는 loose index scan
+    @Query(value = "SELECT DISTINCT topic FROM processed_events", nativeQuery = true)
+    List<String> findTopics();
+
+    // 토픽별 기본 키 범위로 지운다. 한 번에 limit 개씩 지워 잠금을 짧게 유지한다
+    @Modifying
+    @Query(value = "DELETE FROM processed_events WHERE topic = :topic AND event_id < :minEventId LIMIT :limit",
+            nativeQuery = true)
+    int deleteOlderThan(@Param("topic") String topic, @Param("minEventId") long minEventId, @Param("limit") int limit);
+}
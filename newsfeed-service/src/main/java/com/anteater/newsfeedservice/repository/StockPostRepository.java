@@ -0,0 +1,50 @@
+package com.anteater.newsfeedservice.repository;
+
+import com.anteater.newsfeedservice.entity.StockPost;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface StockPostRepository extends JpaRepository<StockPost, Long> {
+
+    // 피드와 같은 (createdAt DESC, id ASC) 순서로 seek 해야 k-way 병합 결과가 커서와 일치한다.
+    // 구독한 hot 종목 전체를 IN 쿼리 한 번으로 읽고, 조회하는 사용자 본인의 글(이미 자신의 타임라인에 있음)은 제외한다.
+    // 피드와 같은 보존 기간(since) 안의 글만 읽는다
+    @Query("SELECT p FROM StockPost p WHERE p.stockIsin IN :stockIsins AND p.authorName <> :excludedAuthor " +
+            "AND p.createdAt >= :since ORDER BY p.createdAt DESC, p.id ASC")
+    List<StockPost> findLatestByStockIsins(@Param("stockIsins") Collection<String> stockIsins,
+                                           @Param("excludedAuthor") String excludedAuthor,
+                                           @Param("since") LocalDateTime since,
+                                           Pageable pageable);
+
+    @Query("SELECT p FROM StockPost p WHERE p.stockIsin IN :stockIsins AND p.authorName <> :excludedAuthor " +
+            "AND p.createdAt >= :since " +
+            "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id > :id)) " +
+            "ORDER BY p.createdAt DESC, p.id ASC")
+    List<StockPost> findByStockIsinsAfterCursor(@Param("stockIsins") Collection<String> stockIsins,
+                                                @Param("excludedAuthor") String excludedAuthor,
+                                                @Param("since") LocalDateTime since,
+                                                @Param("createdAt") LocalDateTime createdAt,
+                                                @Param("id") Long id,
+                                                Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM StockPost p WHERE p.postId IN :postIds")
+    int deleteByPostIdIn(@Param("postIds") Collection<Long> postIds);
+
+    // 보존 기간이 지난 글 정리 (createdAt 인덱스). 한 번에 limit 개씩 지워 잠금을 짧게 유지한다
+    @Modifying
+    @Query(value = "DELETE FROM stock_posts WHERE created_at < :before LIMIT :limit", nativeQuery = true)
+    int deleteCreatedBefore(@Param("before") LocalDateTime before, @Param("limit") int limit);
+
+    @Query("SELECT DISTINCT p.stockIsin FROM StockPost p")
+    List<String> findDistinctStockIsins();
+}
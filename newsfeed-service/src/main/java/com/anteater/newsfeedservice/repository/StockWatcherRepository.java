@@ -0,0 +1,38 @@
+package com.anteater.newsfeedservice.repository;
+
+import com.anteater.newsfeedservice.entity.StockWatcher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface StockWatcherRepository extends JpaRepository<StockWatcher, Long> {
+
+    // 팬아웃 청크 조회: id 기준 keyset 이라 재개 지점부터 바로 seek
+    List<StockWatcher> findByStockIsinAndIdGreaterThanOrderByIdAsc(String stockIsin, Long afterId, Pageable pageable);
+
+    @Query("SELECT w.stockIsin FROM StockWatcher w WHERE w.userName = :userName")
+    List<String> findStockIsinsByUserName(@Param("userName") String userName);
+
+    @Query("SELECT w.stockIsin FROM StockWatcher w GROUP BY w.stockIsin HAVING COUNT(w) >= :threshold")
+    List<String> findStockIsinsWatchedByAtLeast(@Param("threshold") long threshold);
+
+    // 같은 ADDED 이벤트가 다시 와도 중복 없이 반영
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO stock_watchers (id, stock_isin, user_name, added_at) " +
+            "VALUES (:id, :stockIsin, :userName, :addedAt)", nativeQuery = true)
+    int insertIgnore(@Param("id") Long id,
+                     @Param("stockIsin") String stockIsin,
+                     @Param("userName") String userName,
+                     @Param("addedAt") LocalDateTime addedAt);
+
+    @Modifying
+    @Query("DELETE FROM StockWatcher w WHERE w.stockIsin = :stockIsin AND w.userName = :userName")
+    int deleteByStockIsinAndUserName(@Param("stockIsin") String stockIsin, @Param("userName") String userName);
+}
@@ -0,0 +1,102 @@
+package com.anteater.newsfeedservice.service;
+
+import com.anteater.common.id.SnowflakeIdGenerator;
+import com.anteater.newsfeedservice.repository.ProcessedEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * 리밸런스나 재시도로 다시 전달된 이벤트를 걸러낸다.
+ *
+ * 컨슈머 트랜잭션 안에서 호출되어 처음 보는 이벤트 ID 를 processed_events 에 기록하므로,
+ * 피드 적재가 롤백되면 기록도 함께 롤백되고 커밋되면 이후 재전달은 모두 건너뛴다.
+ */
+@Slf4j
+@Component
+public class EventDeduplicator {
+
+    private final ProcessedEventRepository processedEventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration retention;
+    private final int purgeBatchSize;
+
+    public EventDeduplicator(ProcessedEventRepository processedEventRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${newsfeed.dedup.retention:7d}") Duration retention,
+                             @Value("${newsfeed.dedup.purge-batch-size:5000}") int purgeBatchSize) {
+        this.processedEventRepository = processedEventRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retention = retention;
+        this.purgeBatchSize = purgeBatchSize;
+    }
+
+    // 처음 보는 이벤트만 원래 순서대로 반환. ID 가 없는 이벤트(null, 또는 ID 이전 JSON 이벤트의 0)는 거를 수 없으므로 그대로 통과
+    @Transactional(propagation = Propagation.MANDATORY)
+    public <E> List<E> filterNew(String topic, List<E> events, Function<E, Long> eventIdOf) {
+        Set<Long> eventIds = new HashSet<>();
+        for (E event : events) {
+            Long eventId = eventIdOf.apply(event);
+            if (hasId(eventId)) {
+                eventIds.add(eventId);
+            }
+        }
+        if (eventIds.isEmpty()) {
+            return events;
+        }
+
+        // 이미 기록된 ID 와 같은 배치 안에서 반복된 ID 를 함께 건너뛴다
+        Set<Long> seen = new HashSet<>(processedEventRepository.findProcessedIds(topic, eventIds));
+        List<Long> newIds = new ArrayList<>(eventIds.size());
+        List<E> fresh = new ArrayList<>(events.size());
+        for (E event : events) {
+            Long eventId = eventIdOf.apply(event);
+            if (!hasId(eventId)) {
+                fresh.add(event);
+            } else if (seen.add(eventId)) {
+                newIds.add(eventId);
+                fresh.add(event);
+            }
+        }
+        processedEventRepository.insertAll(topic, newIds);
+        if (fresh.size() < events.size()) {
+            log.info("Skipped {} duplicate events on {}", events.size() - fresh.size(), topic);
+        }
+        return fresh;
+    }
+
+    private static boolean hasId(Long eventId) {
+        return eventId != null && eventId != 0;
+    }
+
+    // 보존 기간보다 오래된 이벤트는 더 이상 재전달되지 않으므로 ID 범위로 정리.
+    // 기본 키를 타도록 토픽마다 지우고, 묶음마다 트랜잭션을 나눠 컨슈머의 기록과 오래 경합하지 않게 한다
+    @Scheduled(fixedDelayString = "${newsfeed.dedup.purge-interval:3600000}")
+    public void purge() {
+        long minEventId = SnowflakeIdGenerator.minIdAt(System.currentTimeMillis() - retention.toMillis());
+        long deleted = 0;
+        for (String topic : processedEventRepository.findTopics()) {
+            Integer chunk;
+            do {
+                chunk = transactionTemplate.execute(status ->
+                        processedEventRepository.deleteOlderThan(topic, minEventId, purgeBatchSize));
+                deleted += chunk == null ? 0 : chunk;
+            } while (chunk != null && chunk == purgeBatchSize);
+        }
+        if (deleted > 0) {
+            log.info("Purged {} processed event ids", deleted);
+        }
+    }
+}
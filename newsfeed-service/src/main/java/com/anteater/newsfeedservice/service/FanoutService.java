@@ -0,0 +1,248 @@
+package com.anteater.newsfeedservice.service;
+
+import com.anteater.event.PostEvent;
+import com.anteater.newsfeedservice.cache.TimelineCache;
+import com.anteater.newsfeedservice.client.MemberClient;
+import com.anteater.newsfeedservice.entity.FanoutJob;
+import com.anteater.newsfeedservice.entity.NewsfeedItem;
+import com.anteater.newsfeedservice.entity.StockPost;
+import com.anteater.newsfeedservice.entity.StockWatcher;
+import com.anteater.newsfeedservice.repository.FanoutJobRepository;
+import com.anteater.newsfeedservice.repository.FeedTombstoneRepository;
+import com.anteater.newsfeedservice.repository.NewsfeedItemRepository;
+import com.anteater.newsfeedservice.repository.StockPostRepository;
+import com.anteater.newsfeedservice.repository.StockWatcherRepository;
+import com.anteater.newsfeedservice.stream.LiveFeedBroker;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 게시글을 종목 구독자들의 피드에 전달하는 fan-out-on-write 단계.
+ *
+ * 컨슈머는 게시글마다 {@link FanoutJob} 만 기록하고 바로 반환한다. 스케줄러가 작업을 선점해
+ * 구독자를 id 순 청크로 나누어 fanoutExecutor 에서 병렬로 적재하고, 청크 묶음마다 체크포인트를 남긴다.
+ * 구독자가 많은 hot 종목의 게시글은 팬아웃하지 않고 {@link StockPost} 로 한 번만 저장한다.
+ */
+@Slf4j
+@Service
+public class FanoutService {
+
+    private final FanoutJobRepository fanoutJobRepository;
+    private final StockWatcherRepository stockWatcherRepository;
+    private final StockPostRepository stockPostRepository;
+    private final NewsfeedItemRepository newsfeedItemRepository;
+    private final FeedTombstoneRepository feedTombstoneRepository;
+    private final HotStockRegistry hotStockRegistry;
+    private final TimelineCache timelineCache;
+    private final LiveFeedBroker liveFeedBroker;
+    private final MemberClient memberClient;
+    private final ThreadPoolTaskExecutor fanoutExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int parallelism;
+    private final int maxJobsPerPoll;
+    private final Duration staleAfter;
+    private final Duration retention;
+    private final int purgeBatchSize;
+
+    public FanoutService(FanoutJobRepository fanoutJobRepository,
+                         StockWatcherRepository stockWatcherRepository,
+                         StockPostRepository stockPostRepository,
+                         NewsfeedItemRepository newsfeedItemRepository,
+                         FeedTombstoneRepository feedTombstoneRepository,
+                         HotStockRegistry hotStockRegistry,
+                         TimelineCache timelineCache,
+                         LiveFeedBroker liveFeedBroker,
+                         MemberClient memberClient,
+                         @Qualifier("fanoutExecutor") ThreadPoolTaskExecutor fanoutExecutor,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${newsfeed.fanout.chunk-size:1000}") int chunkSize,
+                         @Value("${newsfeed.fanout.parallelism:4}") int parallelism,
+                         @Value("${newsfeed.fanout.max-jobs-per-poll:10}") int maxJobsPerPoll,
+                         @Value("${newsfeed.fanout.stale-after:60s}") Duration staleAfter,
+                         @Value("${newsfeed.fanout.retention:1d}") Duration retention,
+                         @Value("${newsfeed.fanout.purge-batch-size:1000}") int purgeBatchSize) {
+        this.fanoutJobRepository = fanoutJobRepository;
+        this.stockWatcherRepository = stockWatcherRepository;
+        this.stockPostRepository = stockPostRepository;
+        this.newsfeedItemRepository = newsfeedItemRepository;
+        this.feedTombstoneRepository = feedTombstoneRepository;
+        this.hotStockRegistry = hotStockRegistry;
+        this.timelineCache = timelineCache;
+        this.liveFeedBroker = liveFeedBroker;
+        this.memberClient = memberClient;
+        this.fanoutExecutor = fanoutExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+        this.maxJobsPerPoll = maxJobsPerPoll;
+        this.staleAfter = staleAfter;
+        this.retention = retention;
+        this.purgeBatchSize = purgeBatchSize;
+    }
+
+    // 컨슈머 트랜잭션 안에서 호출: 작업만 기록하므로 구독자 수와 무관하게 컨슈머 스레드를 막지 않는다
+    public void enqueue(List<PostEvent> events) {
+        LocalDateTime now = LocalDateTime.now();
+        List<FanoutJob> jobs = new ArrayList<>(events.size());
+        List<StockPost> hotPosts = new ArrayList<>();
+        for (PostEvent event : events) {
+            if (hotStockRegistry.isHot(event.stockIsin())) {
+                hotPosts.add(toStockPost(event, now));
+                continue;
+            }
+            FanoutJob job = new FanoutJob();
+            job.setPostId(event.postId());
+            job.setStockIsin(event.stockIsin());
+            job.setAuthorName(String.valueOf(event.authorId()));
+            job.setPostedAt(now);
+            job.setUpdatedAt(now);
+            jobs.add(job);
+        }
+        fanoutJobRepository.saveAll(jobs);
+        stockPostRepository.saveAll(hotPosts);
+    }
+
+    // 삭제된 게시글: hot 종목 게시글은 바로 지우고, 진행 중인 팬아웃은 다음 청크 전에 멈춘다 (runJob)
+    public void discard(List<Long> postIds) {
+        stockPostRepository.deleteByPostIdIn(postIds);
+    }
+
+    @Scheduled(fixedDelayString = "${newsfeed.fanout.poll-interval:1000}")
+    public void processPendingJobs() {
+        LocalDateTime staleBefore = LocalDateTime.now().minus(staleAfter);
+        List<Long> candidates = fanoutJobRepository.findClaimableIds(staleBefore, PageRequest.of(0, maxJobsPerPoll));
+        for (Long jobId : candidates) {
+            Boolean claimed = transactionTemplate.execute(status ->
+                    fanoutJobRepository.claim(jobId, LocalDateTime.now(), staleBefore) == 1);
+            if (Boolean.TRUE.equals(claimed)) {
+                fanoutJobRepository.findById(jobId).ifPresent(this::runJob);
+            }
+        }
+    }
+
+    // 끝난 작업은 보존 기간이 지나면 지운다 (선점 조회가 훑는 테이블을 작게 유지)
+    @Scheduled(fixedDelayString = "${newsfeed.fanout.purge-interval:3600000}")
+    public void purge() {
+        LocalDateTime doneBefore = LocalDateTime.now().minus(retention);
+        long deleted = 0;
+        Integer chunk;
+        do {
+            chunk = transactionTemplate.execute(status -> fanoutJobRepository.deleteDoneBefore(doneBefore, purgeBatchSize));
+            deleted += chunk == null ? 0 : chunk;
+        } while (chunk != null && chunk == purgeBatchSize);
+        if (deleted > 0) {
+            log.info("Purged {} finished fanout jobs", deleted);
+        }
+    }
+
+    private void runJob(FanoutJob job) {
+        long lastWatcherId = job.getLastWatcherId();
+        try {
+            // 구독자는 username 으로, 작성자는 회원 ID 로 들어오므로 작성자의 username 을 찾아 본인을 건너뛴다
+            String authorUsername = resolveUsername(job.getAuthorName());
+            while (true) {
+                if (isDeleted(job)) {
+                    checkpoint(job, lastWatcherId, 0, FanoutJob.Status.DONE);
+                    return;
+                }
+                // 병렬 처리할 청크 묶음만큼 구독자를 읽고, 모두 끝나면 체크포인트
+                List<StockWatcher> window = stockWatcherRepository.findByStockIsinAndIdGreaterThanOrderByIdAsc(
+                        job.getStockIsin(), lastWatcherId, PageRequest.of(0, chunkSize * parallelism));
+                if (window.isEmpty()) {
+                    checkpoint(job, lastWatcherId, 0, FanoutJob.Status.DONE);
+                    return;
+                }
+
+                List<CompletableFuture<Integer>> chunks = new ArrayList<>();
+                for (int from = 0; from < window.size(); from += chunkSize) {
+                    List<StockWatcher> chunk = window.subList(from, Math.min(from + chunkSize, window.size()));
+                    chunks.add(CompletableFuture.supplyAsync(() -> deliver(job, authorUsername, chunk), fanoutExecutor));
+                }
+                CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)).join();
+                int delivered = chunks.stream().mapToInt(CompletableFuture::join).sum();
+
+                lastWatcherId = window.get(window.size() - 1).getId();
+                boolean finished = window.size() < chunkSize * parallelism;
+                checkpoint(job, lastWatcherId, delivered,
+                        finished ? FanoutJob.Status.DONE : FanoutJob.Status.RUNNING);
+                if (finished) {
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            // RUNNING 상태로 남겨 두면 stale-after 이후 마지막 체크포인트부터 다시 선점된다
+            log.error("Fan-out job {} for post {} failed after watcher {}", job.getId(), job.getPostId(), lastWatcherId, e);
+        }
+    }
+
+    // 청크 하나를 자체 트랜잭션에서 multi-row INSERT 로 적재하고, 커밋 후 타임라인 캐시에 반영.
+    // 재선점된 작업은 체크포인트 이후 청크가 이미 커밋되었을 수 있으므로 받은 구독자를 먼저 걸러낸다
+    private int deliver(FanoutJob job, String authorUsername, List<StockWatcher> watchers) {
+        Set<String> delivered = job.getAttempts() > 1
+                ? new HashSet<>(newsfeedItemRepository.findRecipients("POST", job.getPostId(),
+                        watchers.stream().map(StockWatcher::getUserName).toList()))
+                : Set.of();
+        List<NewsfeedItem> items = new ArrayList<>(watchers.size());
+        for (StockWatcher watcher : watchers) {
+            if (watcher.getUserName().equals(authorUsername) || delivered.contains(watcher.getUserName())) {
+                continue;
+            }
+            items.add(toItem(job, watcher.getUserName()));
+        }
+        transactionTemplate.executeWithoutResult(status -> newsfeedItemRepository.insertAll(items));
+        timelineCache.appendAll(items);
+        liveFeedBroker.publish(items);
+        return items.size();
+    }
+
+    // member-service 를 쓸 수 없으면 예외로 작업을 멈추고, stale-after 이후 다시 선점해 재시도한다
+    private String resolveUsername(String authorId) {
+        Long id = Long.valueOf(authorId);
+        return memberClient.findUsernames(List.of(id)).get(id);
+    }
+
+    private boolean isDeleted(FanoutJob job) {
+        return !feedTombstoneRepository.findTombstonedIds(FeedTombstoneService.POST, List.of(job.getPostId())).isEmpty();
+    }
+
+    private void checkpoint(FanoutJob job, long lastWatcherId, long delivered, FanoutJob.Status status) {
+        transactionTemplate.executeWithoutResult(tx ->
+                fanoutJobRepository.checkpoint(job.getId(), lastWatcherId, delivered, status, LocalDateTime.now()));
+    }
+
+    private StockPost toStockPost(PostEvent event, LocalDateTime now) {
+        StockPost post = new StockPost();
+        post.setStockIsin(event.stockIsin());
+        post.setPostId(event.postId());
+        post.setAuthorName(String.valueOf(event.authorId()));
+        post.setCreatedAt(now);
+        return post;
+    }
+
+    private NewsfeedItem toItem(FanoutJob job, String userName) {
+        NewsfeedItem item = new NewsfeedItem();
+        item.setUserName(userName);
+        item.setActorName(job.getAuthorName());
+        item.setEventType("POST");
+        item.setCreatedAt(job.getPostedAt());
+        item.setRelatedId(job.getPostId());
+        item.setStockIsin(job.getStockIsin());
+        return item;
+    }
+}
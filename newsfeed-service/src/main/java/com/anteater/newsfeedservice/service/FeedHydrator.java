@@ -0,0 +1,203 @@
+package com.anteater.newsfeedservice.service;
+
+import com.anteater.newsfeedservice.client.ActivityClient;
+import com.anteater.newsfeedservice.client.ActivityClient.CommentSummary;
+import com.anteater.newsfeedservice.client.ActivityClient.PostSummary;
+import com.anteater.newsfeedservice.client.MemberClient;
+import com.anteater.newsfeedservice.client.MemberClient.DisplayNames;
+import com.anteater.newsfeedservice.entity.NewsfeedItem;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * 조회한 피드 항목(참조만 저장)에 본문과 표시 이름을 채운다.
+ *
+ * 한 페이지의 항목에서 게시글/댓글 ID 와 사용자를 모아 activity-service, member-service 에 각각 한 번씩 bulk 조회한다.
+ * 원본이 삭제된 항목은 결과에서 빠지고, 수정된 본문은 피드 행을 다시 쓰지 않아도 바로 반영된다.
+ * 조회가 실패하면 본문/이름 없이 참조만으로 문구를 만들어 피드 자체는 계속 보여준다.
+ */
+@Slf4j
+@Component
+public class FeedHydrator {
+
+    private static final String ACTOR_SEPARATOR = ",";
+
+    private final ActivityClient activityClient;
+    private final MemberClient memberClient;
+
+    public FeedHydrator(ActivityClient activityClient, MemberClient memberClient) {
+        this.activityClient = activityClient;
+        this.memberClient = memberClient;
+    }
+
+    public List<NewsfeedItem> hydrate(List<NewsfeedItem> items) {
+        if (items.isEmpty()) {
+            return items;
+        }
+        Set<Long> postIds = new LinkedHashSet<>();
+        Set<Long> commentIds = new LinkedHashSet<>();
+        Set<Long> memberIds = new LinkedHashSet<>();
+        Set<String> usernames = new LinkedHashSet<>();
+        for (NewsfeedItem item : items) {
+            switch (item.getEventType()) {
+                case "POST", "LIKE_POST" -> postIds.add(item.getRelatedId());
+                case "COMMENT", "LIKE_COMMENT" -> commentIds.add(item.getRelatedId());
+                default -> { }
+            }
+            if (actorIsUsername(item)) {
+                usernames.add(item.getActorName());
+            } else {
+                addMemberId(memberIds, item.getActorName());
+                for (String actor : recentActors(item)) {
+                    addMemberId(memberIds, actor);
+                }
+            }
+        }
+
+        Map<Long, PostSummary> posts = fetch("posts", () -> index(activityClient.findPosts(postIds), PostSummary::id));
+        Map<Long, CommentSummary> comments =
+                fetch("comments", () -> index(activityClient.findComments(commentIds), CommentSummary::id));
+        DisplayNames names = fetch("display names", () -> memberClient.findDisplayNames(memberIds, usernames));
+
+        List<NewsfeedItem> hydrated = new ArrayList<>(items.size());
+        for (NewsfeedItem item : items) {
+            String content = render(item, posts, comments, names);
+            if (content == null) {
+                continue;  // 원본이 삭제됨
+            }
+            item.setContent(content);
+            item.setActorDisplayName(actorIsUsername(item)
+                    ? byUsername(item.getActorName(), names) : displayName(item.getActorName(), names));
+            hydrated.add(item);
+        }
+        return hydrated;
+    }
+
+    // 원본이 삭제되었으면 null. 조회에 실패한 경우(map 이 null)에는 본문 없이 만든다
+    private String render(NewsfeedItem item, Map<Long, PostSummary> posts, Map<Long, CommentSummary> comments,
+                          DisplayNames names) {
+        switch (item.getEventType()) {
+            case "POST" -> {
+                if (posts == null) {
+                    return "Posted about stock " + item.getStockIsin();
+                }
+                PostSummary post = posts.get(item.getRelatedId());
+                return post == null ? null : "Posted about stock " + item.getStockIsin() + ": " + post.content();
+            }
+            case "COMMENT" -> {
+                if (comments == null) {
+                    return "Commented";
+                }
+                CommentSummary comment = comments.get(item.getRelatedId());
+                return comment == null ? null : "Commented: " + comment.content();
+            }
+            case "LIKE_POST" -> {
+                return posts != null && !posts.containsKey(item.getRelatedId()) ? null : renderLikes(item, "post", names);
+            }
+            case "LIKE_COMMENT" -> {
+                return comments != null && !comments.containsKey(item.getRelatedId())
+                        ? null : renderLikes(item, "comment", names);
+            }
+            case "WATCHLIST_ADDED" -> {
+                return "Added stock " + item.getStockIsin() + " to watchlist";
+            }
+            case "WATCHLIST_REMOVED" -> {
+                return "Removed stock " + item.getStockIsin() + " from watchlist";
+            }
+            default -> {
+                return item.getEventType();
+            }
+        }
+    }
+
+    private String renderLikes(NewsfeedItem item, String target, DisplayNames names) {
+        List<String> actors = recentActors(item).stream()
+                .map(actor -> displayName(actor, names))
+                .toList();
+        long count = item.getAggregateCount() == null ? 0 : item.getAggregateCount();
+        long others = count - actors.size();
+        if (actors.isEmpty()) {
+            return others + (others == 1 ? " person" : " people") + " liked your " + target;
+        }
+        String joined = String.join(", ", actors);
+        if (others <= 0) {
+            return joined + " liked your " + target;
+        }
+        return joined + " and " + others + (others == 1 ? " other" : " others") + " liked your " + target;
+    }
+
+    // 표시 이름을 못 찾으면 저장된 식별자를 그대로 쓴다
+    private static String displayName(String actor, DisplayNames names) {
+        if (actor == null || names == null) {
+            return actor;
+        }
+        Long memberId = parseId(actor);
+        String name = memberId == null || names.byId() == null ? null : names.byId().get(memberId);
+        return name != null ? name : actor;
+    }
+
+    private static String byUsername(String actor, DisplayNames names) {
+        if (actor == null || names == null) {
+            return actor;
+        }
+        String name = names.byUsername() == null ? null : names.byUsername().get(actor);
+        return name != null ? name : actor;
+    }
+
+    private <T> T fetch(String what, Supplier<T> call) {
+        try {
+            return call.get();
+        } catch (RestClientException e) {
+            log.warn("Failed to fetch {} for feed hydration, rendering without them", what, e);
+            return null;
+        }
+    }
+
+    private static <T> Map<Long, T> index(List<T> values, Function<T, Long> idOf) {
+        if (values == null) {
+            return new HashMap<>();
+        }
+        return values.stream().collect(Collectors.toMap(idOf, Function.identity(), (a, b) -> a));
+    }
+
+    // 관심 종목 항목과 작성자 피드의 원본 항목(사용자 = 행위자)은 username 을, 팬아웃 사본과 좋아요 행위자는 회원 ID 를 저장한다
+    private static boolean actorIsUsername(NewsfeedItem item) {
+        return item.getEventType().startsWith("WATCHLIST") || item.getUserName().equals(item.getActorName());
+    }
+
+    private static List<String> recentActors(NewsfeedItem item) {
+        String recentActors = item.getRecentActors();
+        return recentActors == null || recentActors.isEmpty()
+                ? List.of() : Arrays.asList(recentActors.split(ACTOR_SEPARATOR));
+    }
+
+    private static void addMemberId(Set<Long> memberIds, String actor) {
+        Long id = parseId(actor);
+        if (id != null) {
+            memberIds.add(id);
+        }
+    }
+
+    private static Long parseId(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
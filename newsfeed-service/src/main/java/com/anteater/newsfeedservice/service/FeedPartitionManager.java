@@ -0,0 +1,154 @@
+package com.anteater.newsfeedservice.service;
+
+import com.anteater.newsfeedservice.repository.FeedPartitionRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * newsfeed_items 를 created_at 기준 월 파티션으로 유지한다.
+ *
+ * 앞으로 쓸 달의 파티션을 미리 만들어 두고, 보존 기간이 지난 달은 파티션째 버린다. 조회는 {@link #horizon()} 이후로
+ * 범위를 제한해 보존 기간 안의 파티션만 읽으므로, 테이블이 커져도 한 파티션의 인덱스 깊이는 한 달 분량으로 유지된다.
+ * 여러 인스턴스가 동시에 실행해도 매번 현재 파티션 목록을 보고 필요한 만큼만 바꾼다.
+ */
+@Slf4j
+@Service
+public class FeedPartitionManager {
+
+    private final FeedPartitionRepository feedPartitionRepository;
+    private final int retentionMonths;
+    private final int monthsAhead;
+    private final int recentMonths;
+    private final boolean autoConvert;
+
+    public FeedPartitionManager(FeedPartitionRepository feedPartitionRepository,
+                                @Value("${newsfeed.partition.retention-months:6}") int retentionMonths,
+                                @Value("${newsfeed.partition.months-ahead:2}") int monthsAhead,
+                                @Value("${newsfeed.partition.recent-months:1}") int recentMonths,
+                                @Value("${newsfeed.partition.auto-convert:false}") boolean autoConvert) {
+        if (retentionMonths < 1 || recentMonths < 0) {
+            throw new IllegalArgumentException("retention-months must be >= 1 and recent-months >= 0");
+        }
+        this.feedPartitionRepository = feedPartitionRepository;
+        this.retentionMonths = retentionMonths;
+        this.monthsAhead = monthsAhead;
+        this.recentMonths = Math.min(recentMonths, retentionMonths - 1);
+        this.autoConvert = autoConvert;
+    }
+
+    // 보존 기간의 시작. 이보다 오래된 항목은 아직 파티션이 남아 있어도 피드에 나오지 않는다
+    public LocalDateTime horizon() {
+        return oldestRetained().atDay(1).atStartOfDay();
+    }
+
+    // 첫 페이지를 먼저 찾아볼 최근 범위 (이번 달과 직전 recent-months 개월)
+    public LocalDateTime recentHorizon() {
+        return YearMonth.now().minusMonths(recentMonths).atDay(1).atStartOfDay();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${newsfeed.partition.maintain-cron:0 10 0 * * *}")
+    public void maintain() {
+        try {
+            List<String> partitions = feedPartitionRepository.findPartitionNames();
+            if (partitions.isEmpty()) {
+                if (!autoConvert) {
+                    log.warn("newsfeed_items is not partitioned: convert it with POST /internal/newsfeed/partitions/convert");
+                    return;
+                }
+                convert();
+                partitions = feedPartitionRepository.findPartitionNames();
+            }
+            addFuturePartitions(partitions);
+            dropExpiredPartitions(partitions);
+        } catch (DataAccessException e) {
+            // 다른 인스턴스가 먼저 바꾼 경우 등. 다음 실행에서 다시 맞춘다
+            log.error("Failed to maintain newsfeed_items partitions", e);
+        }
+    }
+
+    /**
+     * 운영자가 점검 시간에 직접 실행하는 변환. 테이블 전체를 복사하므로 그동안 쓰기가 막힌다.
+     * 이미 파티션이 있으면 아무것도 하지 않고, 끝나면 현재 파티션 목록을 반환한다.
+     */
+    public synchronized List<String> convertNow() {
+        if (feedPartitionRepository.findPartitionNames().isEmpty()) {
+            convert();
+        }
+        maintain();
+        return feedPartitionRepository.findPartitionNames();
+    }
+
+    public List<String> partitions() {
+        return feedPartitionRepository.findPartitionNames();
+    }
+
+    private void convert() {
+        YearMonth first = feedPartitionRepository.findOldestCreatedAt()
+                .map(YearMonth::from)
+                .orElse(YearMonth.now());
+        if (first.isBefore(oldestRetained())) {
+            // 보존 기간이 지난 행은 한 파티션에 모아 바로 버린다
+            first = oldestRetained().minusMonths(1);
+        }
+        List<YearMonth> months = monthsBetween(first, YearMonth.now().plusMonths(monthsAhead));
+        log.info("Partitioning newsfeed_items by month: {} .. {}", months.get(0), months.get(months.size() - 1));
+        feedPartitionRepository.partitionByMonth(months);
+    }
+
+    private void addFuturePartitions(List<String> partitions) {
+        YearMonth last = YearMonth.now().plusMonths(monthsAhead);
+        YearMonth newest = partitions.stream()
+                .map(FeedPartitionRepository::monthOf)
+                .filter(Objects::nonNull)
+                .max(YearMonth::compareTo)
+                .orElse(YearMonth.now().minusMonths(1));
+        if (!newest.isBefore(last)) {
+            return;
+        }
+        List<YearMonth> missing = monthsBetween(newest.plusMonths(1), last);
+        feedPartitionRepository.addPartitions(missing, partitions.contains(FeedPartitionRepository.MAX_PARTITION));
+        log.info("Added newsfeed_items partitions {} .. {}", missing.get(0), last);
+    }
+
+    private void dropExpiredPartitions(List<String> partitions) {
+        YearMonth oldestRetained = oldestRetained();
+        List<String> expired = partitions.stream()
+                .filter(name -> {
+                    YearMonth month = FeedPartitionRepository.monthOf(name);
+                    return month != null && month.isBefore(oldestRetained);
+                })
+                .toList();
+        if (!expired.isEmpty()) {
+            feedPartitionRepository.dropPartitions(expired);
+            log.info("Dropped expired newsfeed_items partitions {}", expired);
+        }
+    }
+
+    private YearMonth oldestRetained() {
+        return YearMonth.now().minusMonths(retentionMonths - 1);
+    }
+
+    private static List<YearMonth> monthsBetween(YearMonth from, YearMonth to) {
+        List<YearMonth> months = new ArrayList<>();
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            months.add(month);
+        }
+        return months;
+    }
+}
@@ -0,0 +1,383 @@
+package com.anteater.newsfeedservice.service;
+
+import com.anteater.common.id.SnowflakeIdGenerator;
+import com.anteater.event.ChangeType;
+import com.anteater.event.CommentEvent;
+import com.anteater.event.PostEvent;
+import com.anteater.event.Topics;
+import com.anteater.event.WatchlistEvent;
+import com.anteater.event.codec.EventDeserializer;
+import com.anteater.newsfeedservice.cache.TimelineCache;
+import com.anteater.newsfeedservice.client.MemberClient;
+import com.anteater.newsfeedservice.entity.NewsfeedItem;
+import com.anteater.newsfeedservice.kafka.ListenerPauseCoordinator;
+import com.anteater.newsfeedservice.repository.FeedRebuildRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.ConsumerGroupDescription;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.consumer.OffsetAndTimestamp;
+import org.apache.kafka.common.ConsumerGroupState;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 이벤트 토픽을 지정한 시각부터 다시 읽어 newsfeed_items 를 재구성한다.
+ *
+ * 리스너를 거치지 않고 전용 consumer 로 파티션을 직접 할당해 최대 속도로 읽고, shadow 테이블에 큰 묶음의
+ * multi-row INSERT 로 적재한다. 항목 id 는 이벤트 ID 이므로 재전달된 이벤트는 테이블의 기본 키로 걸러진다.
+ * 읽는 범위의 끝은 실시간 소비 그룹(newsfeed-group)의 커밋 오프셋이다.
+ * 마지막에 모든 노드의 리스너(재시도 단계 포함)를 잠시 멈추고 그 시점의 커밋 오프셋까지 따라잡은 뒤, 이벤트로 다시
+ * 만들 수 없는 행(시작 시각 이전 항목, 팬아웃 사본, 좋아요 요약)을 옮기고 테이블을 교체한다. 옮기는 동안에도
+ * 팬아웃과 좋아요 요약은 계속 쓰이므로, 교체는 두 테이블을 잠근 채 그사이 바뀐 행을 다시 옮긴 뒤에 한다.
+ * 리스너는 교체된 테이블에서 멈춘 오프셋부터 이어서 적재하므로 빠지거나 겹치는 이벤트가 없다.
+ */
+@Slf4j
+@Service
+public class FeedRebuildService {
+
+    private static final String LIVE_GROUP = "newsfeed-group";
+    private static final List<String> REPLAYED_TOPICS =
+            List.of(Topics.POST_EVENTS, Topics.COMMENT_EVENTS, Topics.WATCHLIST_EVENTS);
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(500);
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+    // 노드 간 시계 차이 여유: 옮기기 시작한 시각보다 이만큼 앞선 변경부터 교체 시 다시 옮긴다
+    private static final Duration CLOCK_SKEW = Duration.ofMinutes(1);
+
+    public enum State { IDLE, RUNNING, SWAPPING, DONE, FAILED }
+
+    public record Progress(State state, Instant from, Instant startedAt, Instant finishedAt,
+                           long eventsRead, long rowsWritten, long remaining, long eventsPerSecond, String error) {
+    }
+
+    private final FeedRebuildRepository feedRebuildRepository;
+    private final TimelineCache timelineCache;
+    private final MemberClient memberClient;
+    private final KafkaListenerEndpointRegistry listenerRegistry;
+    private final ListenerPauseCoordinator listenerPauseCoordinator;
+    private final KafkaAdmin kafkaAdmin;
+    private final DefaultKafkaConsumerFactory<String, Object> consumerFactory;
+    private final int batchSize;
+    private final Duration pauseTimeout;
+    private final long reportInterval;
+
+    private volatile State state = State.IDLE;
+    private volatile Instant from;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String error;
+    private final AtomicLong eventsRead = new AtomicLong();
+    private final AtomicLong rowsWritten = new AtomicLong();
+    private final AtomicLong remaining = new AtomicLong();
+
+    public FeedRebuildService(FeedRebuildRepository feedRebuildRepository,
+                              TimelineCache timelineCache,
+                              MemberClient memberClient,
+                              KafkaListenerEndpointRegistry listenerRegistry,
+                              ListenerPauseCoordinator listenerPauseCoordinator,
+                              KafkaAdmin kafkaAdmin,
+                              @Value("${spring.kafka.bootstrap-servers}") String bootstrapServers,
+                              @Value("${newsfeed.rebuild.batch-size:5000}") int batchSize,
+                              @Value("${newsfeed.rebuild.pause-timeout:60s}") Duration pauseTimeout,
+                              @Value("${newsfeed.rebuild.report-interval:10000}") long reportInterval) {
+        this.feedRebuildRepository = feedRebuildRepository;
+        this.timelineCache = timelineCache;
+        this.memberClient = memberClient;
+        this.listenerRegistry = listenerRegistry;
+        this.listenerPauseCoordinator = listenerPauseCoordinator;
+        this.kafkaAdmin = kafkaAdmin;
+        this.batchSize = batchSize;
+        this.pauseTimeout = pauseTimeout;
+        this.reportInterval = reportInterval;
+
+        // 그룹 없이 직접 할당하고 오프셋은 커밋하지 않는다. 처리량 위주로 poll 한 번에 많이 가져온다
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        props.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, batchSize);
+        props.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, 1 << 20);
+        props.put(ConsumerConfig.MAX_PARTITION_FETCH_BYTES_CONFIG, 8 << 20);
+        // 디코딩하지 못한 레코드는 null 값으로 받아 건너뛴다 (poll 이 같은 레코드에서 멈추지 않도록)
+        this.consumerFactory = new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(),
+                new ErrorHandlingDeserializer<>(new EventDeserializer()));
+    }
+
+    // 재구성을 백그라운드로 시작한다. 이미 진행 중이면 IllegalStateException
+    public synchronized Progress start(Instant replayFrom) {
+        if (state == State.RUNNING || state == State.SWAPPING) {
+            throw new IllegalStateException("Rebuild is already running");
+        }
+        state = State.RUNNING;
+        from = replayFrom;
+        startedAt = Instant.now();
+        finishedAt = null;
+        error = null;
+        eventsRead.set(0);
+        rowsWritten.set(0);
+        remaining.set(0);
+        Thread worker = new Thread(this::run, "feed-rebuild");
+        worker.start();
+        return getProgress();
+    }
+
+    public Progress getProgress() {
+        Instant end = finishedAt != null ? finishedAt : Instant.now();
+        long elapsed = startedAt == null ? 0 : Math.max(1, Duration.between(startedAt, end).toMillis());
+        long rate = elapsed == 0 ? 0 : eventsRead.get() * 1000 / elapsed;
+        return new Progress(state, from, startedAt, finishedAt,
+                eventsRead.get(), rowsWritten.get(), remaining.get(), rate, error);
+    }
+
+    private void run() {
+        boolean paused = false;
+        try (Consumer<String, Object> consumer = consumerFactory.createConsumer();
+             AdminClient admin = AdminClient.create(kafkaAdmin.getConfigurationProperties())) {
+            feedRebuildRepository.createShadowTable();
+            List<TopicPartition> partitions = new ArrayList<>();
+            for (String topic : REPLAYED_TOPICS) {
+                consumer.partitionsFor(topic).forEach(info -> partitions.add(new TopicPartition(topic, info.partition())));
+            }
+            consumer.assign(partitions);
+            seekToTimestamp(consumer, partitions);
+
+            replay(consumer, committedOffsets(admin, consumer, partitions));
+            // carried 행은 리스너를 멈추기 전에 옮겨 두고, 그사이 바뀐 행은 교체할 때 잠금 아래에서 다시 옮긴다
+            LocalDateTime replayFrom = LocalDateTime.ofInstant(from, ZONE);
+            LocalDateTime changedSince = LocalDateTime.now().minus(CLOCK_SKEW);
+            int carried = feedRebuildRepository.copyCarriedRows(replayFrom);
+
+            // 모든 노드의 리스너를 멈추고 멈춘 지점까지 따라잡은 뒤 교체
+            state = State.SWAPPING;
+            paused = true;
+            pauseListeners(admin);
+            replay(consumer, committedOffsets(admin, consumer, partitions));
+            carried += feedRebuildRepository.swap(replayFrom, changedSince);
+            rowsWritten.addAndGet(carried);
+            paused = false;
+            resumeListeners();
+            timelineCache.clear();
+
+            state = State.DONE;
+            log.info("Feed rebuild finished: {}", getProgress());
+        } catch (Exception e) {
+            error = e.getMessage();
+            state = State.FAILED;
+            log.error("Feed rebuild failed: {}", getProgress(), e);
+        } finally {
+            if (paused) {
+                resumeListeners();
+            }
+            finishedAt = Instant.now();
+        }
+    }
+
+    private void seekToTimestamp(Consumer<String, Object> consumer, List<TopicPartition> partitions) {
+        Map<TopicPartition, Long> query = new HashMap<>();
+        partitions.forEach(partition -> query.put(partition, from.toEpochMilli()));
+        Map<TopicPartition, OffsetAndTimestamp> offsets = consumer.offsetsForTimes(query);
+        List<TopicPartition> noneAfter = new ArrayList<>();
+        for (TopicPartition partition : partitions) {
+            OffsetAndTimestamp offset = offsets.get(partition);
+            if (offset != null) {
+                consumer.seek(partition, offset.offset());
+            } else {
+                noneAfter.add(partition);
+            }
+        }
+        consumer.seekToEnd(noneAfter);
+    }
+
+    // 실시간 그룹이 커밋한 오프셋 (커밋 기록이 없는 파티션은 현재 끝)
+    private Map<TopicPartition, Long> committedOffsets(AdminClient admin, Consumer<String, Object> consumer,
+                                                       List<TopicPartition> partitions) throws Exception {
+        Map<TopicPartition, OffsetAndMetadata> committed = admin.listConsumerGroupOffsets(LIVE_GROUP)
+                .partitionsToOffsetAndMetadata().get(30, TimeUnit.SECONDS);
+        Map<TopicPartition, Long> ends = consumer.endOffsets(partitions);
+        Map<TopicPartition, Long> targets = new HashMap<>();
+        for (TopicPartition partition : partitions) {
+            OffsetAndMetadata offset = committed.get(partition);
+            targets.put(partition, offset != null ? offset.offset() : ends.get(partition));
+        }
+        return targets;
+    }
+
+    private void replay(Consumer<String, Object> consumer, Map<TopicPartition, Long> targets) {
+        List<Object> buffer = new ArrayList<>(batchSize);
+        long lastReport = System.currentTimeMillis();
+        while (true) {
+            long left = 0;
+            List<TopicPartition> done = new ArrayList<>();
+            for (Map.Entry<TopicPartition, Long> target : targets.entrySet()) {
+                long behind = target.getValue() - consumer.position(target.getKey());
+                if (behind > 0) {
+                    left += behind;
+                } else {
+                    done.add(target.getKey());
+                }
+            }
+            remaining.set(left);
+            consumer.pause(done);
+            if (left == 0) {
+                break;
+            }
+
+            for (ConsumerRecord<String, Object> record : consumer.poll(POLL_TIMEOUT)) {
+                TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+                if (record.offset() >= targets.get(partition)) {
+                    continue;  // 목표 이후 레코드는 교체 뒤 실시간 리스너가 적재
+                }
+                eventsRead.incrementAndGet();
+                if (record.value() == null) {
+                    log.warn("Skipping undecodable record {}-{}@{}", record.topic(), record.partition(), record.offset());
+                    continue;
+                }
+                if (makesItem(record.value())) {
+                    buffer.add(record.value());
+                }
+            }
+            if (buffer.size() >= batchSize) {
+                flush(buffer);
+            }
+            if (System.currentTimeMillis() - lastReport >= reportInterval) {
+                log.info("Feed rebuild progress: {}", getProgress());
+                lastReport = System.currentTimeMillis();
+            }
+        }
+        flush(buffer);
+        consumer.resume(consumer.assignment());
+    }
+
+    // 묶음의 작성자 username 은 한 번에 조회한다. 조회에 실패하면 재구성이 실패한다 (교체 전이므로 다시 시작하면 된다)
+    private void flush(List<Object> buffer) {
+        List<NewsfeedItem> items = toItems(buffer);
+        feedRebuildRepository.insertAll(items);
+        rowsWritten.addAndGet(items.size());
+        buffer.clear();
+    }
+
+    // 수정/삭제 이벤트는 항목을 만들지 않는다 (삭제는 tombstone 으로 조회 시 걸러짐)
+    private static boolean makesItem(Object event) {
+        if (event instanceof PostEvent post) {
+            return post.eventType() == ChangeType.CREATED;
+        }
+        if (event instanceof CommentEvent comment) {
+            return comment.eventType() == ChangeType.CREATED;
+        }
+        return event instanceof WatchlistEvent;
+    }
+
+    // 항목 시각은 소비 시각이 아닌 이벤트 발급 시각(Snowflake eventId)을 쓰고, id 도 eventId 로 둬 중복을 테이블이 거른다.
+    // 찾지 못한 작성자(탈퇴)의 항목은 실시간 적재와 같이 만들지 않는다
+    private List<NewsfeedItem> toItems(List<Object> events) {
+        List<Long> authorIds = new ArrayList<>();
+        for (Object event : events) {
+            if (event instanceof PostEvent post) {
+                authorIds.add(post.authorId());
+            } else if (event instanceof CommentEvent comment) {
+                authorIds.add(comment.authorId());
+            }
+        }
+        Map<Long, String> usernames = memberClient.findUsernames(authorIds.stream().distinct().toList());
+        List<NewsfeedItem> items = new ArrayList<>(events.size());
+        for (Object event : events) {
+            if (event instanceof PostEvent post) {
+                String authorName = usernames.get(post.authorId());
+                if (authorName != null) {
+                    items.add(withEventId(NewsfeedItemMapper.postItem(post, authorName, timeOf(post.eventId())),
+                            post.eventId()));
+                }
+            } else if (event instanceof CommentEvent comment) {
+                String authorName = usernames.get(comment.authorId());
+                if (authorName != null) {
+                    items.add(withEventId(NewsfeedItemMapper.commentItem(comment, authorName,
+                            timeOf(comment.eventId())), comment.eventId()));
+                }
+            } else if (event instanceof WatchlistEvent watchlist) {
+                items.add(withEventId(NewsfeedItemMapper.watchlistItem(watchlist, timeOf(watchlist.eventId())),
+                        watchlist.eventId()));
+            }
+        }
+        return items;
+    }
+
+    // eventId 가 없는 이벤트(0, ID 이전 JSON)는 새 id 를 받는다
+    private static NewsfeedItem withEventId(NewsfeedItem item, long eventId) {
+        if (eventId != 0) {
+            item.setId(eventId);
+        }
+        return item;
+    }
+
+    private static LocalDateTime timeOf(long eventId) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(SnowflakeIdGenerator.extractTimestamp(eventId)), ZONE);
+    }
+
+    // 모든 노드의 실시간 리스너와 재시도 단계 리스너를 멈춘다 (교체 직전에 재생하지 않은 행을 어느 노드도 쓰지 않도록).
+    // 각 노드는 처리 중인 배치가 끝나 오프셋을 커밋한 뒤 응답하므로, 소비 그룹에 할당된 모든 파티션이 응답될 때까지 기다린다
+    private void pauseListeners(AdminClient admin) throws Exception {
+        List<String> groups = listenerRegistry.getListenerContainers().stream()
+                .map(MessageListenerContainer::getGroupId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .toList();
+        listenerPauseCoordinator.requestPause();
+        long deadline = System.currentTimeMillis() + pauseTimeout.toMillis();
+        while (true) {
+            Set<String> assigned = assignedPartitions(admin, groups);
+            if (assigned != null && listenerPauseCoordinator.pausedPartitions().containsAll(assigned)) {
+                return;
+            }
+            if (System.currentTimeMillis() > deadline) {
+                throw new IllegalStateException("Live listeners did not pause on all nodes within " + pauseTimeout);
+            }
+            Thread.sleep(100);
+        }
+    }
+
+    // 리밸런스 중인 그룹이 있으면 할당을 믿을 수 없으므로 null
+    private static Set<String> assignedPartitions(AdminClient admin, List<String> groups) throws Exception {
+        Set<String> assigned = new HashSet<>();
+        Map<String, ConsumerGroupDescription> descriptions =
+                admin.describeConsumerGroups(groups).all().get(30, TimeUnit.SECONDS);
+        for (ConsumerGroupDescription group : descriptions.values()) {
+            if (group.state() != ConsumerGroupState.STABLE && group.state() != ConsumerGroupState.EMPTY) {
+                return null;
+            }
+            group.members().forEach(member ->
+                    member.assignment().topicPartitions().forEach(partition -> assigned.add(partition.toString())));
+        }
+        return assigned;
+    }
+
+    private void resumeListeners() {
+        try {
+            listenerPauseCoordinator.release();
+        } catch (RuntimeException e) {
+            log.warn("Failed to release listener pause, listeners resume when it expires", e);
+        }
+    }
+}
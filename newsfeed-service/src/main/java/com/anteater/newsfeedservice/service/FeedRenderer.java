@@ -0,0 +1,35 @@
+package com.anteater.newsfeedservice.service;
+
+import com.anteater.newsfeedservice.entity.NewsfeedItem;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 응답으로 내보낼 피드 항목을 만든다. 페이지 조회와 실시간 스트림이 같은 규칙을 쓴다.
+ */
+@Component
+public class FeedRenderer {
+
+    private final FeedHydrator feedHydrator;
+    private final FeedTombstoneService feedTombstoneService;
+    private final FeedPartitionManager feedPartitionManager;
+
+    public FeedRenderer(FeedHydrator feedHydrator,
+                        FeedTombstoneService feedTombstoneService,
+                        FeedPartitionManager feedPartitionManager) {
+        this.feedHydrator = feedHydrator;
+        this.feedTombstoneService = feedTombstoneService;
+        this.feedPartitionManager = feedPartitionManager;
+    }
+
+    // 보존 기간이 지난 항목(캐시에 남은 것 포함)과 삭제된 대상을 걸러낸 뒤 본문과 이름을 채운다
+    public List<NewsfeedItem> render(List<NewsfeedItem> items) {
+        LocalDateTime horizon = feedPartitionManager.horizon();
+        List<NewsfeedItem> retained = items.stream()
+                .filter(item -> !item.getCreatedAt().isBefore(horizon))
+                .toList();
+        return feedHydrator.hydrate(feedTombstoneService.filterVisible(retained));
+    }
+}
@@ -0,0 +1,178 @@
+package com.anteater.newsfeedservice.service;
+
+import com.anteater.newsfeedservice.cache.TimelineCache;
+import com.anteater.newsfeedservice.entity.FeedTombstone;
+import com.anteater.newsfeedservice.entity.NewsfeedItem;
+import com.anteater.newsfeedservice.repository.FeedTombstoneRepository;
+import com.anteater.newsfeedservice.repository.LikeAggregateRepository;
+import com.anteater.newsfeedservice.repository.NewsfeedItemRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 게시글/댓글 삭제를 피드에 반영한다.
+ *
+ * 삭제 이벤트는 구독자 수와 무관하게 tombstone 한 행만 쓰고, 조회 시 {@link #filterVisible} 로 걸러낸다.
+ * 피드에 퍼진 항목은 {@link #collect} 가 대상별로 청크 단위로 지우며, 한 번의 실행에서 지우는 행 수를 제한해
+ * 구독자가 많은 게시글이 삭제되어도 쓰기가 한꺼번에 몰리지 않는다.
+ */
+@Slf4j
+@Service
+public class FeedTombstoneService {
+
+    public static final String POST = "POST";
+    public static final String COMMENT = "COMMENT";
+
+    private static final List<String> POST_ITEM_TYPES = List.of("POST", "LIKE_POST");
+    private static final List<String> COMMENT_ITEM_TYPES = List.of("COMMENT", "LIKE_COMMENT");
+
+    private final FeedTombstoneRepository feedTombstoneRepository;
+    private final NewsfeedItemRepository newsfeedItemRepository;
+    private final LikeAggregateRepository likeAggregateRepository;
+    private final TimelineCache timelineCache;
+    private final FeedPartitionManager feedPartitionManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxRowsPerRun;
+    private final Duration retention;
+
+    public FeedTombstoneService(FeedTombstoneRepository feedTombstoneRepository,
+                                NewsfeedItemRepository newsfeedItemRepository,
+                                LikeAggregateRepository likeAggregateRepository,
+                                TimelineCache timelineCache,
+                                FeedPartitionManager feedPartitionManager,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${newsfeed.tombstone.chunk-size:500}") int chunkSize,
+                                @Value("${newsfeed.tombstone.max-rows-per-run:20000}") int maxRowsPerRun,
+                                @Value("${newsfeed.tombstone.retention:7d}") Duration retention) {
+        this.feedTombstoneRepository = feedTombstoneRepository;
+        this.newsfeedItemRepository = newsfeedItemRepository;
+        this.likeAggregateRepository = likeAggregateRepository;
+        this.timelineCache = timelineCache;
+        this.feedPartitionManager = feedPartitionManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxRowsPerRun = maxRowsPerRun;
+        this.retention = retention;
+    }
+
+    // 컨슈머 트랜잭션 안에서 호출
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(String targetType, Collection<Long> targetIds) {
+        LocalDateTime now = LocalDateTime.now();
+        for (Long targetId : targetIds) {
+            feedTombstoneRepository.insertIgnore(targetType, targetId, now);
+        }
+    }
+
+    public Set<Long> findTombstoned(String targetType, Collection<Long> targetIds) {
+        if (targetIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(feedTombstoneRepository.findTombstonedIds(targetType, targetIds));
+    }
+
+    // 삭제된 게시글/댓글(또는 삭제된 게시글의 댓글)을 가리키는 항목을 뺀다. 페이지당 IN 조회 두 번
+    public List<NewsfeedItem> filterVisible(List<NewsfeedItem> items) {
+        Set<Long> postIds = new HashSet<>();
+        Set<Long> commentIds = new HashSet<>();
+        for (NewsfeedItem item : items) {
+            if (POST_ITEM_TYPES.contains(item.getEventType())) {
+                postIds.add(item.getRelatedId());
+            } else if (COMMENT_ITEM_TYPES.contains(item.getEventType())) {
+                commentIds.add(item.getRelatedId());
+                if (item.getParentId() != null) {
+                    postIds.add(item.getParentId());
+                }
+            }
+        }
+        Set<Long> deletedPosts = findTombstoned(POST, postIds);
+        Set<Long> deletedComments = findTombstoned(COMMENT, commentIds);
+        if (deletedPosts.isEmpty() && deletedComments.isEmpty()) {
+            return items;
+        }
+        return items.stream().filter(item -> {
+            if (POST_ITEM_TYPES.contains(item.getEventType())) {
+                return !deletedPosts.contains(item.getRelatedId());
+            }
+            if (COMMENT_ITEM_TYPES.contains(item.getEventType())) {
+                return !deletedComments.contains(item.getRelatedId()) && !deletedPosts.contains(item.getParentId());
+            }
+            return true;
+        }).toList();
+    }
+
+    // 오래된 tombstone 부터 대상 항목을 지운다. 한도에 걸리면 다음 실행에서 이어서 지운다
+    @Scheduled(fixedDelayString = "${newsfeed.tombstone.collect-interval:10000}")
+    public void collect() {
+        int budget = maxRowsPerRun;
+        List<FeedTombstone> tombstones = feedTombstoneRepository.findUncollected(
+                LocalDateTime.now(), PageRequest.of(0, 100));
+        for (FeedTombstone tombstone : tombstones) {
+            int removed = collect(tombstone, budget);
+            budget -= removed;
+            if (budget <= 0) {
+                break;
+            }
+        }
+        if (budget < maxRowsPerRun) {
+            log.info("Removed {} feed items of deleted posts/comments", maxRowsPerRun - budget);
+        }
+    }
+
+    private int collect(FeedTombstone tombstone, int budget) {
+        boolean isPost = POST.equals(tombstone.getTargetType());
+        Long targetId = tombstone.getTargetId();
+        LocalDateTime horizon = feedPartitionManager.horizon();  // 이전 항목은 파티션째 버려진다
+        int removed = 0;
+        while (removed < budget) {
+            PageRequest chunk = PageRequest.of(0, Math.min(chunkSize, budget - removed));
+            List<NewsfeedItem> items = newsfeedItemRepository.findByRelatedId(
+                    targetId, isPost ? POST_ITEM_TYPES : COMMENT_ITEM_TYPES, horizon, chunk);
+            if (items.isEmpty() && isPost) {
+                items = newsfeedItemRepository.findByParentId(targetId, COMMENT_ITEM_TYPES, horizon, chunk);
+            }
+            if (items.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> {
+                    if (isPost) {
+                        likeAggregateRepository.deleteByPostId(targetId);
+                    } else {
+                        likeAggregateRepository.deleteByTarget(COMMENT, targetId);
+                    }
+                    feedTombstoneRepository.markCollected(tombstone.getTargetType(), targetId, LocalDateTime.now());
+                });
+                return removed;
+            }
+            List<NewsfeedItem> deleted = items;
+            transactionTemplate.executeWithoutResult(status ->
+                    newsfeedItemRepository.deleteAllByIdInBatch(deleted.stream().map(NewsfeedItem::getId).toList()));
+            timelineCache.removeAll(deleted);
+            removed += deleted.size();
+        }
+        return removed;
+    }
+
+    // 정리가 끝난 tombstone 은 늦게 도착하는 생성 이벤트를 막을 만큼만 보존
+    @Scheduled(fixedDelayString = "${newsfeed.tombstone.purge-interval:3600000}")
+    public void purge() {
+        Integer purged = transactionTemplate.execute(status ->
+                feedTombstoneRepository.deleteCollectedBefore(LocalDateTime.now().minus(retention)));
+        if (purged != null && purged > 0) {
+            log.info("Purged {} collected tombstones", purged);
+        }
+    }
+}
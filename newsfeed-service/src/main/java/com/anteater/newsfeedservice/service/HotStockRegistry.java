@@ -0,0 +1,82 @@
+package com.anteater.newsfeedservice.service;
+
+import com.anteater.newsfeedservice.repository.StockPostRepository;
+import com.anteater.newsfeedservice.repository.StockWatcherRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 구독자 수로 종목을 hot / cold 로 분류한다.
+ * hot 종목 게시글은 팬아웃하지 않고(pull), cold 종목은 기존대로 구독자 피드에 push 한다.
+ */
+@Slf4j
+@Component
+public class HotStockRegistry {
+
+    private final StockWatcherRepository stockWatcherRepository;
+    private final StockPostRepository stockPostRepository;
+    private final FeedPartitionManager feedPartitionManager;
+    private final TransactionTemplate transactionTemplate;
+    private final long threshold;
+    private final int purgeBatchSize;
+
+    private volatile Set<String> hotStocks = Set.of();
+    private volatile Set<String> pullStocks = Set.of();
+
+    public HotStockRegistry(StockWatcherRepository stockWatcherRepository,
+                            StockPostRepository stockPostRepository,
+                            FeedPartitionManager feedPartitionManager,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${newsfeed.hybrid.hot-stock-threshold:10000}") long threshold,
+                            @Value("${newsfeed.hybrid.purge-batch-size:1000}") int purgeBatchSize) {
+        this.stockWatcherRepository = stockWatcherRepository;
+        this.stockPostRepository = stockPostRepository;
+        this.feedPartitionManager = feedPartitionManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.threshold = threshold;
+        this.purgeBatchSize = purgeBatchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${newsfeed.hybrid.refresh-interval:60000}")
+    public void refresh() {
+        Set<String> hot = Set.copyOf(stockWatcherRepository.findStockIsinsWatchedByAtLeast(threshold));
+        // 한때 hot 이었던 종목의 게시글은 stock_posts 에만 있으므로 조회 시 계속 병합해야 한다
+        Set<String> pull = new HashSet<>(hot);
+        pull.addAll(stockPostRepository.findDistinctStockIsins());
+        hotStocks = hot;
+        pullStocks = Set.copyOf(pull);
+        log.debug("Refreshed hot stocks: {} hot, {} merged at read time", hot.size(), pull.size());
+    }
+
+    // 피드 보존 기간(파티션 horizon)이 지난 hot 종목 게시글을 지운다. 더 이상 게시글이 없는 종목은 다음 refresh 에서 병합 대상에서 빠진다
+    @Scheduled(cron = "${newsfeed.hybrid.purge-cron:0 20 0 * * *}")
+    public void purgeExpiredPosts() {
+        LocalDateTime horizon = feedPartitionManager.horizon();
+        long deleted = 0;
+        Integer chunk;
+        do {
+            chunk = transactionTemplate.execute(status -> stockPostRepository.deleteCreatedBefore(horizon, purgeBatchSize));
+            deleted += chunk == null ? 0 : chunk;
+        } while (chunk != null && chunk == purgeBatchSize);
+        if (deleted > 0) {
+            log.info("Purged {} hot stock posts older than {}", deleted, horizon);
+        }
+    }
+
+    public boolean isHot(String stockIsin) {
+        return hotStocks.contains(stockIsin);
+    }
+
+    // 조회 시점에 사용자 타임라인과 병합해야 하는 종목
+    public boolean isPulled(String stockIsin) {
+        return pullStocks.contains(stockIsin);
+    }
+}
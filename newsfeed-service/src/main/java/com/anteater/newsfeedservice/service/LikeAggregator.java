@@ -0,0 +1,291 @@
+package com.anteater.newsfeedservice.service;
+
+import com.anteater.event.ChangeType;
+import com.anteater.event.LikeEvent;
+import com.anteater.newsfeedservice.cache.TimelineCache;
+import com.anteater.newsfeedservice.client.MemberClient;
+import com.anteater.newsfeedservice.entity.LikeAggregate;
+import com.anteater.newsfeedservice.entity.NewsfeedItem;
+import com.anteater.newsfeedservice.repository.LikeAggregateBatchRepository.PendingLikes;
+import com.anteater.newsfeedservice.repository.LikeAggregateRepository;
+import com.anteater.newsfeedservice.repository.NewsfeedItemRepository;
+import com.anteater.newsfeedservice.stream.LiveFeedBroker;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestClientException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 좋아요 이벤트를 대상(게시글/댓글)별로 모아 일정 주기(window)마다 작성자 피드의 요약 항목 하나로 반영한다.
+ *
+ * 좋아요마다 피드 행을 쓰는 대신, 컨슈머 트랜잭션 안에서 배치의 대상별 증감분과 최근 사용자를
+ * {@link LikeAggregate} 의 pending 컬럼에 누적한다. 이벤트 ID 기록과 같은 트랜잭션이므로 오프셋이 커밋된
+ * 좋아요는 프로세스가 죽어도 잃지 않는다. flush 는 pending 이 쌓인 행을 잠그고 누적 수와 최근 사용자에 합친 뒤
+ * 요약 항목을 생성하거나 갱신한다. 문구("A, B and 120 others liked your post")는 조회 시점에 FeedHydrator 가 만든다.
+ * 취소(DELETED)는 -1 로 누적되며, 수가 0 이 되면 요약 항목을 피드에서 내린다.
+ */
+@Slf4j
+@Component
+public class LikeAggregator {
+
+    private static final String ACTOR_SEPARATOR = ",";
+
+    private final LikeAggregateRepository likeAggregateRepository;
+    private final NewsfeedItemRepository newsfeedItemRepository;
+    private final TimelineCache timelineCache;
+    private final LiveFeedBroker liveFeedBroker;
+    private final MemberClient memberClient;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxRecentActors;
+    private final int flushBatchSize;
+
+    public LikeAggregator(LikeAggregateRepository likeAggregateRepository,
+                          NewsfeedItemRepository newsfeedItemRepository,
+                          TimelineCache timelineCache,
+                          LiveFeedBroker liveFeedBroker,
+                          MemberClient memberClient,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${newsfeed.like-aggregation.max-recent-actors:2}") int maxRecentActors,
+                          @Value("${newsfeed.like-aggregation.flush-batch-size:500}") int flushBatchSize) {
+        this.likeAggregateRepository = likeAggregateRepository;
+        this.newsfeedItemRepository = newsfeedItemRepository;
+        this.timelineCache = timelineCache;
+        this.liveFeedBroker = liveFeedBroker;
+        this.memberClient = memberClient;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxRecentActors = maxRecentActors;
+        this.flushBatchSize = flushBatchSize;
+    }
+
+    // 이벤트 ID 를 기록하는 컨슈머 트랜잭션 안에서만 호출된다: 증감분과 ID 기록이 함께 커밋되거나 함께 롤백된다
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void add(List<LikeEvent> events) {
+        // 여러 shard 가 겹치는 대상을 동시에 누적해도 교착되지 않도록 항상 같은 순서로 쓴다
+        Map<TargetKey, Pending> batch = new TreeMap<>(TargetKey.ORDER);
+        for (LikeEvent event : events) {
+            TargetKey key = new TargetKey(event.targetType().name(), event.targetId());
+            // postId 0 은 발행자가 게시글을 알지 못한 경우 (삭제된 댓글의 좋아요 취소 등)
+            Pending pending = batch.computeIfAbsent(key, k -> new Pending(event.postId() == 0 ? null : event.postId()));
+            if (event.eventType() == ChangeType.DELETED) {
+                pending.delta--;
+            } else {
+                pending.delta++;
+                pending.pushActor(String.valueOf(event.userId()));
+            }
+        }
+        likeAggregateRepository.addPending(batch.entrySet().stream()
+                .map(e -> new PendingLikes(e.getKey().targetType(), e.getKey().targetId(), e.getValue().postId,
+                        e.getValue().delta, e.getValue().joinedActors()))
+                .toList(), maxRecentActors);
+    }
+
+    @Scheduled(fixedDelayString = "${newsfeed.like-aggregation.window:5000}")
+    public void flush() {
+        try {
+            FlushResult result;
+            do {
+                result = transactionTemplate.execute(status -> apply());
+                timelineCache.appendAll(result.upserted());
+                liveFeedBroker.publish(result.upserted());
+                timelineCache.removeAll(result.removed());
+            } while (result.claimed() >= flushBatchSize);
+        } catch (RuntimeException e) {
+            // pending 은 롤백되어 남아 있으므로 다음 window 에 다시 반영된다
+            log.warn("Failed to flush like aggregates, retrying in next window", e);
+        }
+    }
+
+    private FlushResult apply() {
+        List<Long> pendingIds = likeAggregateRepository.findPendingIds(PageRequest.of(0, flushBatchSize));
+        if (pendingIds.isEmpty()) {
+            return new FlushResult(0, List.of(), List.of());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<NewsfeedItem> upserted = new ArrayList<>();
+        List<NewsfeedItem> removed = new ArrayList<>();
+        // 다른 노드가 잠그기 전에 이미 반영한 행은 건너뛴다
+        Map<String, List<LikeAggregate>> byType = likeAggregateRepository.findForUpdate(pendingIds).stream()
+                .filter(a -> a.getPendingSince() != null)
+                .collect(Collectors.groupingBy(LikeAggregate::getTargetType, TreeMap::new, Collectors.toList()));
+
+        byType.forEach((targetType, aggregates) -> {
+            resolveOwners(targetType, aggregates);
+            Map<Long, NewsfeedItem> feedItems = newsfeedItemRepository.findAllById(aggregates.stream()
+                            .map(LikeAggregate::getFeedItemId).filter(id -> id != null).toList())
+                    .stream().collect(Collectors.toMap(NewsfeedItem::getId, Function.identity()));
+
+            List<NewsfeedItem> created = new ArrayList<>();
+            for (LikeAggregate aggregate : aggregates) {
+                long delta = aggregate.getPendingDelta();
+                aggregate.setLikeCount(aggregate.getLikeCount() + delta);
+                aggregate.setRecentActors(mergeActors(aggregate.getPendingActors(), aggregate.getRecentActors()));
+                aggregate.setPendingDelta(0);
+                aggregate.setPendingActors(null);
+                aggregate.setPendingSince(null);
+                aggregate.setUpdatedAt(now);
+                if (aggregate.getOwnerName() == null) {
+                    continue;  // 원본 항목이 아직 없으면 수만 누적하고 다음 좋아요 때 연결
+                }
+
+                NewsfeedItem item = aggregate.getFeedItemId() != null ? feedItems.get(aggregate.getFeedItemId()) : null;
+                if (aggregate.getLikeCount() <= 0) {
+                    if (item != null) {
+                        newsfeedItemRepository.delete(item);
+                        removed.add(item);
+                    }
+                    aggregate.setFeedItemId(null);
+                    continue;
+                }
+                if (item == null) {
+                    item = newSummaryItem(aggregate);
+                    created.add(item);
+                }
+                item.setAggregateCount(aggregate.getLikeCount());
+                item.setRecentActors(aggregate.getRecentActors());
+                item.setActorName(firstActor(aggregate.getRecentActors()));
+                // 새 좋아요가 있으면 피드 상단으로 올린다
+                if (delta > 0 || item.getCreatedAt() == null) {
+                    item.setCreatedAt(now);
+                }
+                upserted.add(item);
+            }
+            newsfeedItemRepository.insertAll(created);
+            for (NewsfeedItem item : created) {
+                aggregates.stream()
+                        .filter(a -> a.getTargetId().equals(item.getRelatedId()))
+                        .findFirst()
+                        .ifPresent(a -> a.setFeedItemId(item.getId()));
+            }
+        });
+        return new FlushResult(pendingIds.size(), upserted, removed);
+    }
+
+    // 작성자는 원본 항목(작성자 본인 피드의 POST/COMMENT 행)에서 찾는다. 피드는 username 으로 조회하므로,
+    // 작성자 회원 ID 로 적재되던 이전 원본 항목은 username 으로 바꾼다. 바꾸지 못하면 다음 flush 에서 다시 찾는다
+    private void resolveOwners(String targetType, List<LikeAggregate> aggregates) {
+        List<Long> unresolved = aggregates.stream()
+                .filter(a -> a.getOwnerName() == null)
+                .map(LikeAggregate::getTargetId)
+                .toList();
+        if (unresolved.isEmpty()) {
+            return;
+        }
+        Map<Long, String> owners = new HashMap<>();
+        for (NewsfeedItem origin : newsfeedItemRepository.findOriginItems(targetType, unresolved)) {
+            owners.put(origin.getRelatedId(), origin.getUserName());
+        }
+        toUsernames(owners);
+        for (LikeAggregate aggregate : aggregates) {
+            if (aggregate.getOwnerName() == null) {
+                aggregate.setOwnerName(owners.get(aggregate.getTargetId()));
+            }
+        }
+    }
+
+    private void toUsernames(Map<Long, String> owners) {
+        Map<Long, Long> memberIds = new HashMap<>();
+        owners.forEach((targetId, owner) -> {
+            Long memberId = parseId(owner);
+            if (memberId != null) {
+                memberIds.put(targetId, memberId);
+            }
+        });
+        if (memberIds.isEmpty()) {
+            return;
+        }
+        Map<Long, String> usernames;
+        try {
+            usernames = memberClient.findUsernames(memberIds.values().stream().distinct().toList());
+        } catch (RestClientException e) {
+            log.warn("Failed to resolve usernames of {} like owners, retrying on next flush", memberIds.size(), e);
+            usernames = Map.of();
+        }
+        for (Map.Entry<Long, Long> entry : memberIds.entrySet()) {
+            owners.put(entry.getKey(), usernames.get(entry.getValue()));
+        }
+    }
+
+    private static Long parseId(String value) {
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private NewsfeedItem newSummaryItem(LikeAggregate aggregate) {
+        NewsfeedItem item = new NewsfeedItem();
+        item.setUserName(aggregate.getOwnerName());
+        item.setEventType("LIKE_" + aggregate.getTargetType());
+        item.setRelatedId(aggregate.getTargetId());
+        item.setParentId(aggregate.getPostId());
+        return item;
+    }
+
+    // 이번 window 의 사용자를 앞에, 기존 사용자를 뒤에 두고 중복 제거 후 최대 개수로 자른다
+    private String mergeActors(String pending, String previous) {
+        Set<String> actors = new LinkedHashSet<>();
+        if (pending != null && !pending.isEmpty()) {
+            actors.addAll(Arrays.asList(pending.split(ACTOR_SEPARATOR)));
+        }
+        if (previous != null && !previous.isEmpty()) {
+            actors.addAll(Arrays.asList(previous.split(ACTOR_SEPARATOR)));
+        }
+        return actors.stream().limit(maxRecentActors).collect(Collectors.joining(ACTOR_SEPARATOR));
+    }
+
+    private static String firstActor(String recentActors) {
+        return recentActors.isEmpty() ? null : recentActors.split(ACTOR_SEPARATOR)[0];
+    }
+
+    private record TargetKey(String targetType, Long targetId) {
+        private static final Comparator<TargetKey> ORDER =
+                Comparator.comparing(TargetKey::targetType).thenComparing(TargetKey::targetId);
+    }
+
+    private record FlushResult(int claimed, List<NewsfeedItem> upserted, List<NewsfeedItem> removed) {
+    }
+
+    private final class Pending {
+        private final Long postId;
+        private long delta;
+        private final List<String> recentActors = new ArrayList<>();
+
+        private Pending(Long postId) {
+            this.postId = postId;
+        }
+
+        // 최신 사용자가 앞에 오도록 유지
+        private void pushActor(String actor) {
+            recentActors.remove(actor);
+            recentActors.add(0, actor);
+            if (recentActors.size() > maxRecentActors) {
+                recentActors.remove(recentActors.size() - 1);
+            }
+        }
+
+        private String joinedActors() {
+            return recentActors.isEmpty() ? null : String.join(ACTOR_SEPARATOR, recentActors);
+        }
+    }
+}
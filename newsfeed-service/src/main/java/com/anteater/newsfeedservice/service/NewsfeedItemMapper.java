@@ -0,0 +1,48 @@
+package com.anteater.newsfeedservice.service;
+
+import com.anteater.event.CommentEvent;
+import com.anteater.event.PostEvent;
+import com.anteater.event.WatchlistEvent;
+import com.anteater.newsfeedservice.entity.NewsfeedItem;
+
+import java.time.LocalDateTime;
+
+// 이벤트 하나를 해당 사용자 피드의 항목 하나로 변환 (실시간 소비와 재구성이 같은 규칙을 쓴다).
+// 본문은 저장하지 않고 참조만 남긴다. 이벤트에는 작성자 회원 ID 만 있으므로 작성자 username 은 호출하는 쪽에서 찾아 넘긴다
+final class NewsfeedItemMapper {
+
+    private NewsfeedItemMapper() {
+    }
+
+    static NewsfeedItem postItem(PostEvent event, String authorName, LocalDateTime createdAt) {
+        NewsfeedItem item = new NewsfeedItem();
+        item.setUserName(authorName);
+        item.setActorName(authorName);
+        item.setEventType("POST");
+        item.setCreatedAt(createdAt);
+        item.setRelatedId(event.postId());
+        item.setStockIsin(event.stockIsin());
+        return item;
+    }
+
+    static NewsfeedItem commentItem(CommentEvent event, String authorName, LocalDateTime createdAt) {
+        NewsfeedItem item = new NewsfeedItem();
+        item.setUserName(authorName);
+        item.setActorName(authorName);
+        item.setEventType("COMMENT");
+        item.setCreatedAt(createdAt);
+        item.setRelatedId(event.commentId());
+        item.setParentId(event.postId());
+        return item;
+    }
+
+    static NewsfeedItem watchlistItem(WatchlistEvent event, LocalDateTime createdAt) {
+        NewsfeedItem item = new NewsfeedItem();
+        item.setUserName(event.userName());
+        item.setActorName(event.userName());
+        item.setEventType(event.eventType() == WatchlistEvent.Action.ADDED ? "WATCHLIST_ADDED" : "WATCHLIST_REMOVED");
+        item.setCreatedAt(createdAt);
+        item.setStockIsin(event.stockIsin());
+        return item;
+    }
+}
@@ -1,89 +1,464 @@
 package com.anteater.newsfeedservice.service;
 
+import com.anteater.common.id.SnowflakeIdGenerator;
+import com.anteater.common.pagination.CursorPage;
+import com.anteater.common.pagination.KeysetCursor;
+import com.anteater.event.ChangeType;
+import com.anteater.event.CommentEvent;
+import com.anteater.event.LikeEvent;
+import com.anteater.event.PostEvent;
+import com.anteater.event.Topics;
+import com.anteater.event.WatchlistEvent;
+import com.anteater.newsfeedservice.cache.FeedReaderCache;
+import com.anteater.newsfeedservice.cache.TimelineCache;
+import com.anteater.newsfeedservice.client.MemberClient;
 import com.anteater.newsfeedservice.entity.NewsfeedItem;
-import com.anteater.newsfeedservice.kafka.event.LikeEvent;
-import com.anteater.newsfeedservice.kafka.event.PostEvent;
-import com.anteater.newsfeedservice.kafka.event.WatchlistEvent;
+import com.anteater.newsfeedservice.entity.StockPost;
+import com.anteater.newsfeedservice.kafka.KeyShardedDispatcher;
 import com.anteater.newsfeedservice.repository.NewsfeedItemRepository;
+import com.anteater.newsfeedservice.repository.StockPostRepository;
+import com.anteater.newsfeedservice.repository.StockWatcherRepository;
+import com.anteater.newsfeedservice.stream.LiveFeedBroker;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
-import org.yaml.snakeyaml.events.CommentEvent;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.client.RestClientException;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Function;
 
+@Slf4j
 @Service
 public class NewsfeedService {
 
+
+    // 피드 정렬 순서: createdAt DESC, 동률은 id ASC (keyset 쿼리와 동일)
+    private static final Comparator<NewsfeedItem> FEED_ORDER =
+            Comparator.comparing(NewsfeedItem::getCreatedAt).reversed().thenComparing(NewsfeedItem::getId);
+
     private final NewsfeedItemRepository newsfeedItemRepository;
+    private final StockWatcherRepository stockWatcherRepository;
+    private final StockPostRepository stockPostRepository;
+    private final TimelineCache timelineCache;
+    private final LiveFeedBroker liveFeedBroker;
+    private final FanoutService fanoutService;
+    private final HotStockRegistry hotStockRegistry;
+    private final LikeAggregator likeAggregator;
+    private final EventDeduplicator eventDeduplicator;
+    private final KeyShardedDispatcher dispatcher;
+    private final FeedRenderer feedRenderer;
+    private final FeedTombstoneService feedTombstoneService;
+    private final FeedPartitionManager feedPartitionManager;
+    private final MemberClient memberClient;
+    private final FeedReaderCache feedReaderCache;
 
     @Autowired
-    public NewsfeedService(NewsfeedItemRepository newsfeedItemRepository) {
+    public NewsfeedService(NewsfeedItemRepository newsfeedItemRepository,
+                           StockWatcherRepository stockWatcherRepository,
+                           StockPostRepository stockPostRepository,
+                           TimelineCache timelineCache,
+                           LiveFeedBroker liveFeedBroker,
+                           FanoutService fanoutService,
+                           HotStockRegistry hotStockRegistry,
+                           LikeAggregator likeAggregator,
+                           EventDeduplicator eventDeduplicator,
+                           KeyShardedDispatcher dispatcher,
+                           FeedRenderer feedRenderer,
+                           FeedTombstoneService feedTombstoneService,
+                           FeedPartitionManager feedPartitionManager,
+                           MemberClient memberClient,
+                           FeedReaderCache feedReaderCache) {
         this.newsfeedItemRepository = newsfeedItemRepository;
+        this.stockWatcherRepository = stockWatcherRepository;
+        this.stockPostRepository = stockPostRepository;
+        this.timelineCache = timelineCache;
+        this.liveFeedBroker = liveFeedBroker;
+        this.fanoutService = fanoutService;
+        this.hotStockRegistry = hotStockRegistry;
+        this.likeAggregator = likeAggregator;
+        this.eventDeduplicator = eventDeduplicator;
+        this.dispatcher = dispatcher;
+        this.feedRenderer = feedRenderer;
+        this.feedTombstoneService = feedTombstoneService;
+        this.feedPartitionManager = feedPartitionManager;
+        this.memberClient = memberClient;
+        this.feedReaderCache = feedReaderCache;
     }
 
-    @Transactional
-    @KafkaListener(topics = "post-events", groupId = "newsfeed-group")
-    public void consumePostEvent(PostEvent event) {
-        NewsfeedItem item = new NewsfeedItem();
-        item.setUserName(event.getAuthorId().toString());
-        item.setContent("Posted about stock " + event.getStockIsin() + ": " + event.getContent());
-        item.setEventType("POST");
-        item.setCreatedAt(LocalDateTime.now());
-        item.setRelatedId(event.getPostId());
-        item.setStockIsin(event.getStockIsin());
-        newsfeedItemRepository.save(item);
+    // 각 리스너는 poll 한 번에 받은 레코드를 키(작성자/사용자)별 shard 로 나눠 병렬로 적재한다.
+    // shard 마다 하나의 트랜잭션, 하나의 multi-row INSERT 이며, 같은 트랜잭션에서 이벤트 ID 를 기록해 재전달된 레코드는 건너뛴다.
+    // 처리하지 못한 레코드는 재시도 토픽으로 넘기고 파티션은 계속 진행한다 (KafkaConfig, RetryTopicListener)
+    @KafkaListener(topics = Topics.POST_EVENTS, groupId = "newsfeed-group")
+    public void consumePostEvents(List<PostEvent> events, @Header(KafkaHeaders.RECEIVED_KEY) List<String> keys) {
+        dispatcher.dispatch(events, keys, this::applyPostEvents);
     }
 
-    @Transactional
-    @KafkaListener(topics = "comment-events", groupId = "newsfeed-group")
-    public void consumeCommentEvent(CommentEvent event) {
-        NewsfeedItem item = new NewsfeedItem();
-        item.setUserName(event.getUserId());
-        item.setContent("Commented: " + event.getContent());
-        item.setEventType("COMMENT");
-        item.setCreatedAt(LocalDateTime.now());
-        item.setRelatedId(event.getCommentId());
-        item.setParentId(event.getPostId());
-        newsfeedItemRepository.save(item);
-    }
-
-    @Transactional
-    @KafkaListener(topics = "like-events", groupId = "newsfeed-group")
-    public void consumeLikeEvent(LikeEvent event) {
-        NewsfeedItem item = new NewsfeedItem();
-        item.setUserName(event.getUserId().toString());
-        item.setContent("Liked a " + event.getTargetType().toLowerCase());
-        item.setEventType("LIKE");
-        item.setCreatedAt(LocalDateTime.now());
-        item.setRelatedId(event.getTargetId());
-        item.setParentId(event.getPostId());  // 이벤트에 포스트 ID가 포함되어야 함
-        newsfeedItemRepository.save(item);
-    }
-
-    @Transactional
-    @KafkaListener(topics = "watchlist-events", groupId = "newsfeed-group")
-    public void consumeWatchlistEvent(WatchlistEvent event) {
-        NewsfeedItem item = new NewsfeedItem();
-        item.setUserName(event.getUserName());
-        item.setContent(event.getEventType().equals("ADDED") ?
-                "Added stock " + event.getStockIsin() + " to watchlist" :
-                "Removed stock " + event.getStockIsin() + " from watchlist");
-        item.setEventType("WATCHLIST");
-        item.setCreatedAt(LocalDateTime.now());
-        item.setStockIsin(event.getStockIsin());
-        newsfeedItemRepository.save(item);
+    @KafkaListener(topics = Topics.COMMENT_EVENTS, groupId = "newsfeed-group")
+    public void consumeCommentEvents(List<CommentEvent> events, @Header(KafkaHeaders.RECEIVED_KEY) List<String> keys) {
+        dispatcher.dispatch(events, keys, this::applyCommentEvents);
+    }
+
+    // 좋아요는 좋아요마다 행을 쓰지 않고 대상별로 모아 작성자 피드의 요약 항목 하나로 반영
+    @KafkaListener(topics = Topics.LIKE_EVENTS, groupId = "newsfeed-group")
+    public void consumeLikeEvents(List<LikeEvent> events, @Header(KafkaHeaders.RECEIVED_KEY) List<String> keys) {
+        dispatcher.dispatch(events, keys, this::applyLikeEvents);
+    }
+
+    @KafkaListener(topics = Topics.WATCHLIST_EVENTS, groupId = "newsfeed-group")
+    public void consumeWatchlistEvents(List<WatchlistEvent> events, @Header(KafkaHeaders.RECEIVED_KEY) List<String> keys) {
+        dispatcher.dispatch(events, keys, this::applyWatchlistEvents);
+    }
+
+    // 재시도 토픽에서 받은 레코드 하나를 원래 토픽의 처리 경로로 다시 적용
+    public void redeliver(String topic, String key, Object event) {
+        switch (topic) {
+            case Topics.POST_EVENTS -> dispatcher.dispatch(List.of((PostEvent) event), singletonKey(key), this::applyPostEvents);
+            case Topics.COMMENT_EVENTS -> dispatcher.dispatch(List.of((CommentEvent) event), singletonKey(key), this::applyCommentEvents);
+            case Topics.LIKE_EVENTS -> dispatcher.dispatch(List.of((LikeEvent) event), singletonKey(key), this::applyLikeEvents);
+            case Topics.WATCHLIST_EVENTS -> dispatcher.dispatch(List.of((WatchlistEvent) event), singletonKey(key), this::applyWatchlistEvents);
+            default -> throw new IllegalArgumentException("Unknown topic: " + topic);
+        }
+    }
+
+    // 생성만 피드 항목을 만든다. 수정은 본문을 조회 시점에 가져오므로 피드 행을 고칠 필요가 없고,
+    // 삭제는 tombstone 한 행만 기록한다 (FeedTombstoneService)
+    private void applyPostEvents(List<PostEvent> events) {
+        List<PostEvent> fresh = eventDeduplicator.filterNew(Topics.POST_EVENTS, events, PostEvent::eventId);
+        List<Long> deleted = idsOf(fresh, ChangeType.DELETED, PostEvent::eventType, PostEvent::postId);
+        List<PostEvent> created = createdAndAlive(FeedTombstoneService.POST, deleted, fresh,
+                PostEvent::eventType, PostEvent::postId);
+
+        saveAll(toAuthorItems(created, PostEvent::authorId, NewsfeedItemMapper::postItem));
+        // 종목 구독자 피드로의 전달은 팬아웃 작업으로 넘겨 비동기로 처리
+        fanoutService.enqueue(created);
+        if (!deleted.isEmpty()) {
+            feedTombstoneService.record(FeedTombstoneService.POST, deleted);
+            fanoutService.discard(deleted);
+        }
+    }
+
+    private void applyCommentEvents(List<CommentEvent> events) {
+        List<CommentEvent> fresh = eventDeduplicator.filterNew(Topics.COMMENT_EVENTS, events, CommentEvent::eventId);
+        List<Long> deleted = idsOf(fresh, ChangeType.DELETED, CommentEvent::eventType, CommentEvent::commentId);
+        List<CommentEvent> created = createdAndAlive(FeedTombstoneService.COMMENT, deleted, fresh,
+                CommentEvent::eventType, CommentEvent::commentId);
+
+        saveAll(toAuthorItems(created, CommentEvent::authorId, NewsfeedItemMapper::commentItem));
+        if (!deleted.isEmpty()) {
+            feedTombstoneService.record(FeedTombstoneService.COMMENT, deleted);
+        }
+    }
+
+    private static <E> List<Long> idsOf(List<E> events, ChangeType type,
+                                        Function<E, ChangeType> typeOf, Function<E, Long> idOf) {
+        return events.stream().filter(e -> typeOf.apply(e) == type).map(idOf).toList();
+    }
+
+    // 생성 이벤트 중 이미 삭제된 대상(재시도 등으로 삭제가 먼저 반영된 경우 포함)은 뺀다
+    private <E> List<E> createdAndAlive(String targetType, List<Long> deletedInBatch, List<E> events,
+                                        Function<E, ChangeType> typeOf, Function<E, Long> idOf) {
+        List<E> created = events.stream().filter(e -> typeOf.apply(e) == ChangeType.CREATED).toList();
+        if (created.isEmpty()) {
+            return created;
+        }
+        Set<Long> gone = new HashSet<>(deletedInBatch);
+        gone.addAll(feedTombstoneService.findTombstoned(targetType, created.stream().map(idOf).toList()));
+        return gone.isEmpty() ? created : created.stream().filter(e -> !gone.contains(idOf.apply(e))).toList();
+    }
+
+    // 처음 보는 이벤트 ID 기록과 그 증감분 누적이 같은 shard 트랜잭션에서 커밋된다
+    private void applyLikeEvents(List<LikeEvent> events) {
+        likeAggregator.add(eventDeduplicator.filterNew(Topics.LIKE_EVENTS, events, LikeEvent::eventId));
+    }
+
+    private void applyWatchlistEvents(List<WatchlistEvent> events) {
+        List<WatchlistEvent> fresh = eventDeduplicator.filterNew(Topics.WATCHLIST_EVENTS, events, WatchlistEvent::eventId);
+        saveAll(toItems(fresh, this::toWatchlistItem));
+        // 팬아웃 대상 구독자 목록 갱신 (같은 사용자의 이벤트는 같은 shard 에서 순서대로 적용)
+        LocalDateTime now = LocalDateTime.now();
+        for (WatchlistEvent event : fresh) {
+            if (event.eventType() == WatchlistEvent.Action.ADDED) {
+                stockWatcherRepository.insertIgnore(SnowflakeIdGenerator.getInstance().nextId(),
+                        event.stockIsin(), event.userName(), now);
+            } else {
+                stockWatcherRepository.deleteByStockIsinAndUserName(event.stockIsin(), event.userName());
+            }
+        }
+        if (!fresh.isEmpty()) {
+            List<String> userNames = fresh.stream().map(WatchlistEvent::userName).distinct().toList();
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    feedReaderCache.evictWatchedStocks(userNames);
+                }
+            });
+        }
     }
 
+    private static List<String> singletonKey(String key) {
+        return Collections.singletonList(key);
+    }
+
+    // 캐시에서 먼저 조회하고, cold miss 면 최신 N개를 MySQL 에서 읽어 캐시를 채운다. 본문과 이름은 페이지 단위로 채운다
     public Page<NewsfeedItem> getNewsfeedForUser(String userName, Pageable pageable) {
-        return newsfeedItemRepository.findByUserNameOrderByCreatedAtDesc(userName, pageable);
+        List<String> pulledStocks = pulledStocks(userName);
+        Page<NewsfeedItem> page = pulledStocks.isEmpty()
+                ? loadPage(userName, pageable)
+                : loadMergedPage(userName, pulledStocks, pageable);
+        return new PageImpl<>(feedRenderer.render(page.getContent()), pageable, page.getTotalElements());
+    }
+
+    // 오프셋 페이지도 hot 종목 게시글을 병합한다: 두 소스 모두 앞에서부터 offset + size 개를 읽어 병합한 뒤 잘라낸다.
+    // hot 종목 게시글은 세지 않는다: 전체 수는 타임라인 수 + 읽은 게시글 수이고, 읽은 만큼 가득 찼으면 다음 페이지가 있다고만 알린다
+    private Page<NewsfeedItem> loadMergedPage(String userName, List<String> stockIsins, Pageable pageable) {
+        int end = Math.toIntExact(pageable.getOffset() + pageable.getPageSize());
+        Page<NewsfeedItem> timeline = loadPage(userName, PageRequest.of(0, end));
+        List<NewsfeedItem> posts = toPulledItems(userName, stockPostRepository.findLatestByStockIsins(
+                stockIsins, excludedAuthor(userName), feedPartitionManager.horizon(), PageRequest.of(0, end)));
+        List<NewsfeedItem> merged = mergeByFeedOrder(List.of(timeline.getContent(), posts), end);
+        int from = (int) Math.min(pageable.getOffset(), merged.size());
+        long total = timeline.getTotalElements() + posts.size() + (posts.size() == end ? 1 : 0);
+        return new PageImpl<>(merged.subList(from, merged.size()), pageable, total);
+    }
+
+    private Page<NewsfeedItem> loadPage(String userName, Pageable pageable) {
+        Optional<Page<NewsfeedItem>> cached = timelineCache.getPage(userName, pageable);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        Page<NewsfeedItem> newest = warmTimeline(userName);
+        long end = pageable.getOffset() + pageable.getPageSize();
+        if (end <= newest.getNumberOfElements() || !newest.hasNext()) {
+            List<NewsfeedItem> content = newest.getContent();
+            int from = (int) Math.min(pageable.getOffset(), content.size());
+            int to = (int) Math.min(end, content.size());
+            return new PageImpl<>(content.subList(from, to), pageable, newest.getTotalElements());
+        }
+        return newsfeedItemRepository.findByUserNameAndCreatedAtGreaterThanEqualOrderByCreatedAtDescIdAsc(
+                userName, feedPartitionManager.horizon(), pageable);
+    }
+
+    /**
+     * 커서 기반 조회. 캐시에서 이어서 읽을 수 없으면 (userName, createdAt) 인덱스로 seek 한다.
+     * 사용자가 구독한 hot 종목의 게시글(pull)은 한 번의 IN 쿼리로 같은 커서에서 seek 한 뒤 push 된 타임라인과 병합한다.
+     */
+    public CursorPage<NewsfeedItem> getNewsfeedForUser(String userName, String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int limit = size + 1;
+        List<List<NewsfeedItem>> sources = new ArrayList<>();
+        sources.add(timelineCache.getSlice(userName, after == null ? null : after.id(), limit)
+                .orElseGet(() -> loadSlice(userName, after, limit)));
+        List<String> pulledStocks = pulledStocks(userName);
+        if (!pulledStocks.isEmpty()) {
+            sources.add(loadStockPosts(userName, pulledStocks, after, limit));
+        }
+        List<NewsfeedItem> merged = sources.size() == 1 ? sources.get(0) : mergeByFeedOrder(sources, limit);
+        CursorPage<NewsfeedItem> page =
+                CursorPage.of(merged, size, item -> new KeysetCursor(item.getCreatedAt(), item.getId()));
+        return page.withItems(feedRenderer.render(page.getItems()));
     }
 
     public Page<NewsfeedItem> getNewsfeedForUserByStock(String userName, String stockIsin, Pageable pageable) {
-        return newsfeedItemRepository.findByUserNameAndStockIsinOrderByCreatedAtDesc(userName, stockIsin, pageable);
+        Page<NewsfeedItem> page = newsfeedItemRepository.findByUserNameAndStockIsinAndCreatedAtGreaterThanEqualOrderByCreatedAtDescIdAsc(
+                userName, stockIsin, feedPartitionManager.horizon(), pageable);
+        return new PageImpl<>(feedRenderer.render(page.getContent()), pageable, page.getTotalElements());
+    }
+
+    private List<NewsfeedItem> loadSlice(String userName, KeysetCursor after, int limit) {
+        if (after == null) {
+            List<NewsfeedItem> newest = warmTimeline(userName).getContent();
+            if (newest.size() >= limit || newest.size() < timelineCache.getMaxSize()) {
+                return newest.subList(0, Math.min(limit, newest.size()));
+            }
+            return findLatest(userName, limit);
+        }
+        return newsfeedItemRepository.findByUserNameAfterCursor(
+                userName, feedPartitionManager.horizon(), after.createdAt(), after.id(), PageRequest.of(0, limit));
+    }
+
+    // 최근 파티션에서 먼저 찾고, 모자랄 때만 보존 기간 전체로 넓힌다
+    private List<NewsfeedItem> findLatest(String userName, int limit) {
+        PageRequest page = PageRequest.of(0, limit);
+        LocalDateTime recent = feedPartitionManager.recentHorizon();
+        List<NewsfeedItem> latest = newsfeedItemRepository.findLatestByUserName(userName, recent, page);
+        LocalDateTime horizon = feedPartitionManager.horizon();
+        if (latest.size() >= limit || !recent.isAfter(horizon)) {
+            return latest;
+        }
+        return newsfeedItemRepository.findLatestByUserName(userName, horizon, page);
+    }
+
+    private List<NewsfeedItem> loadStockPosts(String userName, List<String> stockIsins, KeysetCursor after, int limit) {
+        PageRequest page = PageRequest.of(0, limit);
+        String excludedAuthor = excludedAuthor(userName);
+        LocalDateTime since = feedPartitionManager.horizon();
+        List<StockPost> posts = after == null
+                ? stockPostRepository.findLatestByStockIsins(stockIsins, excludedAuthor, since, page)
+                : stockPostRepository.findByStockIsinsAfterCursor(
+                        stockIsins, excludedAuthor, since, after.createdAt(), after.id(), page);
+        return toPulledItems(userName, posts);
+    }
+
+    // 구독 종목 목록은 캐시하고, 그중 병합할 종목은 노드 메모리의 HotStockRegistry 로 거른다
+    private List<String> pulledStocks(String userName) {
+        List<String> watched = feedReaderCache.getWatchedStocks(userName).orElseGet(() -> {
+            List<String> loaded = stockWatcherRepository.findStockIsinsByUserName(userName);
+            feedReaderCache.putWatchedStocks(userName, loaded);
+            return loaded;
+        });
+        return watched.stream()
+                .filter(hotStockRegistry::isPulled)
+                .toList();
+    }
+
+    // StockPost 의 작성자는 회원 ID 이고 조회하는 사용자는 username 이므로, 사용자의 ID 로 본인 글을 거른다.
+    // 조회에 실패하면 거르지 않는다 (본인 글이 한 번 더 보일 뿐 피드 조회는 계속된다)
+    private String excludedAuthor(String userName) {
+        Optional<Long> cached = feedReaderCache.getMemberId(userName);
+        if (cached.isPresent()) {
+            return String.valueOf(cached.get());
+        }
+        try {
+            Long memberId = memberClient.findMemberIds(List.of(userName)).get(userName);
+            if (memberId == null) {
+                return "";
+            }
+            feedReaderCache.putMemberId(userName, memberId);
+            return String.valueOf(memberId);
+        } catch (RestClientException e) {
+            log.warn("Failed to resolve member id of {}, hot stock posts are not filtered by author", userName, e);
+            return "";
+        }
+    }
+
+    private List<NewsfeedItem> toPulledItems(String userName, List<StockPost> posts) {
+        return posts.stream()
+                .map(post -> toPulledItem(userName, post))
+                .toList();
+    }
+
+    // 각 소스는 이미 피드 순서로 정렬되어 있으므로 head 만 비교하는 k-way 병합
+    private List<NewsfeedItem> mergeByFeedOrder(List<List<NewsfeedItem>> sources, int limit) {
+        PriorityQueue<PeekingSource> heads = new PriorityQueue<>(
+                Comparator.comparing(PeekingSource::head, FEED_ORDER));
+        for (List<NewsfeedItem> source : sources) {
+            if (!source.isEmpty()) {
+                heads.add(new PeekingSource(source.iterator()));
+            }
+        }
+        List<NewsfeedItem> merged = new ArrayList<>(limit);
+        while (merged.size() < limit && !heads.isEmpty()) {
+            PeekingSource source = heads.poll();
+            merged.add(source.head());
+            if (source.advance()) {
+                heads.add(source);
+            }
+        }
+        return merged;
+    }
+
+    private NewsfeedItem toPulledItem(String userName, StockPost post) {
+        NewsfeedItem item = new NewsfeedItem();
+        item.setId(post.getId());
+        item.setUserName(userName);
+        item.setActorName(post.getAuthorName());
+        item.setEventType("POST");
+        item.setCreatedAt(post.getCreatedAt());
+        item.setRelatedId(post.getPostId());
+        item.setStockIsin(post.getStockIsin());
+        return item;
+    }
+
+    private static final class PeekingSource {
+        private final Iterator<NewsfeedItem> iterator;
+        private NewsfeedItem head;
+
+        private PeekingSource(Iterator<NewsfeedItem> iterator) {
+            this.iterator = iterator;
+            this.head = iterator.next();
+        }
+
+        private NewsfeedItem head() {
+            return head;
+        }
+
+        private boolean advance() {
+            if (!iterator.hasNext()) {
+                return false;
+            }
+            head = iterator.next();
+            return true;
+        }
+    }
+
+    private Page<NewsfeedItem> warmTimeline(String userName) {
+        Page<NewsfeedItem> newest = newsfeedItemRepository.findByUserNameAndCreatedAtGreaterThanEqualOrderByCreatedAtDescIdAsc(
+                userName, feedPartitionManager.horizon(), PageRequest.of(0, timelineCache.getMaxSize()));
+        timelineCache.warm(userName, newest.getContent(), newest.getTotalElements());
+        return newest;
+    }
+
+    // 같은 트랜잭션에서 적재하고, 커밋이 끝난 뒤에 타임라인 캐시에 반영 (write-through)
+    private void saveAll(List<NewsfeedItem> items) {
+        newsfeedItemRepository.insertAll(items);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                timelineCache.appendAll(items);
+                liveFeedBroker.publish(items);
+            }
+        });
+    }
+
+    private <E> List<NewsfeedItem> toItems(List<E> events, Function<E, NewsfeedItem> mapper) {
+        return events.stream().map(mapper).toList();
+    }
+
+    // 피드는 username 으로 조회하므로 작성자 회원 ID 를 한 번의 bulk 조회로 username 으로 바꿔 작성자 피드에 적재한다.
+    // 조회에 실패하면 예외로 레코드를 재시도 토픽에 넘기고, 찾지 못한 작성자(탈퇴)의 항목은 만들지 않는다
+    private <E> List<NewsfeedItem> toAuthorItems(List<E> events, Function<E, Long> authorOf,
+                                                 AuthorItemMapper<E> mapper) {
+        if (events.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, String> usernames = memberClient.findUsernames(events.stream().map(authorOf).distinct().toList());
+        LocalDateTime now = LocalDateTime.now();
+        List<NewsfeedItem> items = new ArrayList<>(events.size());
+        for (E event : events) {
+            String authorName = usernames.get(authorOf.apply(event));
+            if (authorName != null) {
+                items.add(mapper.map(event, authorName, now));
+            }
+        }
+        return items;
+    }
+
+    @FunctionalInterface
+    private interface AuthorItemMapper<E> {
+        NewsfeedItem map(E event, String authorName, LocalDateTime createdAt);
+    }
+
+    private NewsfeedItem toWatchlistItem(WatchlistEvent event) {
+        return NewsfeedItemMapper.watchlistItem(event, LocalDateTime.now());
     }
-}
\ No newline at end of file
+}
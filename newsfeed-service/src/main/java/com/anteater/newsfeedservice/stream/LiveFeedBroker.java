@@ -0,0 +1,214 @@
+package com.anteater.newsfeedservice.stream;
+
+import com.anteater.common.pagination.KeysetCursor;
+import com.anteater.newsfeedservice.entity.NewsfeedItem;
+import com.anteater.newsfeedservice.repository.NewsfeedItemRepository;
+import com.anteater.newsfeedservice.service.FeedPartitionManager;
+import com.anteater.newsfeedservice.service.FeedRenderer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * 이 노드에 연결된 실시간 피드(SSE) 연결을 관리하고, 적재된 새 항목을 해당 사용자의 연결로 보낸다.
+ *
+ * 적재한 노드와 사용자가 연결된 노드가 다를 수 있으므로 새 항목은 {@link LiveFeedBus} 로 발행하고, 각 노드는
+ * 버스에서 받은 항목 중 자기 연결의 사용자 것만 렌더링해 보낸다. 연결은 서블릿 비동기 요청이라 유휴 연결은
+ * 스레드를 차지하지 않는다. 발행, 렌더링, 전송은 모두 공유 sender 풀에서 한다.
+ */
+@Slf4j
+@Component
+public class LiveFeedBroker {
+
+    private final NewsfeedItemRepository newsfeedItemRepository;
+    private final FeedRenderer feedRenderer;
+    private final FeedPartitionManager feedPartitionManager;
+    private final LiveFeedBus bus;
+    private final LiveFeedMetrics metrics;
+    private final ThreadPoolTaskExecutor sender;
+    private final long timeoutMillis;
+    private final int bufferSize;
+    private final int replayLimit;
+    private final int maxConnections;
+    private final int maxConnectionsPerUser;
+
+    private final Map<String, Set<LiveFeedConnection>> connections = new ConcurrentHashMap<>();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+
+    public LiveFeedBroker(NewsfeedItemRepository newsfeedItemRepository,
+                          FeedRenderer feedRenderer,
+                          FeedPartitionManager feedPartitionManager,
+                          LiveFeedBus bus,
+                          LiveFeedMetrics metrics,
+                          @Qualifier("liveFeedExecutor") ThreadPoolTaskExecutor sender,
+                          @Value("${newsfeed.live.timeout:30m}") Duration timeout,
+                          @Value("${newsfeed.live.buffer-size:64}") int bufferSize,
+                          @Value("${newsfeed.live.replay-limit:200}") int replayLimit,
+                          @Value("${newsfeed.live.max-connections:20000}") int maxConnections,
+                          @Value("${newsfeed.live.max-connections-per-user:5}") int maxConnectionsPerUser) {
+        this.newsfeedItemRepository = newsfeedItemRepository;
+        this.feedRenderer = feedRenderer;
+        this.feedPartitionManager = feedPartitionManager;
+        this.bus = bus;
+        this.metrics = metrics;
+        this.sender = sender;
+        this.timeoutMillis = timeout.toMillis();
+        this.bufferSize = bufferSize;
+        this.replayLimit = replayLimit;
+        this.maxConnections = maxConnections;
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+        bus.onReceive(this::deliverLocal);
+        metrics.registerConnections(connectionCount::get);
+    }
+
+    /**
+     * 연결을 열고, lastEventId 가 있으면 그 이후 항목을 재생한다.
+     * 연결 수 한도를 넘으면 IllegalStateException, lastEventId 형식이 잘못되면 IllegalArgumentException.
+     */
+    public SseEmitter open(String userName, String lastEventId) throws IOException {
+        KeysetCursor after = KeysetCursor.decode(lastEventId);
+        LiveFeedConnection connection = register(userName);
+
+        // 재생 조회 중에 들어온 실시간 항목은 연결 큐에 쌓였다가 재생 뒤에 나간다
+        try {
+            List<NewsfeedItem> replay = List.of();
+            boolean reset = false;
+            if (after != null) {
+                List<NewsfeedItem> missed = newsfeedItemRepository.findByUserNameBeforeCursor(userName,
+                        feedPartitionManager.horizon(), after.createdAt(), after.id(), PageRequest.of(0, replayLimit + 1));
+                reset = missed.size() > replayLimit;
+                replay = reset ? List.of() : feedRenderer.render(missed);
+            }
+            connection.start(replay, reset);
+        } catch (IOException | RuntimeException e) {
+            connection.close();
+            unregister(connection);
+            throw e;
+        }
+        return connection.emitter();
+    }
+
+    // 커밋된 항목을 클러스터 전체에 발행한다. 호출 스레드(컨슈머)는 막지 않는다
+    public void publish(List<NewsfeedItem> items) {
+        if (items.isEmpty()) {
+            return;
+        }
+        execute(items.size(), () -> {
+            if (!bus.publish(items)) {
+                deliverLocal(items, System.currentTimeMillis());  // Redis 장애 시 이 노드의 연결에라도 전달
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${newsfeed.live.heartbeat-interval:15000}")
+    public void heartbeat() {
+        connections.values().forEach(userConnections -> userConnections.forEach(LiveFeedConnection::heartbeat));
+    }
+
+    public int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    // 버스에서 받은 항목 중 이 노드에 연결된 사용자의 것만 렌더링해 보낸다
+    private void deliverLocal(List<NewsfeedItem> items, long publishedAt) {
+        List<NewsfeedItem> targeted = items.stream()
+                .filter(item -> connections.containsKey(item.getUserName()))
+                .toList();
+        if (!targeted.isEmpty()) {
+            execute(targeted.size(), () -> deliver(targeted, publishedAt));
+        }
+    }
+
+    private void deliver(List<NewsfeedItem> items, long publishedAt) {
+        List<NewsfeedItem> rendered;
+        try {
+            rendered = feedRenderer.render(items);
+        } catch (RuntimeException e) {
+            metrics.dropped(LiveFeedMetrics.RENDER_FAILED, items.size());
+            log.warn("Failed to render {} live feed items", items.size(), e);
+            return;
+        }
+        Map<String, List<NewsfeedItem>> byUser = rendered.stream()
+                .collect(Collectors.groupingBy(NewsfeedItem::getUserName));
+        byUser.forEach((userName, userItems) -> {
+            for (LiveFeedConnection connection : connections.getOrDefault(userName, Set.of())) {
+                for (NewsfeedItem item : userItems) {
+                    if (!connection.offer(item, publishedAt)) {
+                        break;  // 넘쳐서 닫힌 연결. 클라이언트가 재연결하며 재생받는다
+                    }
+                }
+            }
+        });
+    }
+
+    private void execute(int itemCount, Runnable task) {
+        try {
+            sender.execute(task);
+        } catch (RejectedExecutionException e) {
+            metrics.dropped(LiveFeedMetrics.SENDER_SATURATED, itemCount);
+            log.warn("Live feed sender is saturated, dropped {} items", itemCount);
+        }
+    }
+
+    private LiveFeedConnection register(String userName) {
+        if (connectionCount.incrementAndGet() > maxConnections) {
+            connectionCount.decrementAndGet();
+            throw new IllegalStateException("Too many live feed connections");
+        }
+        LiveFeedConnection connection = new LiveFeedConnection(userName, timeoutMillis, bufferSize, sender, metrics);
+        boolean[] rejected = new boolean[1];
+        boolean[] created = new boolean[1];
+        connections.compute(userName, (key, userConnections) -> {
+            if (userConnections == null) {
+                userConnections = ConcurrentHashMap.newKeySet();
+                created[0] = true;
+            } else if (userConnections.size() >= maxConnectionsPerUser) {
+                rejected[0] = true;
+                return userConnections;
+            }
+            userConnections.add(connection);
+            return userConnections;
+        });
+        if (rejected[0]) {
+            connectionCount.decrementAndGet();
+            throw new IllegalStateException("Too many live feed connections for " + userName);
+        }
+        if (created[0]) {
+            bus.refresh(userName, connections::containsKey);  // 구독은 compute 밖에서 (버킷 잠금 중 Redis 호출 금지)
+        }
+
+        SseEmitter emitter = connection.emitter();
+        emitter.onCompletion(() -> unregister(connection));
+        emitter.onTimeout(connection::close);
+        emitter.onError(error -> connection.close());
+        return connection;
+    }
+
+    private void unregister(LiveFeedConnection connection) {
+        String userName = connection.userName();
+        Set<LiveFeedConnection> remaining = connections.computeIfPresent(userName, (key, userConnections) -> {
+            if (userConnections.remove(connection)) {
+                connectionCount.decrementAndGet();
+            }
+            return userConnections.isEmpty() ? null : userConnections;
+        });
+        if (remaining == null) {
+            bus.refresh(userName, connections::containsKey);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.anteater.newsfeedservice.stream;
+
+import com.anteater.newsfeedservice.entity.NewsfeedItem;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.BiConsumer;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * 노드 간 실시간 피드 전달 버스 (Redis pub/sub).
+ *
+ * 사용자는 live-feed:{shard} 채널 중 하나에 고정되고, 노드는 연결된 사용자가 있는 shard 채널만 구독한다.
+ * 발행은 한 번의 커밋에서 나온 항목을 shard 별로 묶어 하나의 파이프라인으로 보내고, 수신한 노드는
+ * 자기에게 연결된 사용자의 항목만 골라 연결로 넘긴다. pub/sub 은 저장하지 않으므로 놓친 항목은 클라이언트가
+ * Last-Event-ID 로 재연결할 때 DB 에서 재생된다.
+ */
+@Slf4j
+@Component
+public class LiveFeedBus implements MessageListener {
+
+    private static final String CHANNEL_PREFIX = "live-feed:";
+
+    record Envelope(long publishedAt, List<NewsfeedItem> items) {
+    }
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+    private final LiveFeedMetrics metrics;
+    private final int shards;
+
+    // shard 별 이 노드에 연결된 사용자. 비어 있다가 생기면 구독, 비면 해지
+    private final Map<Integer, Set<String>> localUsers = new HashMap<>();
+    private volatile BiConsumer<List<NewsfeedItem>, Long> receiver = (items, publishedAt) -> { };
+
+    public LiveFeedBus(StringRedisTemplate redisTemplate,
+                       RedisMessageListenerContainer liveFeedListenerContainer,
+                       ObjectMapper objectMapper,
+                       LiveFeedMetrics metrics,
+                       @Value("${newsfeed.live.channel-shards:64}") int shards) {
+        this.redisTemplate = redisTemplate;
+        this.listenerContainer = liveFeedListenerContainer;
+        this.objectMapper = objectMapper;
+        this.metrics = metrics;
+        this.shards = shards;
+    }
+
+    // 수신한 항목과 발행 시각(epoch ms)을 받을 쪽. LiveFeedBroker 가 등록한다
+    void onReceive(BiConsumer<List<NewsfeedItem>, Long> receiver) {
+        this.receiver = receiver;
+    }
+
+    // 발행에 실패하면 false (호출한 쪽이 이 노드의 연결에라도 전달)
+    boolean publish(List<NewsfeedItem> items) {
+        long publishedAt = System.currentTimeMillis();
+        Map<Integer, List<NewsfeedItem>> byShard = items.stream()
+                .collect(Collectors.groupingBy(item -> shardOf(item.getUserName()), TreeMap::new, Collectors.toList()));
+        Map<byte[], byte[]> messages = new HashMap<>();
+        try {
+            for (Map.Entry<Integer, List<NewsfeedItem>> shard : byShard.entrySet()) {
+                messages.put(channelOf(shard.getKey()).getBytes(StandardCharsets.UTF_8),
+                        objectMapper.writeValueAsBytes(new Envelope(publishedAt, shard.getValue())));
+            }
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                messages.forEach(connection::publish);
+                return null;
+            });
+            metrics.published(messages.size());
+            return true;
+        } catch (JsonProcessingException | DataAccessException e) {
+            log.warn("Failed to publish {} live feed items to other nodes", items.size(), e);
+            metrics.dropped(LiveFeedMetrics.PUBLISH_FAILED, items.size());
+            return false;
+        }
+    }
+
+    /**
+     * 사용자의 연결 유무가 바뀐 뒤 호출해 구독을 맞춘다. 호출 순서가 뒤바뀌어도 잠금 아래에서 현재 상태를 다시
+     * 읽으므로 마지막 호출이 최종 상태를 반영한다 (연결 맵 갱신 중에는 부르지 않는다. SUBSCRIBE 는 느릴 수 있다).
+     */
+    synchronized void refresh(String userName, Predicate<String> connected) {
+        int shard = shardOf(userName);
+        Set<String> users = localUsers.get(shard);
+        if (connected.test(userName)) {
+            if (users == null) {
+                users = new HashSet<>();
+                localUsers.put(shard, users);
+                listenerContainer.addMessageListener(this, new ChannelTopic(channelOf(shard)));
+            }
+            users.add(userName);
+        } else if (users != null && users.remove(userName) && users.isEmpty()) {
+            localUsers.remove(shard);
+            listenerContainer.removeMessageListener(this, new ChannelTopic(channelOf(shard)));
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Envelope envelope;
+        try {
+            envelope = objectMapper.readValue(message.getBody(), Envelope.class);
+        } catch (IOException e) {
+            log.warn("Ignoring malformed live feed message on {}", new String(message.getChannel(), StandardCharsets.UTF_8), e);
+            metrics.dropped(LiveFeedMetrics.MALFORMED, 1);
+            return;
+        }
+        metrics.recordBus(envelope.publishedAt());
+        receiver.accept(envelope.items(), envelope.publishedAt());
+    }
+
+    private int shardOf(String userName) {
+        return Math.floorMod(userName.hashCode(), shards);
+    }
+
+    private static String channelOf(int shard) {
+        return CHANNEL_PREFIX + shard;
+    }
+}
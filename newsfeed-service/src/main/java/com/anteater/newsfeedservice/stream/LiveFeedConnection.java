@@ -0,0 +1,159 @@
+package com.anteater.newsfeedservice.stream;
+
+import com.anteater.common.pagination.KeysetCursor;
+import com.anteater.newsfeedservice.entity.NewsfeedItem;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * 실시간 피드 연결 하나.
+ *
+ * 연결마다 스레드를 두지 않는다. 보낼 항목은 크기가 정해진 큐에 쌓이고, 공유 sender 풀에서 한 번에 하나의 작업만
+ * 큐를 비우며 전송한다. 큐가 넘치면(느린 클라이언트) 연결을 닫고, 클라이언트는 Last-Event-ID 로 다시 연결해
+ * 빠진 항목을 DB 에서 재생받는다.
+ */
+final class LiveFeedConnection {
+
+    static final String ITEM_EVENT = "item";
+    static final String RESET_EVENT = "reset";
+
+    private final String userName;
+    private final SseEmitter emitter;
+    private final BlockingQueue<Pending> queue;
+    private final Executor sender;
+    private final LiveFeedMetrics metrics;
+    private final AtomicBoolean sending = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile boolean started;
+    private volatile Set<KeysetCursor> replayed = Set.of();
+
+    // 발행 시각(epoch ms)과 함께 쌓아 클라이언트까지의 지연을 잰다
+    private record Pending(NewsfeedItem item, long publishedAt) {
+    }
+
+    LiveFeedConnection(String userName, long timeoutMillis, int bufferSize, Executor sender, LiveFeedMetrics metrics) {
+        this.userName = userName;
+        this.emitter = new SseEmitter(timeoutMillis);
+        this.queue = new ArrayBlockingQueue<>(bufferSize);
+        this.sender = sender;
+        this.metrics = metrics;
+    }
+
+    String userName() {
+        return userName;
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    boolean isClosed() {
+        return closed.get();
+    }
+
+    // 재생 항목을 먼저 보내고, 그동안 쌓인 실시간 항목은 재생한 것을 빼고 이어서 보낸다
+    void start(List<NewsfeedItem> replay, boolean reset) throws IOException {
+        if (reset) {
+            // 빠진 항목이 재생 한도보다 많음: 클라이언트가 첫 페이지부터 다시 읽는다
+            emitter.send(SseEmitter.event().name(RESET_EVENT).data(""));
+        }
+        for (NewsfeedItem item : replay) {
+            emitter.send(toEvent(item));
+        }
+        replayed = replay.stream().map(LiveFeedConnection::cursorOf).collect(Collectors.toSet());
+        started = true;
+        schedule();
+    }
+
+    // 큐가 가득 차면 false 를 돌려주고 연결을 닫는다
+    boolean offer(NewsfeedItem item, long publishedAt) {
+        if (closed.get()) {
+            return false;
+        }
+        if (!queue.offer(new Pending(item, publishedAt))) {
+            metrics.dropped(LiveFeedMetrics.BUFFER_OVERFLOW, queue.size() + 1L);
+            close();
+            return false;
+        }
+        schedule();
+        return true;
+    }
+
+    // 전송 중이면 생략 (전송 자체가 연결이 살아 있다는 신호)
+    void heartbeat() {
+        if (!started || closed.get() || !sending.compareAndSet(false, true)) {
+            return;
+        }
+        submit(() -> {
+            try {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            } catch (IOException | IllegalStateException e) {
+                close();
+            } finally {
+                sending.set(false);
+            }
+            schedule();
+        });
+    }
+
+    void close() {
+        if (closed.compareAndSet(false, true)) {
+            queue.clear();
+            emitter.complete();
+        }
+    }
+
+    private void schedule() {
+        if (started && !closed.get() && !queue.isEmpty() && sending.compareAndSet(false, true)) {
+            submit(this::drain);
+        }
+    }
+
+    private void submit(Runnable task) {
+        try {
+            sender.execute(task);
+        } catch (RejectedExecutionException e) {
+            sending.set(false);
+            close();
+        }
+    }
+
+    private void drain() {
+        try {
+            Pending pending;
+            while ((pending = queue.poll()) != null) {
+                if (!replayed.contains(cursorOf(pending.item()))) {
+                    emitter.send(toEvent(pending.item()));
+                    metrics.recordClient(pending.publishedAt());
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            close();  // 클라이언트가 끊김
+        } finally {
+            sending.set(false);
+        }
+        schedule();  // 마지막 poll 이후에 들어온 항목
+    }
+
+    private static SseEmitter.SseEventBuilder toEvent(NewsfeedItem item) {
+        return SseEmitter.event()
+                .id(cursorOf(item).encode())
+                .name(ITEM_EVENT)
+                .data(item, MediaType.APPLICATION_JSON);
+    }
+
+    // 이벤트 ID 는 피드 커서와 같은 (createdAt, id). 재연결 시 Last-Event-ID 로 돌아온다
+    static KeysetCursor cursorOf(NewsfeedItem item) {
+        return new KeysetCursor(item.getCreatedAt(), item.getId());
+    }
+}
@@ -0,0 +1,77 @@
+package com.anteater.newsfeedservice.stream;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 실시간 피드 전달 지표.
+ *
+ * <pre>
+ * newsfeed.live.delivery     Timer   hop(bus|client)  발행부터 수신 노드 도착(bus) / 클라이언트 소켓 전송(client)까지
+ * newsfeed.live.dropped      Counter reason           전달하지 못한 항목 수
+ * newsfeed.live.published    Counter                  발행한 메시지(shard 채널별 묶음) 수
+ * newsfeed.live.connections  Gauge                    이 노드의 연결 수
+ * </pre>
+ */
+@Component
+public class LiveFeedMetrics {
+
+    public static final String SENDER_SATURATED = "sender_saturated";
+    public static final String BUFFER_OVERFLOW = "buffer_overflow";
+    public static final String RENDER_FAILED = "render_failed";
+    public static final String PUBLISH_FAILED = "publish_failed";
+    public static final String MALFORMED = "malformed";
+
+    private final MeterRegistry meterRegistry;
+    private final Timer busLatency;
+    private final Timer clientLatency;
+    private final Counter published;
+
+    public LiveFeedMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.busLatency = deliveryTimer("bus");
+        this.clientLatency = deliveryTimer("client");
+        this.published = Counter.builder("newsfeed.live.published").register(meterRegistry);
+    }
+
+    public void registerConnections(Supplier<Number> connections) {
+        Gauge.builder("newsfeed.live.connections", connections).register(meterRegistry);
+    }
+
+    void recordBus(long publishedAt) {
+        record(busLatency, publishedAt);
+    }
+
+    void recordClient(long publishedAt) {
+        record(clientLatency, publishedAt);
+    }
+
+    void published(int messages) {
+        published.increment(messages);
+    }
+
+    void dropped(String reason, long count) {
+        Counter.builder("newsfeed.live.dropped")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment(count);
+    }
+
+    private Timer deliveryTimer(String hop) {
+        return Timer.builder("newsfeed.live.delivery")
+                .tag("hop", hop)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    // 노드 간 시계 차이로 음수가 나오면 0 으로
+    private static void record(Timer timer, long publishedAt) {
+        timer.record(Math.max(0, System.currentTimeMillis() - publishedAt), TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,194 @@
+package com.anteater.newsfeedservice.cache;
+
+import com.anteater.newsfeedservice.entity.NewsfeedItem;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisScriptingCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class TimelineCacheTest {
+
+    private static final String TIMELINE = "timeline:v2:alice";
+    private static final String ITEMS = "timeline:v2:alice:items";
+    private static final String TOTAL = "timeline:v2:alice:total";
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private StringRedisTemplate redisTemplate;
+    private ZSetOperations<String, String> zSetOperations;
+    private ValueOperations<String, String> valueOperations;
+    private HashOperations<String, Object, Object> hashOperations;
+    private final List<List<String>> evaluated = new ArrayList<>();
+    private TimelineCache cache;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(StringRedisTemplate.class);
+        zSetOperations = mock(ZSetOperations.class);
+        valueOperations = mock(ValueOperations.class);
+        hashOperations = mock(HashOperations.class);
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+
+        // 스크립트 호출마다 KEYS/ARGV 를 문자열로 기록
+        RedisConnection connection = mock(RedisConnection.class);
+        RedisScriptingCommands scripting = mock(RedisScriptingCommands.class);
+        when(connection.scriptingCommands()).thenReturn(scripting);
+        when(scripting.eval(any(byte[].class), eq(ReturnType.INTEGER), anyInt(), any(byte[][].class)))
+                .thenAnswer(invocation -> {
+                    assertEquals(3, (int) invocation.getArgument(2));
+                    byte[][] keysAndArgs = (byte[][]) invocation.getRawArguments()[3];
+                    evaluated.add(Arrays.stream(keysAndArgs)
+                            .map(bytes -> new String(bytes, StandardCharsets.UTF_8))
+                            .toList());
+                    return 1L;
+                });
+        when(redisTemplate.execute(any(RedisCallback.class))).thenAnswer(invocation ->
+                ((RedisCallback<?>) invocation.getArgument(0)).doInRedis(connection));
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            ((RedisCallback<?>) invocation.getArgument(0)).doInRedis(connection);
+            return List.of();
+        });
+
+        cache = new TimelineCache(redisTemplate, objectMapper, 500, Duration.ofHours(72));
+    }
+
+    @Test
+    void warmScoresFollowFeedOrder() {
+        LocalDateTime now = LocalDateTime.of(2024, 5, 1, 12, 0, 0, 123_456_000);
+        NewsfeedItem newest = item(2L, now);
+        NewsfeedItem sameTimeHigherId = item(10L, now);
+        NewsfeedItem older = item(1L, now.minusSeconds(1));
+
+        cache.warm("alice", List.of(newest, sameTimeHigherId, older), 42);
+
+        List<String> args = evaluated.get(0);
+        assertEquals(List.of(TIMELINE, ITEMS, TOTAL, "500", "259200", "42"), args.subList(0, 6));
+        long newestScore = Long.parseLong(args.get(6));
+        long sameTimeScore = Long.parseLong(args.get(9));
+        long olderScore = Long.parseLong(args.get(12));
+        // 최신이 앞: 음수 µs score 를 오름차순으로 읽는다
+        assertTrue(newestScore < olderScore);
+        assertEquals(1_000_000, olderScore - newestScore);
+        // 같은 시각은 0 채운 member 의 사전순 = id 오름차순
+        assertEquals(newestScore, sameTimeScore);
+        assertEquals("0000000000000000002", args.get(7));
+        assertEquals("0000000000000000010", args.get(10));
+        assertTrue(args.get(7).compareTo(args.get(10)) < 0);
+    }
+
+    @Test
+    void appendAllRunsOneScriptPerUser() {
+        LocalDateTime now = LocalDateTime.now();
+        NewsfeedItem bob = item(3L, now);
+        bob.setUserName("bob");
+
+        cache.appendAll(List.of(item(1L, now), bob, item(2L, now)));
+
+        assertEquals(2, evaluated.size());
+        assertEquals(List.of(TIMELINE, ITEMS, TOTAL, "500", "259200"), evaluated.get(0).subList(0, 5));
+        assertEquals(5 + 2 * 3, evaluated.get(0).size());
+        assertEquals("timeline:v2:bob", evaluated.get(1).get(0));
+        assertEquals(5 + 3, evaluated.get(1).size());
+    }
+
+    @Test
+    void appendAllSwallowsRedisFailure() {
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenThrow(new IllegalStateException("down"));
+
+        assertDoesNotThrow(() -> cache.appendAll(List.of(item(1L, LocalDateTime.now()))));
+    }
+
+    @Test
+    void emptyTimelinePlaceholderIsNotReadAsItem() {
+        // 자리표시자('' , score 1) 만 있는 타임라인: 읽는 범위(score <= 0)에 들어오지 않는다
+        when(redisTemplate.hasKey(TIMELINE)).thenReturn(true);
+        when(zSetOperations.count(TIMELINE, Double.NEGATIVE_INFINITY, 0)).thenReturn(0L);
+        when(valueOperations.get(TOTAL)).thenReturn("0");
+        when(zSetOperations.rangeByScore(TIMELINE, Double.NEGATIVE_INFINITY, 0, 0, 20)).thenReturn(Set.of());
+
+        Optional<Page<NewsfeedItem>> page = cache.getPage("alice", PageRequest.of(0, 20));
+
+        assertTrue(page.isPresent());
+        assertTrue(page.get().getContent().isEmpty());
+        assertEquals(0, page.get().getTotalElements());
+        verify(hashOperations, never()).multiGet(any(), anyList());
+    }
+
+    @Test
+    void pageBeyondCachedRangeFallsBack() {
+        when(redisTemplate.hasKey(TIMELINE)).thenReturn(true);
+        when(zSetOperations.count(TIMELINE, Double.NEGATIVE_INFINITY, 0)).thenReturn(500L);
+        when(valueOperations.get(TOTAL)).thenReturn("900");
+
+        assertTrue(cache.getPage("alice", PageRequest.of(25, 20)).isEmpty());
+        verify(zSetOperations, never()).rangeByScore(any(), anyLong(), anyLong(), anyLong(), anyLong());
+    }
+
+    @Test
+    void sliceContinuesAfterCursorRank() throws Exception {
+        NewsfeedItem next = item(7L, LocalDateTime.now());
+        when(redisTemplate.hasKey(TIMELINE)).thenReturn(true);
+        when(zSetOperations.rank(TIMELINE, "0000000000000000005")).thenReturn(4L);
+        when(zSetOperations.rangeByScore(TIMELINE, Double.NEGATIVE_INFINITY, 0, 5, 1))
+                .thenReturn(new LinkedHashSet<>(List.of("0000000000000000007")));
+        when(hashOperations.multiGet(ITEMS, List.of("0000000000000000007")))
+                .thenReturn(List.of(objectMapper.writeValueAsString(next)));
+
+        Optional<List<NewsfeedItem>> slice = cache.getSlice("alice", 5L, 1);
+
+        assertTrue(slice.isPresent());
+        assertEquals(List.of(7L), slice.get().stream().map(NewsfeedItem::getId).toList());
+    }
+
+    @Test
+    void sliceMissesWhenCursorWasTrimmedOrBodyIsMissing() {
+        when(redisTemplate.hasKey(TIMELINE)).thenReturn(true);
+        when(zSetOperations.rank(TIMELINE, "0000000000000000005")).thenReturn(null);
+        assertTrue(cache.getSlice("alice", 5L, 10).isEmpty());
+
+        when(zSetOperations.rangeByScore(TIMELINE, Double.NEGATIVE_INFINITY, 0, 0, 1))
+                .thenReturn(new LinkedHashSet<>(List.of("0000000000000000007")));
+        when(hashOperations.multiGet(ITEMS, List.of("0000000000000000007"))).thenReturn(Arrays.asList((Object) null));
+        assertTrue(cache.getSlice("alice", null, 1).isEmpty());
+    }
+
+    private static NewsfeedItem item(Long id, LocalDateTime createdAt) {
+        NewsfeedItem item = new NewsfeedItem();
+        item.setId(id);
+        item.setUserName("alice");
+        item.setActorName("alice");
+        item.setEventType("POST");
+        item.setCreatedAt(createdAt);
+        return item;
+    }
+}
@@ -0,0 +1,81 @@
+package com.anteater.newsfeedservice.controller;
+
+import com.anteater.newsfeedservice.service.NewsfeedService;
+import com.anteater.newsfeedservice.stream.LiveFeedBroker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class NewsfeedControllerStreamTest {
+
+    private LiveFeedBroker liveFeedBroker;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        liveFeedBroker = mock(LiveFeedBroker.class);
+        NewsfeedController controller = new NewsfeedController();
+        ReflectionTestUtils.setField(controller, "newsfeedService", mock(NewsfeedService.class));
+        ReflectionTestUtils.setField(controller, "liveFeedBroker", liveFeedBroker);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    void streamIsServedAsEventStream() throws Exception {
+        SseEmitter emitter = new SseEmitter();
+        when(liveFeedBroker.open(eq("alice"), any())).thenReturn(emitter);
+
+        MvcResult result = mockMvc.perform(get("/api/newsfeed/stream")
+                        .header("X-Auth-Username", "alice")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        emitter.send(SseEmitter.event().name("item").data("hello"));
+        emitter.complete();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(header().string("X-Accel-Buffering", "no"))
+                .andExpect(content().string("event:item\ndata:hello\n\n"));
+    }
+
+    @Test
+    void connectionLimitIsServiceUnavailable() throws Exception {
+        when(liveFeedBroker.open(eq("alice"), any())).thenThrow(new IllegalStateException("Too many live feed connections"));
+
+        mockMvc.perform(get("/api/newsfeed/stream")
+                        .header("X-Auth-Username", "alice")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    void malformedLastEventIdIsBadRequest() throws Exception {
+        when(liveFeedBroker.open(eq("alice"), eq("garbage"))).thenThrow(new IllegalArgumentException("Invalid cursor"));
+
+        mockMvc.perform(get("/api/newsfeed/stream")
+                        .header("X-Auth-Username", "alice")
+                        .header("Last-Event-ID", "garbage")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,34 @@
+package com.anteater.newsfeedservice.entity;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NewsfeedItemJsonTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void idsAreWrittenAsStringsAndReadBack() throws Exception {
+        NewsfeedItem item = new NewsfeedItem();
+        item.setId((1L << 62) + 1);  // 2^53 을 넘는 값
+        item.setRelatedId((1L << 60) + 3);
+        item.setUserName("alice");
+        item.setEventType("POST");
+        item.setCreatedAt(LocalDateTime.of(2024, 1, 1, 0, 0));
+
+        String json = objectMapper.writeValueAsString(item);
+        assertTrue(json.contains("\"id\":\"4611686018427387905\""), json);
+        assertTrue(json.contains("\"relatedId\":\"1152921504606846979\""), json);
+
+        // 타임라인 캐시와 live feed 버스는 같은 JSON 을 다시 읽는다 (숫자로 쓰였던 기존 값도 읽힌다)
+        NewsfeedItem read = objectMapper.readValue(json, NewsfeedItem.class);
+        assertEquals(item.getId(), read.getId());
+        assertEquals(item.getRelatedId(), read.getRelatedId());
+        assertEquals(7L, objectMapper.readValue("{\"id\":7}", NewsfeedItem.class).getId());
+    }
+}
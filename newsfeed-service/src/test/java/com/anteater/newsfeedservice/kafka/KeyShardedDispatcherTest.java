@@ -0,0 +1,130 @@
+package com.anteater.newsfeedservice.kafka;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class KeyShardedDispatcherTest {
+
+    private ThreadPoolTaskExecutor executor;
+    private PlatformTransactionManager transactionManager;
+    private final List<List<String>> applied = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.initialize();
+        transactionManager = mock(PlatformTransactionManager.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void smallBatchIsAppliedInOneTransactionOnListenerThread() {
+        KeyShardedDispatcher dispatcher = dispatcher(4, 64);
+
+        dispatcher.dispatch(List.of("a1", "b1", "a2"), List.of("a", "b", "a"), recording(Set.of()));
+
+        assertEquals(List.of(List.of("a1", "b1", "a2")), applied);
+        verify(transactionManager, times(1)).getTransaction(any());
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    void eachShardKeepsKeyOrderInItsOwnTransaction() {
+        KeyShardedDispatcher dispatcher = dispatcher(4, 1);
+        List<String> keys = List.of("a", "b", "a", "c", "b", "a");
+        List<String> events = List.of("a1", "b1", "a2", "c1", "b2", "a3");
+
+        dispatcher.dispatch(events, keys, recording(Set.of()));
+
+        long shards = keys.stream().map(key -> Math.floorMod(key.hashCode(), 4)).distinct().count();
+        assertEquals(shards, applied.size());
+        verify(transactionManager, times((int) shards)).getTransaction(any());
+        verify(transactionManager, times((int) shards)).commit(any());
+        for (List<String> shard : applied) {
+            for (String key : List.of("a", "b", "c")) {
+                List<String> ofKey = shard.stream().filter(event -> event.startsWith(key)).toList();
+                assertEquals(ofKey.stream().sorted().toList(), ofKey);  // 같은 키는 원래 순서
+            }
+        }
+        assertEquals(Set.copyOf(events), applied.stream().flatMap(List::stream).collect(Collectors.toSet()));
+    }
+
+    @Test
+    void failureReportsLowestFailedIndexAcrossShards() {
+        KeyShardedDispatcher dispatcher = dispatcher(4, 1);
+        // "a" 와 "b" 는 서로 다른 shard
+        assertNotEquals(Math.floorMod("a".hashCode(), 4), Math.floorMod("b".hashCode(), 4));
+        List<String> keys = List.of("a", "b", "a", "b", "a");
+        List<String> events = List.of("a1", "b1", "a2", "b2", "a3");
+
+        BatchListenerFailedException e = assertThrows(BatchListenerFailedException.class,
+                () -> dispatcher.dispatch(events, keys, recording(Set.of("b2", "a2"))));
+
+        assertEquals(2, e.getIndex());
+        // 실패한 shard 는 레코드 단위로 다시 적용하고, 같은 키의 실패한 레코드 뒤는 적용하지 않는다
+        assertTrue(applied.contains(List.of("a1")));
+        assertTrue(applied.contains(List.of("b1")));
+        assertFalse(applied.contains(List.of("a3")));
+    }
+
+    @Test
+    void singleRecordShardFailureIsNotRetried() {
+        KeyShardedDispatcher dispatcher = dispatcher(4, 64);
+
+        BatchListenerFailedException e = assertThrows(BatchListenerFailedException.class,
+                () -> dispatcher.dispatch(List.of("a1"), List.of("a"), recording(Set.of("a1"))));
+
+        assertEquals(0, e.getIndex());
+        verify(transactionManager, times(1)).getTransaction(any());
+        verify(transactionManager, times(1)).rollback(any());
+    }
+
+    @Test
+    void undecodableRecordStopsBatchAtItsIndex() {
+        KeyShardedDispatcher dispatcher = dispatcher(4, 64);
+
+        BatchListenerFailedException e = assertThrows(BatchListenerFailedException.class,
+                () -> dispatcher.dispatch(Arrays.asList("a1", "b1", null, "a2"), List.of("a", "b", "c", "a"),
+                        recording(Set.of())));
+
+        assertEquals(2, e.getIndex());
+        assertInstanceOf(DeserializationException.class, e.getCause());
+        assertEquals(List.of(List.of("a1", "b1")), applied);
+    }
+
+    private KeyShardedDispatcher dispatcher(int shards, int minParallelBatch) {
+        return new KeyShardedDispatcher(executor, transactionManager, shards, minParallelBatch);
+    }
+
+    // 적용이 성공한 묶음만 기록하고, 실패할 이벤트가 든 묶음은 예외로 롤백시킨다
+    private Consumer<List<String>> recording(Set<String> failing) {
+        return events -> {
+            if (events.stream().anyMatch(failing::contains)) {
+                throw new IllegalStateException("failed " + events);
+            }
+            applied.add(events);
+        };
+    }
+}
@@ -0,0 +1,177 @@
+package com.anteater.newsfeedservice.service;
+
+import com.anteater.event.ChangeType;
+import com.anteater.event.LikeEvent;
+import com.anteater.newsfeedservice.cache.TimelineCache;
+import com.anteater.newsfeedservice.client.MemberClient;
+import com.anteater.newsfeedservice.entity.LikeAggregate;
+import com.anteater.newsfeedservice.entity.NewsfeedItem;
+import com.anteater.newsfeedservice.repository.LikeAggregateBatchRepository.PendingLikes;
+import com.anteater.newsfeedservice.repository.LikeAggregateRepository;
+import com.anteater.newsfeedservice.repository.NewsfeedItemRepository;
+import com.anteater.newsfeedservice.stream.LiveFeedBroker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class LikeAggregatorTest {
+
+    private LikeAggregateRepository likeAggregateRepository;
+    private NewsfeedItemRepository newsfeedItemRepository;
+    private TimelineCache timelineCache;
+    private LiveFeedBroker liveFeedBroker;
+    private MemberClient memberClient;
+    private LikeAggregator aggregator;
+
+    @BeforeEach
+    void setUp() {
+        likeAggregateRepository = mock(LikeAggregateRepository.class);
+        newsfeedItemRepository = mock(NewsfeedItemRepository.class);
+        timelineCache = mock(TimelineCache.class);
+        liveFeedBroker = mock(LiveFeedBroker.class);
+        memberClient = mock(MemberClient.class);
+        aggregator = new LikeAggregator(likeAggregateRepository, newsfeedItemRepository, timelineCache, liveFeedBroker,
+                memberClient, mock(PlatformTransactionManager.class), 2, 500);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void addAccumulatesDeltaAndLatestActorsPerTarget() {
+        aggregator.add(List.of(
+                like(ChangeType.CREATED, 1, LikeEvent.TargetType.POST, 10),
+                like(ChangeType.CREATED, 2, LikeEvent.TargetType.COMMENT, 5),
+                like(ChangeType.CREATED, 3, LikeEvent.TargetType.POST, 10),
+                like(ChangeType.CREATED, 4, LikeEvent.TargetType.POST, 10),
+                like(ChangeType.DELETED, 1, LikeEvent.TargetType.POST, 10)));
+
+        ArgumentCaptor<List<PendingLikes>> captor = ArgumentCaptor.forClass(List.class);
+        verify(likeAggregateRepository).addPending(captor.capture(), eq(2));
+        // 대상 순서(타입, id)로 쓰고, 최근 사용자는 최신순으로 최대 2명
+        assertEquals(List.of(
+                new PendingLikes("COMMENT", 5L, 10L, 1, "2"),
+                new PendingLikes("POST", 10L, 10L, 2, "4,3")), captor.getValue());
+    }
+
+    @Test
+    void flushCreatesSummaryUnderOwnerUsername() {
+        LikeAggregate aggregate = pending("POST", 10L, 0, 3, "7,8");
+        flushing(aggregate);
+        when(newsfeedItemRepository.findOriginItems("POST", List.of(10L))).thenReturn(List.of(origin(10L, "alice")));
+
+        aggregator.flush();
+
+        assertEquals(3, aggregate.getLikeCount());
+        assertEquals("alice", aggregate.getOwnerName());
+        assertNull(aggregate.getPendingSince());
+        assertEquals(0, aggregate.getPendingDelta());
+        NewsfeedItem summary = insertedSummary();
+        assertEquals("alice", summary.getUserName());
+        assertEquals("LIKE_POST", summary.getEventType());
+        assertEquals(3L, summary.getAggregateCount());
+        assertEquals("7,8", summary.getRecentActors());
+        assertEquals("7", summary.getActorName());
+        verify(timelineCache).appendAll(List.of(summary));
+        verify(liveFeedBroker).publish(List.of(summary));
+        verifyNoInteractions(memberClient);
+    }
+
+    @Test
+    void flushMapsOwnerOfLegacyIdKeyedOriginToUsername() {
+        LikeAggregate aggregate = pending("POST", 10L, 0, 1, "7");
+        flushing(aggregate);
+        when(newsfeedItemRepository.findOriginItems("POST", List.of(10L))).thenReturn(List.of(origin(10L, "42")));
+        when(memberClient.findUsernames(List.of(42L))).thenReturn(Map.of(42L, "alice"));
+
+        aggregator.flush();
+
+        assertEquals("alice", aggregate.getOwnerName());
+        assertEquals("alice", insertedSummary().getUserName());
+    }
+
+    @Test
+    void flushOnlyCountsWhileOwnerIsUnknown() {
+        LikeAggregate aggregate = pending("POST", 10L, 0, 2, "7");
+        flushing(aggregate);
+        when(newsfeedItemRepository.findOriginItems("POST", List.of(10L))).thenReturn(List.of(origin(10L, "42")));
+        when(memberClient.findUsernames(List.of(42L))).thenThrow(new ResourceAccessException("down"));
+
+        aggregator.flush();
+
+        assertEquals(2, aggregate.getLikeCount());
+        assertNull(aggregate.getOwnerName());
+        assertNull(aggregate.getPendingSince());
+        verify(newsfeedItemRepository).insertAll(List.of());
+        verify(timelineCache).appendAll(List.of());
+    }
+
+    @Test
+    void flushRemovesSummaryWhenCountDropsToZero() {
+        LikeAggregate aggregate = pending("POST", 10L, 1, -1, null);
+        aggregate.setOwnerName("alice");
+        aggregate.setRecentActors("7");
+        aggregate.setFeedItemId(99L);
+        NewsfeedItem summary = origin(10L, "alice");
+        summary.setId(99L);
+        flushing(aggregate);
+        when(newsfeedItemRepository.findAllById(List.of(99L))).thenReturn(List.of(summary));
+
+        aggregator.flush();
+
+        assertEquals(0, aggregate.getLikeCount());
+        assertNull(aggregate.getFeedItemId());
+        verify(newsfeedItemRepository).delete(summary);
+        verify(timelineCache).removeAll(List.of(summary));
+        verify(newsfeedItemRepository, never()).findOriginItems(any(), anyList());
+    }
+
+    private void flushing(LikeAggregate aggregate) {
+        when(likeAggregateRepository.findPendingIds(any())).thenReturn(List.of(aggregate.getId()));
+        when(likeAggregateRepository.findForUpdate(List.of(aggregate.getId()))).thenReturn(List.of(aggregate));
+    }
+
+    @SuppressWarnings("unchecked")
+    private NewsfeedItem insertedSummary() {
+        ArgumentCaptor<List<NewsfeedItem>> captor = ArgumentCaptor.forClass(List.class);
+        verify(newsfeedItemRepository).insertAll(captor.capture());
+        assertEquals(1, captor.getValue().size());
+        return captor.getValue().get(0);
+    }
+
+    private static LikeAggregate pending(String targetType, Long targetId, long likeCount, long delta, String actors) {
+        LikeAggregate aggregate = new LikeAggregate();
+        aggregate.setId(1L);
+        aggregate.setTargetType(targetType);
+        aggregate.setTargetId(targetId);
+        aggregate.setPostId(targetId);
+        aggregate.setLikeCount(likeCount);
+        aggregate.setPendingDelta(delta);
+        aggregate.setPendingActors(actors);
+        aggregate.setPendingSince(LocalDateTime.now());
+        return aggregate;
+    }
+
+    private static NewsfeedItem origin(Long relatedId, String userName) {
+        NewsfeedItem item = new NewsfeedItem();
+        item.setUserName(userName);
+        item.setActorName(userName);
+        item.setEventType("POST");
+        item.setRelatedId(relatedId);
+        return item;
+    }
+
+    private static LikeEvent like(ChangeType type, long userId, LikeEvent.TargetType targetType, long targetId) {
+        return new LikeEvent(userId * 100 + targetId, type, userId, targetId, targetType, 10);
+    }
+}
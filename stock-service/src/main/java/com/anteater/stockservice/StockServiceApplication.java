@@ -1,11 +1,14 @@
 package com.anteater.stockservice;
 
+import com.anteater.common.kafka.KafkaSendMetrics;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+import org.springframework.context.annotation.Import;
 
 @SpringBootApplication
 @EnableDiscoveryClient
+@Import(KafkaSendMetrics.class)
 public class StockServiceApplication {
 
     public static void main(String[] args) {
@@ -1,39 +1,41 @@
 package com.anteater.stockservice.common.kafka;
 
 
+import com.anteater.common.id.SnowflakeIdGenerator;
+import com.anteater.common.kafka.KafkaSendMetrics;
+import com.anteater.event.Topics;
+import com.anteater.event.WatchlistEvent;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
+@Slf4j
 @Component
 public class WatchlistEventProducer {
 
-    private static final String TOPIC = "watchlist-events";
-
     @Autowired
     private KafkaTemplate<String, Object> kafkaTemplate;
 
+    @Autowired
+    private KafkaSendMetrics kafkaSendMetrics;
+
     public void sendWatchlistAddedEvent(String userName, String stockIsin) {
-        WatchlistEvent event = new WatchlistEvent("ADDED", userName, stockIsin);
-        kafkaTemplate.send(TOPIC, userName, event);
+        send(WatchlistEvent.Action.ADDED, userName, stockIsin);
     }
 
     public void sendWatchlistRemovedEvent(String userName, String stockIsin) {
-        WatchlistEvent event = new WatchlistEvent("REMOVED", userName, stockIsin);
-        kafkaTemplate.send(TOPIC, userName, event);
+        send(WatchlistEvent.Action.REMOVED, userName, stockIsin);
     }
 
-    private static class WatchlistEvent {
-        private String eventType;
-        private String userName;
-        private String stockIsin;
-
-        public WatchlistEvent(String eventType, String userName, String stockIsin) {
-            this.eventType = eventType;
-            this.userName = userName;
-            this.stockIsin = stockIsin;
-        }
-
-        // Getters and setters
+    // 전송 결과는 기다리지 않고 완료 콜백에서 지연/실패만 기록
+    private void send(WatchlistEvent.Action eventType, String userName, String stockIsin) {
+        WatchlistEvent event = new WatchlistEvent(SnowflakeIdGenerator.getInstance().nextId(), eventType,
+                userName, stockIsin);
+        kafkaSendMetrics.track(Topics.WATCHLIST_EVENTS, () -> kafkaTemplate.send(Topics.WATCHLIST_EVENTS, userName, event))
+                .exceptionally(ex -> {
+                    log.error("Failed to publish watchlist event {} for {}", event.eventId(), userName, ex);
+                    return null;
+                });
     }
-}
\ No newline at end of file
+}
@@ -1,5 +1,6 @@
 package com.anteater.stockservice.watchlist.entity;
 
+import com.anteater.common.id.SnowflakeId;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -14,7 +15,7 @@ import java.time.LocalDateTime;
 }) // 유니크 제약조건 추가 (동일한 사용자가 동일한 종목을 중복해서 추가하는 것을 방지)
 public class WatchlistItem {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     @Column(name = "user_name", nullable = false)